@@ -1,11 +1,20 @@
 package co.com.sti.config;
 
+import co.com.sti.model.refreshtoken.gateways.RefreshTokenRepository;
+import co.com.sti.model.revocation.gateways.TokenRevocationRepository;
 import co.com.sti.model.user.gateways.UserRepository;
 import co.com.sti.usecase.authentication.AuthenticationUseCase;
 import co.com.sti.usecase.authentication.jwt.IJwtUtilsAuth;
+import co.com.sti.usecase.authentication.password.IPasswordHasher;
+import co.com.sti.usecase.authentication.refresh.IRefreshTokenUtils;
+import co.com.sti.usecase.exportusers.ExportUsersUseCase;
+import co.com.sti.usecase.importusers.ImportUsersUseCase;
+import co.com.sti.usecase.listusers.ListUsersUseCase;
+import co.com.sti.usecase.refreshtoken.IRefreshTokenUseCase;
+import co.com.sti.usecase.refreshtoken.RefreshTokenUseCase;
 import co.com.sti.usecase.resgisteruser.ResgisterUserUseCase;
+import co.com.sti.usecase.revocation.TokenRevocationUseCase;
 import co.com.sti.usecase.searchuser.SearchUserUseCase;
-import co.com.sti.usecase.transaction.TransactionExecutor;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.ComponentScan;
 import org.springframework.context.annotation.Configuration;
@@ -25,13 +34,40 @@ public class UseCasesConfig {
     }
 
     @Bean
-    public ResgisterUserUseCase resgisterUserUseCase(UserRepository userRepository, TransactionExecutor transactionExecutor) {
-        return new ResgisterUserUseCase(userRepository,  transactionExecutor);
+    public ResgisterUserUseCase resgisterUserUseCase(UserRepository userRepository) {
+        return new ResgisterUserUseCase(userRepository);
     }
 
     @Bean
-    public AuthenticationUseCase authenticationUseCase(UserRepository userRepository, IJwtUtilsAuth tokenAndPassword) {
-        return new AuthenticationUseCase(userRepository, tokenAndPassword);
+    public ImportUsersUseCase importUsersUseCase(UserRepository userRepository) {
+        return new ImportUsersUseCase(userRepository);
+    }
+
+    @Bean
+    public ExportUsersUseCase exportUsersUseCase(UserRepository userRepository) {
+        return new ExportUsersUseCase(userRepository);
+    }
+
+    @Bean
+    public ListUsersUseCase listUsersUseCase(UserRepository userRepository) {
+        return new ListUsersUseCase(userRepository);
+    }
+
+    @Bean
+    public AuthenticationUseCase authenticationUseCase(UserRepository userRepository, IJwtUtilsAuth jwtUtilsAuth, IPasswordHasher passwordHasher,
+                                                       IRefreshTokenUseCase refreshTokenUseCase) {
+        return new AuthenticationUseCase(userRepository, jwtUtilsAuth, passwordHasher, refreshTokenUseCase);
+    }
+
+    @Bean
+    public RefreshTokenUseCase refreshTokenUseCase(RefreshTokenRepository refreshTokenRepository, UserRepository userRepository,
+                                                   IJwtUtilsAuth jwtUtilsAuth, IRefreshTokenUtils refreshTokenUtils) {
+        return new RefreshTokenUseCase(refreshTokenRepository, userRepository, jwtUtilsAuth, refreshTokenUtils);
+    }
+
+    @Bean
+    public TokenRevocationUseCase tokenRevocationUseCase(TokenRevocationRepository tokenRevocationRepository, RefreshTokenRepository refreshTokenRepository) {
+        return new TokenRevocationUseCase(tokenRevocationRepository, refreshTokenRepository);
     }
 
 }
@@ -0,0 +1,13 @@
+CREATE TABLE refresh_token (
+    id BIGSERIAL PRIMARY KEY,
+    token_hash CHAR(64) NOT NULL UNIQUE,
+    familia VARCHAR(36) NOT NULL,
+    email VARCHAR(255) NOT NULL,
+    id_rol INTEGER NOT NULL,
+    expira_en TIMESTAMPTZ NOT NULL,
+    usado_en TIMESTAMPTZ,
+    creado_en TIMESTAMPTZ NOT NULL DEFAULT now()
+);
+
+CREATE INDEX idx_refresh_token_familia ON refresh_token (familia);
+CREATE INDEX idx_refresh_token_expira_en ON refresh_token (expira_en);
@@ -0,0 +1,19 @@
+CREATE TABLE token_revocado (
+    jti VARCHAR(36) PRIMARY KEY,
+    email VARCHAR(255) NOT NULL,
+    expira_en TIMESTAMPTZ NOT NULL,
+    revocado_en TIMESTAMPTZ NOT NULL DEFAULT clock_timestamp()
+);
+
+CREATE INDEX idx_token_revocado_revocado_en ON token_revocado (revocado_en);
+CREATE INDEX idx_token_revocado_expira_en ON token_revocado (expira_en);
+
+CREATE TABLE usuario_token_epoca (
+    email VARCHAR(255) PRIMARY KEY,
+    invalido_hasta TIMESTAMPTZ NOT NULL,
+    actualizado_en TIMESTAMPTZ NOT NULL DEFAULT clock_timestamp()
+);
+
+CREATE INDEX idx_usuario_token_epoca_actualizado_en ON usuario_token_epoca (actualizado_en);
+
+CREATE INDEX idx_refresh_token_email ON refresh_token (email);
@@ -0,0 +1,17 @@
+-- El inicio de sesión es la lectura más frecuente: un índice único cubriente sobre email con las columnas de la
+-- proyección permite resolverla con un index-only scan. Incluir password hace que cambiar la contraseña (o el
+-- re-hash al subir el costo, una vez por usuario) reescriba la entrada del índice; es el precio de no leer la tabla
+-- en cada login.
+-- Se construye con CONCURRENTLY, fuera de transacción, para no bloquear las escrituras sobre usuario mientras dura.
+-- Si una ejecución anterior falló a medias deja un índice inválido con este nombre; se descarta antes de reintentar.
+DROP INDEX CONCURRENTLY IF EXISTS usuario_email_cubriente_idx;
+CREATE UNIQUE INDEX CONCURRENTLY usuario_email_cubriente_idx ON usuario (email) INCLUDE (password, id_rol, nombre, apellido);
+
+-- El cambio de restricción solo toma el lock exclusivo un instante: el índice ya existe y USING INDEX lo adopta
+-- renombrándolo, así que la violación de unicidad se sigue reportando como usuario_email_key.
+ALTER TABLE usuario
+    DROP CONSTRAINT usuario_email_key,
+    ADD CONSTRAINT usuario_email_key UNIQUE USING INDEX usuario_email_cubriente_idx;
+
+-- La unicidad del hash de contraseña no protege nada (cada hash lleva su propia sal) y cuesta un índice por escritura
+ALTER TABLE usuario DROP CONSTRAINT usuario_password_key;
@@ -0,0 +1,12 @@
+-- Índices del listado paginado por cursor. Cada uno termina en id para que, dentro del valor filtrado, las filas ya
+-- vengan ordenadas por id y la página se lea desde el cursor sin ordenar ni saltar filas.
+
+-- Asesores recorriendo clientes: WHERE id_rol = $r AND id > $c ORDER BY id es un rango continuo de este índice
+CREATE INDEX usuario_rol_id_idx ON usuario (id_rol, id);
+
+-- Búsqueda por prefijo sin distinguir mayúsculas; text_pattern_ops permite usar LIKE 'abc%' con cualquier collation
+CREATE INDEX usuario_nombre_prefijo_idx ON usuario (lower(nombre) text_pattern_ops, id);
+CREATE INDEX usuario_apellido_prefijo_idx ON usuario (lower(apellido) text_pattern_ops, id);
+
+-- Rango de salario: acota las filas candidatas cuando el rango es más selectivo que recorrer por id
+CREATE INDEX usuario_salario_id_idx ON usuario (salario_base, id);
@@ -0,0 +1,17 @@
+-- Versión de fila mantenida por la base: la API la publica como ETag y responde 304 si el cliente ya la tiene.
+-- La mantiene un trigger y no la aplicación, así que también cambia con actualizaciones hechas fuera del servicio.
+ALTER TABLE usuario ADD COLUMN version BIGINT NOT NULL DEFAULT 1;
+
+CREATE FUNCTION usuario_incrementar_version() RETURNS trigger AS $$
+BEGIN
+    NEW.version := OLD.version + 1;
+    RETURN NEW;
+END;
+$$ LANGUAGE plpgsql;
+
+-- Solo si la fila cambió de verdad; un UPDATE que deja los mismos valores no invalida los ETag de los clientes
+CREATE TRIGGER usuario_version_trg
+    BEFORE UPDATE ON usuario
+    FOR EACH ROW
+    WHEN (OLD IS DISTINCT FROM NEW)
+    EXECUTE FUNCTION usuario_incrementar_version();
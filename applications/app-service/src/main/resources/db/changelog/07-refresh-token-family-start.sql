@@ -0,0 +1,10 @@
+-- Inicio de cada familia de refresh tokens: la rotación renueva expira_en, pero no puede extender la sesión más allá
+-- de la vida máxima contada desde el login original. Las familias existentes toman su token más antiguo.
+ALTER TABLE refresh_token ADD COLUMN familia_creada_en TIMESTAMPTZ;
+
+UPDATE refresh_token r
+SET familia_creada_en = f.inicio
+FROM (SELECT familia, min(creado_en) AS inicio FROM refresh_token GROUP BY familia) f
+WHERE r.familia = f.familia;
+
+ALTER TABLE refresh_token ALTER COLUMN familia_creada_en SET NOT NULL;
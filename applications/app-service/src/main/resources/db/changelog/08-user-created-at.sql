@@ -0,0 +1,7 @@
+-- Momento de alta de cada usuario: marca de agua de la sincronización del filtro de usuarios entre nodos.
+-- now() es el inicio de la transacción, nunca posterior a su confirmación, así que el solapamiento de la
+-- sincronización solo tiene que cubrir la duración de una transacción de alta y no el número de altas intermedias.
+-- Las filas existentes reciben el momento de la migración; un default estable no reescribe la tabla.
+ALTER TABLE usuario ADD COLUMN creado_en TIMESTAMPTZ NOT NULL DEFAULT now();
+
+CREATE INDEX usuario_creado_en_idx ON usuario (creado_en);
@@ -0,0 +1,11 @@
+-- La revalidación (If-None-Match) consulta solo la versión por documento: con INCLUDE se resuelve con un
+-- index-only scan. Se construye con CONCURRENTLY, fuera de transacción, para no bloquear las escrituras sobre
+-- usuario mientras dura; un intento fallido deja un índice inválido que se descarta antes de reintentar.
+DROP INDEX CONCURRENTLY IF EXISTS usuario_documento_version_idx;
+CREATE UNIQUE INDEX CONCURRENTLY usuario_documento_version_idx ON usuario (documento_identidad) INCLUDE (version);
+
+-- USING INDEX adopta el índice ya construido con el nombre de la restricción, así que el duplicado se sigue
+-- reportando igual y el lock exclusivo dura solo el cambio de catálogo.
+ALTER TABLE usuario
+    DROP CONSTRAINT usuario_documento_identidad_key,
+    ADD CONSTRAINT usuario_documento_identidad_key UNIQUE USING INDEX usuario_documento_version_idx;
@@ -1,8 +1,11 @@
 package co.com.sti.config;
 
+import co.com.sti.model.refreshtoken.gateways.RefreshTokenRepository;
+import co.com.sti.model.revocation.gateways.TokenRevocationRepository;
 import co.com.sti.model.user.gateways.UserRepository;
 import co.com.sti.usecase.authentication.jwt.IJwtUtilsAuth;
-import co.com.sti.usecase.transaction.TransactionExecutor;
+import co.com.sti.usecase.authentication.password.IPasswordHasher;
+import co.com.sti.usecase.authentication.refresh.IRefreshTokenUtils;
 import org.junit.jupiter.api.Test;
 import org.springframework.boot.test.context.TestConfiguration;
 import org.springframework.context.annotation.*;
@@ -44,17 +47,34 @@ public class UseCasesConfigTest {
             return mock(UserRepository.class);
         }
 
-        // Provides a mock bean for TransactionExecutor, another dependency.
         @Bean
         @Primary
-        public TransactionExecutor transactionExecutor() {
-            return mock(TransactionExecutor.class);
+        public IJwtUtilsAuth jwtUtilsAuth() {
+            return mock(IJwtUtilsAuth.class);
         }
 
         @Bean
         @Primary
-        public IJwtUtilsAuth jwtUtilsAuth() {
-            return mock(IJwtUtilsAuth.class);
+        public IPasswordHasher passwordHasher() {
+            return mock(IPasswordHasher.class);
+        }
+
+        @Bean
+        @Primary
+        public RefreshTokenRepository refreshTokenRepository() {
+            return mock(RefreshTokenRepository.class);
+        }
+
+        @Bean
+        @Primary
+        public IRefreshTokenUtils refreshTokenUtils() {
+            return mock(IRefreshTokenUtils.class);
+        }
+
+        @Bean
+        @Primary
+        public TokenRevocationRepository tokenRevocationRepository() {
+            return mock(TokenRevocationRepository.class);
         }
     }
 
@@ -0,0 +1,26 @@
+package co.com.sti.model.refreshtoken;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.Instant;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder(toBuilder = true)
+public class RefreshToken {
+    // Solo se persiste el hash; el token en claro lo conoce únicamente el cliente
+    private String tokenHash;
+    // Todos los tokens obtenidos por rotación desde un mismo login comparten familia
+    private String familyId;
+    // Inicio de la familia (el login original); acota la vida total de la sesión aunque se siga rotando
+    private Instant familyCreatedAt;
+    private String email;
+    private Integer idRole;
+    private Instant expiresAt;
+    private Instant usedAt;
+}
@@ -0,0 +1,15 @@
+package co.com.sti.model.refreshtoken.gateways;
+
+import co.com.sti.model.refreshtoken.RefreshToken;
+import reactor.core.publisher.Mono;
+
+public interface RefreshTokenRepository {
+    Mono<RefreshToken> saveRefreshToken(RefreshToken refreshToken);
+    // Marca como usado un token vigente y no usado, en una sola operación atómica; vacío si no cumple
+    Mono<RefreshToken> consumeRefreshToken(String tokenHash);
+    Mono<RefreshToken> findRefreshTokenByHash(String tokenHash);
+    Mono<Void> revokeRefreshTokenFamily(String familyId);
+    Mono<Void> revokeRefreshTokensByEmail(String email);
+    // Elimina como máximo batchSize tokens vencidos y devuelve cuántos eliminó
+    Mono<Long> deleteExpiredRefreshTokens(int batchSize);
+}
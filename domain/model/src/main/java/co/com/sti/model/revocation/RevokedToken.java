@@ -0,0 +1,22 @@
+package co.com.sti.model.revocation;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.Instant;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder(toBuilder = true)
+public class RevokedToken {
+    // Identificador (claim jti) del token de acceso revocado
+    private String jti;
+    private String email;
+    // A partir de este instante el token ya no sería válido y la revocación puede olvidarse
+    private Instant expiresAt;
+    private Instant revokedAt;
+}
@@ -0,0 +1,20 @@
+package co.com.sti.model.revocation;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.Instant;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder(toBuilder = true)
+public class TokenEpoch {
+    private String email;
+    // Todo token del usuario emitido hasta este instante (inclusive) se considera revocado
+    private Instant notBefore;
+    private Instant updatedAt;
+}
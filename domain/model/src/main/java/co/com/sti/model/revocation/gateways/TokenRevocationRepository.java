@@ -0,0 +1,19 @@
+package co.com.sti.model.revocation.gateways;
+
+import co.com.sti.model.revocation.RevokedToken;
+import co.com.sti.model.revocation.TokenEpoch;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Instant;
+
+public interface TokenRevocationRepository {
+    Mono<RevokedToken> saveRevokedToken(RevokedToken revokedToken);
+    // Conserva siempre la época más reciente si el usuario ya tenía una
+    Mono<TokenEpoch> saveTokenEpoch(TokenEpoch tokenEpoch);
+    // Revocaciones vigentes registradas después de since, para sincronizar otros nodos
+    Flux<RevokedToken> findRevokedTokensSince(Instant since);
+    Flux<TokenEpoch> findTokenEpochsSince(Instant since);
+    // Elimina como máximo batchSize revocaciones de tokens ya vencidos y devuelve cuántas eliminó
+    Mono<Long> deleteExpiredRevokedTokens(int batchSize);
+}
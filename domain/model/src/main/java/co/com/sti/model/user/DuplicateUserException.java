@@ -0,0 +1,19 @@
+package co.com.sti.model.user;
+
+import lombok.Getter;
+
+/**
+ * El repositorio rechazó un usuario porque otro ya tiene el mismo valor en un campo único.
+ */
+@Getter
+public class DuplicateUserException extends RuntimeException {
+
+    public enum Field { EMAIL, NUMBER_IDENTITY }
+
+    private final Field field;
+
+    public DuplicateUserException(Field field) {
+        super("Usuario duplicado por " + field);
+        this.field = field;
+    }
+}
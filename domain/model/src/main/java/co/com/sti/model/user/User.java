@@ -24,4 +24,6 @@ public class User {
     private String address;
     private Integer idRole;
     private BigDecimal salary;
+    // Versión de la fila, la incrementa la base en cada cambio; nula en usuarios aún no guardados
+    private Long version;
 }
@@ -0,0 +1,20 @@
+package co.com.sti.model.user;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+// Lo mínimo que necesita el inicio de sesión: hash para verificar, rol para el token y nombres para la respuesta
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder(toBuilder = true)
+public class UserCredentials {
+    private String name;
+    private String lastName;
+    private String email;
+    private String password;
+    private Integer idRole;
+}
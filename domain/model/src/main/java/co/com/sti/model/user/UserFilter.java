@@ -0,0 +1,17 @@
+package co.com.sti.model.user;
+import lombok.Builder;
+import lombok.Getter;
+
+import java.math.BigDecimal;
+
+// Criterios del listado de usuarios; los nulos no filtran. afterId es el cursor: el id del último usuario de la página anterior
+@Getter
+@Builder(toBuilder = true)
+public class UserFilter {
+    private final Integer idRole;
+    private final String namePrefix;
+    private final BigDecimal minSalary;
+    private final BigDecimal maxSalary;
+    private final Long afterId;
+    private final int limit;
+}
@@ -0,0 +1,13 @@
+package co.com.sti.model.user;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.List;
+
+// Una página del listado; nextCursor es nulo cuando no quedan más usuarios
+@Getter
+@AllArgsConstructor
+public class UserPage {
+    private final List<User> users;
+    private final Long nextCursor;
+}
@@ -0,0 +1,28 @@
+package co.com.sti.model.user;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+// Lo que puede salir del servicio en una consulta de usuario; a diferencia de User no tiene campo de contraseña
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder(toBuilder = true)
+public class UserProfile {
+    private String name;
+    private String lastName;
+    private String email;
+    private String numberIdentity;
+    private LocalDate birthDate;
+    private String phoneNumber;
+    private String address;
+    private Integer idRole;
+    private BigDecimal salary;
+    private Long version;
+}
@@ -0,0 +1,23 @@
+package co.com.sti.model.user;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+// Resultado de un usuario dentro de una inserción por lotes: guardado, o el campo único que ya existía
+@Getter
+@AllArgsConstructor
+public class UserSaveOutcome {
+    private final User user;
+    private final DuplicateUserException.Field duplicate;
+
+    public static UserSaveOutcome saved(User user) {
+        return new UserSaveOutcome(user, null);
+    }
+
+    public static UserSaveOutcome duplicate(User user, DuplicateUserException.Field field) {
+        return new UserSaveOutcome(user, field);
+    }
+
+    public boolean isSaved() {
+        return duplicate == null;
+    }
+}
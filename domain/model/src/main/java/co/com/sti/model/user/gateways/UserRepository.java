@@ -1,10 +1,34 @@
 package co.com.sti.model.user.gateways;
 
 import co.com.sti.model.user.User;
+import co.com.sti.model.user.UserCredentials;
+import co.com.sti.model.user.UserFilter;
+import co.com.sti.model.user.UserPage;
+import co.com.sti.model.user.UserProfile;
+import co.com.sti.model.user.UserSaveOutcome;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
+import java.util.List;
+
 public interface UserRepository {
+    // Inserta en una sola sentencia; si el email o el documento ya existen falla con DuplicateUserException
     Mono<User> saveUser(User user);
-    Mono<User> findUserByNumberIdentity(String numberIdentity);
+    // Inserta el lote en una sola sentencia; emite un resultado por usuario, en el mismo orden, y los duplicados
+    // se omiten sin abortar el resto del lote
+    Flux<UserSaveOutcome> saveUsers(List<User> users);
+    // Recorre todos los usuarios en orden de id sin el hash de contraseña, leyendo de la base al ritmo del consumidor
+    Flux<User> exportUsers();
+    // Paginación por cursor sobre id: el costo no depende de qué tan profunda sea la página
+    Mono<UserPage> findUsers(UserFilter filter);
+    // Solo las columnas públicas, para responder consultas sin leer ni exponer el hash de contraseña
+    Mono<UserProfile> findProfileByNumberIdentity(String numberIdentity);
+    // Solo la versión de la fila, para revalidar un ETag sin leer el resto del usuario
+    Mono<Long> findVersionByNumberIdentity(String numberIdentity);
     Mono<User> findUserByEmail(String email);
+    // Una sola consulta para un lote de documentos y emails; sin hash de contraseña y sin orden garantizado
+    Flux<User> findUsersByIdentitiesOrEmails(List<String> numberIdentities, List<String> emails);
+    // Solo las columnas del inicio de sesión, sin cargar el usuario completo
+    Mono<UserCredentials> findCredentialsByEmail(String email);
+    Mono<Void> updatePassword(String email, String hashedPassword);
 }
@@ -0,0 +1,58 @@
+package co.com.sti.model.filter;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.UUID;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class BloomFilterTest {
+
+    @Test
+    @DisplayName("should never report an inserted value as absent")
+    void mightContain_InsertedValues_AlwaysTrue() {
+        BloomFilter filter = BloomFilter.create(10_000, 0.01);
+        String[] values = IntStream.range(0, 10_000).mapToObj(i -> UUID.randomUUID().toString()).toArray(String[]::new);
+
+        for (String value : values) {
+            filter.put(value);
+        }
+
+        for (String value : values) {
+            assertTrue(filter.mightContain(value));
+        }
+        assertEquals(10_000, filter.insertions());
+    }
+
+    @Test
+    @DisplayName("should keep the observed false positive rate close to the configured one")
+    void mightContain_AbsentValues_RespectsFalsePositiveRate() {
+        BloomFilter filter = BloomFilter.create(10_000, 0.01);
+        IntStream.range(0, 10_000).forEach(i -> filter.put("usuario" + i + "@example.com"));
+
+        long falsePositives = IntStream.range(0, 100_000)
+                .filter(i -> filter.mightContain("otro" + i + "@example.com"))
+                .count();
+
+        assertTrue(falsePositives < 2_000, "falsos positivos: " + falsePositives);
+        assertTrue(filter.expectedFalsePositiveRate() < 0.02);
+        assertEquals(filter.bitSize() / 8, filter.memoryBytes());
+    }
+
+    @Test
+    @DisplayName("should be empty when created and reject invalid sizing")
+    void create_SizingAndEmptyState() {
+        BloomFilter filter = BloomFilter.create(100, 0.001);
+
+        assertFalse(filter.mightContain("jti"));
+        assertEquals(0.0, filter.expectedFalsePositiveRate());
+        assertTrue(filter.hashFunctions() >= 1);
+        assertThrows(IllegalArgumentException.class, () -> BloomFilter.create(0, 0.01));
+        assertThrows(IllegalArgumentException.class, () -> BloomFilter.create(10, 1.0));
+    }
+}
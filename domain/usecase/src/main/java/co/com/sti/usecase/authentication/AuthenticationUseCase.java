@@ -1,42 +1,88 @@
 package co.com.sti.usecase.authentication;
 
+import co.com.sti.model.user.UserCredentials;
 import co.com.sti.usecase.authentication.dto.AuthResponseDto;
 import co.com.sti.model.role.Role;
 import co.com.sti.model.user.gateways.UserRepository;
 import co.com.sti.usecase.authentication.jwt.IJwtUtilsAuth;
+import co.com.sti.usecase.authentication.password.IPasswordHasher;
 import co.com.sti.usecase.exceptios.InvalidUserDataException;
 import co.com.sti.usecase.exceptios.UserNotExistsException;
+import co.com.sti.usecase.refreshtoken.IRefreshTokenUseCase;
+import lombok.extern.slf4j.Slf4j;
 import reactor.core.publisher.Mono;
 
+import java.util.UUID;
+import java.util.concurrent.Semaphore;
+
+@Slf4j
 public class AuthenticationUseCase implements IAuthenticationUseCase {
 
+    // Re-hashes en curso a la vez; comparten el executor de hashing con los logins y no deben quitarles capacidad
+    static final int MAX_CONCURRENT_REHASHES = 2;
+
     private final UserRepository userRepository;
     private final IJwtUtilsAuth jwtUtilsAuth;
+    private final IPasswordHasher passwordHasher;
+    private final IRefreshTokenUseCase refreshTokenUseCase;
+    private final Semaphore rehashPermits = new Semaphore(MAX_CONCURRENT_REHASHES);
 
-    public AuthenticationUseCase(UserRepository userRepository, IJwtUtilsAuth jwtUtilsAuth) {
+    public AuthenticationUseCase(UserRepository userRepository, IJwtUtilsAuth jwtUtilsAuth, IPasswordHasher passwordHasher,
+                                 IRefreshTokenUseCase refreshTokenUseCase) {
         this.userRepository = userRepository;
         this.jwtUtilsAuth = jwtUtilsAuth;
+        this.passwordHasher = passwordHasher;
+        this.refreshTokenUseCase = refreshTokenUseCase;
     }
 
     @Override
     public Mono<AuthResponseDto> authenticate(String email, String password) {
-        return userRepository.findUserByEmail(email)
-                .flatMap(user -> {
-                    // Aquí se valida la contraseña
-                    if (jwtUtilsAuth.passwordMatch(password, user.getPassword())) {
-                        String token = jwtUtilsAuth.generate(user.getEmail(), user.getIdRole());
-                        return Mono.just(AuthResponseDto.builder()
-                                .firstName(user.getName())
-                                .lastName(user.getLastName())
-                                .email(user.getEmail())
-                                .role(Role.getById(user.getIdRole()).getName())
-                                .token(token)
-                                .build());
-                    } else {
-                        return Mono.error(new InvalidUserDataException("No se puede iniciar sesión, Credenciales inválidas"));
-                    }
-                })
+        return userRepository.findCredentialsByEmail(email)
+                .flatMap(user -> passwordHasher.matches(password, user.getPassword())
+                        .flatMap(matches -> {
+                            // Aquí se valida la contraseña
+                            if (Boolean.TRUE.equals(matches)) {
+                                // La sesión es la familia de refresh tokens; el token de acceso lleva su id para el logout
+                                String sessionId = UUID.randomUUID().toString();
+                                String token = jwtUtilsAuth.generate(user.getEmail(), user.getIdRole(), sessionId);
+                                AuthResponseDto response = AuthResponseDto.builder()
+                                        .firstName(user.getName())
+                                        .lastName(user.getLastName())
+                                        .email(user.getEmail())
+                                        .role(Role.getById(user.getIdRole()).getName())
+                                        .token(token)
+                                        .build();
+                                return refreshTokenUseCase.issue(sessionId, user.getEmail(), user.getIdRole())
+                                        .doOnNext(response::setRefreshToken)
+                                        .doOnSuccess(refreshToken -> rehashIfNeeded(user, password))
+                                        .thenReturn(response);
+                            } else {
+                                return Mono.error(new InvalidUserDataException("No se puede iniciar sesión, Credenciales inválidas"));
+                            }
+                        }))
                 .switchIfEmpty(Mono.error(new UserNotExistsException("No se puede iniciar sesión, Usuario no encontrado")));
     }
 
+    // Solo aquí se conoce la contraseña en claro, así que es el único momento para llevar el hash al costo actual.
+    // Se ejecuta desacoplado de la respuesta: el login no espera el nuevo hash ni la escritura, y un fallo
+    // al persistir solo se registra. Si ya hay MAX_CONCURRENT_REHASHES en curso se omite; el usuario se
+    // re-hashea en un login posterior.
+    private void rehashIfNeeded(UserCredentials user, String password) {
+        if (!passwordHasher.needsRehash(user.getPassword())) {
+            return;
+        }
+        if (!rehashPermits.tryAcquire()) {
+            log.debug("Re-hash omitido: ya hay {} en curso", MAX_CONCURRENT_REHASHES);
+            return;
+        }
+        passwordHasher.encode(password)
+                .flatMap(hashedPassword -> userRepository.updatePassword(user.getEmail(), hashedPassword))
+                .doFinally(signal -> rehashPermits.release())
+                .onErrorResume(error -> {
+                    log.warn("No se pudo actualizar el hash de una contraseña; se reintentará en otro login", error);
+                    return Mono.empty();
+                })
+                .subscribe();
+    }
+
 }
@@ -13,4 +13,5 @@ public class AuthResponseDto{
     private String email;
     private String role; // El nombre del rol
     private String token;
+    private String refreshToken;
 }
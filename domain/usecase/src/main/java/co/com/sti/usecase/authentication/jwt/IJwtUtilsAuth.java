@@ -1,6 +1,6 @@
 package co.com.sti.usecase.authentication.jwt;
 
 public interface IJwtUtilsAuth {
-    String generate( String email, Integer idRole );
-    Boolean passwordMatch(String password, String hashedPassword);
+    // sessionId es la familia de refresh tokens de la sesión; viaja en el claim sid para que el logout la identifique
+    String generate( String email, Integer idRole, String sessionId );
 }
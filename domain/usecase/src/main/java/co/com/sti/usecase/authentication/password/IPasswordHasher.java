@@ -0,0 +1,9 @@
+package co.com.sti.usecase.authentication.password;
+
+import reactor.core.publisher.Mono;
+
+public interface IPasswordHasher {
+    Mono<String> encode(String rawPassword);
+    Mono<Boolean> matches(String rawPassword, String hashedPassword);
+    boolean needsRehash(String hashedPassword);
+}
@@ -0,0 +1,10 @@
+package co.com.sti.usecase.authentication.refresh;
+
+import java.time.Duration;
+
+public interface IRefreshTokenUtils {
+    String generate();
+    String hash(String refreshToken);
+    Duration timeToLive();
+    Duration maxLifetime();
+}
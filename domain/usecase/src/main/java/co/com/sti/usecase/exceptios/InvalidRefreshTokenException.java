@@ -0,0 +1,7 @@
+package co.com.sti.usecase.exceptios;
+
+public class InvalidRefreshTokenException extends RuntimeException {
+    public InvalidRefreshTokenException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,24 @@
+package co.com.sti.usecase.exportusers;
+
+import co.com.sti.model.user.User;
+import co.com.sti.model.user.gateways.UserRepository;
+import reactor.core.publisher.Flux;
+
+public class ExportUsersUseCase implements IExportUsersUseCase {
+
+    private final UserRepository userRepository;
+
+    public ExportUsersUseCase(UserRepository userRepository) {
+        this.userRepository = userRepository;
+    }
+
+    // El repositorio ya omite el hash; se limpia de nuevo por si una implementación lo llegara a incluir
+    @Override
+    public Flux<User> exportUsers() {
+        return userRepository.exportUsers()
+                .map(user -> {
+                    user.setPassword(null);
+                    return user;
+                });
+    }
+}
@@ -0,0 +1,8 @@
+package co.com.sti.usecase.exportusers;
+
+import co.com.sti.model.user.User;
+import reactor.core.publisher.Flux;
+
+public interface IExportUsersUseCase {
+    Flux<User> exportUsers();
+}
@@ -0,0 +1,11 @@
+package co.com.sti.usecase.importusers;
+
+import co.com.sti.model.user.User;
+import reactor.core.publisher.Flux;
+
+import java.util.List;
+
+public interface IImportUsersUseCase {
+    // Emite un resultado por usuario, en el mismo orden del lote recibido
+    Flux<UserImportResult> importUsers(List<User> users);
+}
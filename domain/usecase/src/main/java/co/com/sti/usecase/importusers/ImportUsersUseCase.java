@@ -0,0 +1,66 @@
+package co.com.sti.usecase.importusers;
+
+import co.com.sti.model.user.DuplicateUserException;
+import co.com.sti.model.user.User;
+import co.com.sti.model.user.UserSaveOutcome;
+import co.com.sti.model.user.gateways.UserRepository;
+import reactor.core.publisher.Flux;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+
+public class ImportUsersUseCase implements IImportUsersUseCase {
+
+    private static final BigDecimal MAX_SALARY = new BigDecimal(15000000);
+
+    private final UserRepository userRepository;
+
+    public ImportUsersUseCase(UserRepository userRepository) {
+        this.userRepository = userRepository;
+    }
+
+    // Mismas reglas y mensajes que el registro individual; los válidos se guardan en una sola inserción
+    @Override
+    public Flux<UserImportResult> importUsers(List<User> users) {
+        UserImportResult[] results = new UserImportResult[users.size()];
+        List<User> valid = new ArrayList<>(users.size());
+        for (int i = 0; i < users.size(); i++) {
+            User user = users.get(i);
+            if (user.getSalary() == null || user.getSalary().compareTo(BigDecimal.ZERO) < 0 || user.getSalary().compareTo(MAX_SALARY) > 0) {
+                results[i] = result(user, UserImportResult.Status.INVALID, "El salario no esta dentro del rango mayor que 0 y menor que 15'000.000 COP");
+            } else {
+                valid.add(user);
+            }
+        }
+        if (valid.isEmpty()) {
+            return Flux.fromArray(results);
+        }
+        return userRepository.saveUsers(valid)
+                .collectList()
+                .flatMapMany(outcomes -> {
+                    Iterator<UserSaveOutcome> saved = outcomes.iterator();
+                    for (int i = 0; i < results.length; i++) {
+                        if (results[i] == null) {
+                            results[i] = toResult(saved.next());
+                        }
+                    }
+                    return Flux.fromArray(results);
+                });
+    }
+
+    private static UserImportResult toResult(UserSaveOutcome outcome) {
+        if (outcome.isSaved()) {
+            return result(outcome.getUser(), UserImportResult.Status.CREATED, "Usuario registrado exitosamente");
+        }
+        return result(outcome.getUser(), UserImportResult.Status.DUPLICATE,
+                outcome.getDuplicate() == DuplicateUserException.Field.NUMBER_IDENTITY
+                        ? "Ya existe un usuario con este número de identidad"
+                        : "Ya existe un usuario con este email.");
+    }
+
+    private static UserImportResult result(User user, UserImportResult.Status status, String message) {
+        return new UserImportResult(user.getEmail(), user.getNumberIdentity(), status, message);
+    }
+}
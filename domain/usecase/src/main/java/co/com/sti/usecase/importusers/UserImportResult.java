@@ -0,0 +1,16 @@
+package co.com.sti.usecase.importusers;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+@Getter
+@AllArgsConstructor
+public class UserImportResult {
+
+    public enum Status { CREATED, INVALID, DUPLICATE }
+
+    private final String email;
+    private final String numberIdentity;
+    private final Status status;
+    private final String message;
+}
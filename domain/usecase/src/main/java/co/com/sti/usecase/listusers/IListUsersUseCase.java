@@ -0,0 +1,9 @@
+package co.com.sti.usecase.listusers;
+
+import co.com.sti.model.user.UserFilter;
+import co.com.sti.model.user.UserPage;
+import reactor.core.publisher.Mono;
+
+public interface IListUsersUseCase {
+    Mono<UserPage> listUsers(UserFilter filter);
+}
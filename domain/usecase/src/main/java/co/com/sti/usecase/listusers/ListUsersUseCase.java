@@ -0,0 +1,32 @@
+package co.com.sti.usecase.listusers;
+
+import co.com.sti.model.user.UserFilter;
+import co.com.sti.model.user.UserPage;
+import co.com.sti.model.user.gateways.UserRepository;
+import co.com.sti.usecase.exceptios.InvalidUserDataException;
+import reactor.core.publisher.Mono;
+
+public class ListUsersUseCase implements IListUsersUseCase {
+
+    private final UserRepository userRepository;
+
+    public ListUsersUseCase(UserRepository userRepository) {
+        this.userRepository = userRepository;
+    }
+
+    @Override
+    public Mono<UserPage> listUsers(UserFilter filter) {
+        if (filter.getLimit() <= 0) {
+            return Mono.error(new InvalidUserDataException("El tamaño de página debe ser mayor que cero"));
+        }
+        if (filter.getAfterId() != null && filter.getAfterId() < 0) {
+            return Mono.error(new InvalidUserDataException("El cursor de paginación no es válido"));
+        }
+        if (filter.getMinSalary() != null && filter.getMaxSalary() != null && filter.getMinSalary().compareTo(filter.getMaxSalary()) > 0) {
+            return Mono.error(new InvalidUserDataException("El salario mínimo no puede ser mayor que el máximo"));
+        }
+        // Un prefijo vacío no filtra nada; se descarta para que la consulta no lleve un LIKE inútil
+        String namePrefix = filter.getNamePrefix() == null || filter.getNamePrefix().isBlank() ? null : filter.getNamePrefix().trim();
+        return userRepository.findUsers(filter.toBuilder().namePrefix(namePrefix).build());
+    }
+}
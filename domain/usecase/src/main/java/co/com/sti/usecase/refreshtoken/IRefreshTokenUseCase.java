@@ -0,0 +1,10 @@
+package co.com.sti.usecase.refreshtoken;
+
+import co.com.sti.usecase.authentication.dto.AuthResponseDto;
+import reactor.core.publisher.Mono;
+
+public interface IRefreshTokenUseCase {
+    Mono<String> issue(String sessionId, String email, Integer idRole);
+    Mono<AuthResponseDto> refresh(String refreshToken);
+    Mono<Long> purgeExpired(int batchSize);
+}
@@ -0,0 +1,96 @@
+package co.com.sti.usecase.refreshtoken;
+
+import co.com.sti.model.refreshtoken.RefreshToken;
+import co.com.sti.model.refreshtoken.gateways.RefreshTokenRepository;
+import co.com.sti.model.role.Role;
+import co.com.sti.model.user.gateways.UserRepository;
+import co.com.sti.usecase.authentication.dto.AuthResponseDto;
+import co.com.sti.usecase.authentication.jwt.IJwtUtilsAuth;
+import co.com.sti.usecase.authentication.refresh.IRefreshTokenUtils;
+import co.com.sti.usecase.exceptios.InvalidRefreshTokenException;
+import reactor.core.publisher.Mono;
+
+import java.time.Instant;
+
+public class RefreshTokenUseCase implements IRefreshTokenUseCase {
+
+    private final RefreshTokenRepository refreshTokenRepository;
+    private final UserRepository userRepository;
+    private final IJwtUtilsAuth jwtUtilsAuth;
+    private final IRefreshTokenUtils refreshTokenUtils;
+
+    public RefreshTokenUseCase(RefreshTokenRepository refreshTokenRepository, UserRepository userRepository,
+                               IJwtUtilsAuth jwtUtilsAuth, IRefreshTokenUtils refreshTokenUtils) {
+        this.refreshTokenRepository = refreshTokenRepository;
+        this.userRepository = userRepository;
+        this.jwtUtilsAuth = jwtUtilsAuth;
+        this.refreshTokenUtils = refreshTokenUtils;
+    }
+
+    // La familia nueva toma el id de la sesión que ya lleva el token de acceso
+    @Override
+    public Mono<String> issue(String sessionId, String email, Integer idRole) {
+        return store(sessionId, Instant.now(), email, idRole);
+    }
+
+    // Cada refresh consume el token presentado y entrega uno nuevo de la misma familia.
+    // Presentar un token ya consumido indica que fue robado: se revoca toda la familia.
+    // El rol se vuelve a leer del usuario para que un cambio de rol llegue a los tokens sin esperar a un nuevo login.
+    @Override
+    public Mono<AuthResponseDto> refresh(String refreshToken) {
+        String tokenHash = refreshTokenUtils.hash(refreshToken);
+        return refreshTokenRepository.consumeRefreshToken(tokenHash)
+                .flatMap(consumed -> {
+                    if (!Instant.now().isBefore(familyDeadline(consumed.getFamilyCreatedAt()))) {
+                        return Mono.error(new InvalidRefreshTokenException("La sesión superó su vigencia máxima, inicie sesión de nuevo"));
+                    }
+                    return userRepository.findCredentialsByEmail(consumed.getEmail())
+                            .switchIfEmpty(Mono.defer(() -> refreshTokenRepository.revokeRefreshTokenFamily(consumed.getFamilyId())
+                                    .then(Mono.error(new InvalidRefreshTokenException("El usuario de la sesión ya no existe")))))
+                            .flatMap(credentials -> store(consumed.getFamilyId(), consumed.getFamilyCreatedAt(), consumed.getEmail(), credentials.getIdRole())
+                                    .map(rotated -> AuthResponseDto.builder()
+                                            .email(consumed.getEmail())
+                                            .role(Role.getById(credentials.getIdRole()).getName())
+                                            .token(jwtUtilsAuth.generate(consumed.getEmail(), credentials.getIdRole(), consumed.getFamilyId()))
+                                            .refreshToken(rotated)
+                                            .build()));
+                })
+                .switchIfEmpty(Mono.defer(() -> reject(tokenHash)));
+    }
+
+    @Override
+    public Mono<Long> purgeExpired(int batchSize) {
+        return refreshTokenRepository.deleteExpiredRefreshTokens(batchSize)
+                .expand(deleted -> deleted < batchSize ? Mono.empty() : refreshTokenRepository.deleteExpiredRefreshTokens(batchSize))
+                .reduce(0L, Long::sum);
+    }
+
+    // La vigencia se renueva en cada rotación pero nunca pasa de la vida máxima de la familia
+    private Mono<String> store(String familyId, Instant familyCreatedAt, String email, Integer idRole) {
+        String refreshToken = refreshTokenUtils.generate();
+        Instant renewed = Instant.now().plus(refreshTokenUtils.timeToLive());
+        Instant deadline = familyDeadline(familyCreatedAt);
+        RefreshToken entity = RefreshToken.builder()
+                .tokenHash(refreshTokenUtils.hash(refreshToken))
+                .familyId(familyId)
+                .familyCreatedAt(familyCreatedAt)
+                .email(email)
+                .idRole(idRole)
+                .expiresAt(renewed.isBefore(deadline) ? renewed : deadline)
+                .build();
+        return refreshTokenRepository.saveRefreshToken(entity).thenReturn(refreshToken);
+    }
+
+    private Instant familyDeadline(Instant familyCreatedAt) {
+        return familyCreatedAt.plus(refreshTokenUtils.maxLifetime());
+    }
+
+    private Mono<AuthResponseDto> reject(String tokenHash) {
+        return refreshTokenRepository.findRefreshTokenByHash(tokenHash)
+                .flatMap(stored -> stored.getUsedAt() != null
+                        ? refreshTokenRepository.revokeRefreshTokenFamily(stored.getFamilyId())
+                                .then(Mono.<AuthResponseDto>error(new InvalidRefreshTokenException("Refresh token reutilizado, la sesión fue revocada")))
+                        : Mono.<AuthResponseDto>error(new InvalidRefreshTokenException("Refresh token expirado")))
+                .switchIfEmpty(Mono.error(new InvalidRefreshTokenException("Refresh token inválido")));
+    }
+}
@@ -0,0 +1,17 @@
+package co.com.sti.usecase.revocation;
+
+import co.com.sti.model.revocation.RevokedToken;
+import co.com.sti.model.revocation.TokenEpoch;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Instant;
+
+public interface ITokenRevocationUseCase {
+    Mono<RevokedToken> revokeToken(String jti, String email, Instant expiresAt);
+    Mono<RevokedToken> logout(String jti, String sessionId, String email, Instant expiresAt);
+    Mono<TokenEpoch> revokeAllForUser(String email);
+    Flux<RevokedToken> revokedTokensSince(Instant since);
+    Flux<TokenEpoch> tokenEpochsSince(Instant since);
+    Mono<Long> purgeExpired(int batchSize);
+}
@@ -0,0 +1,80 @@
+package co.com.sti.usecase.revocation;
+
+import co.com.sti.model.refreshtoken.gateways.RefreshTokenRepository;
+import co.com.sti.model.revocation.RevokedToken;
+import co.com.sti.model.revocation.TokenEpoch;
+import co.com.sti.model.revocation.gateways.TokenRevocationRepository;
+import co.com.sti.usecase.exceptios.InvalidUserDataException;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+
+public class TokenRevocationUseCase implements ITokenRevocationUseCase {
+
+    private final TokenRevocationRepository tokenRevocationRepository;
+    private final RefreshTokenRepository refreshTokenRepository;
+
+    public TokenRevocationUseCase(TokenRevocationRepository tokenRevocationRepository, RefreshTokenRepository refreshTokenRepository) {
+        this.tokenRevocationRepository = tokenRevocationRepository;
+        this.refreshTokenRepository = refreshTokenRepository;
+    }
+
+    @Override
+    public Mono<RevokedToken> revokeToken(String jti, String email, Instant expiresAt) {
+        if (jti == null || jti.isBlank()) {
+            return Mono.error(new InvalidUserDataException("El token no tiene identificador y no puede revocarse individualmente"));
+        }
+        // Un token ya vencido no necesita revocarse
+        if (expiresAt == null || !expiresAt.isAfter(Instant.now())) {
+            return Mono.empty();
+        }
+        return tokenRevocationRepository.saveRevokedToken(RevokedToken.builder()
+                .jti(jti)
+                .email(email)
+                .expiresAt(expiresAt)
+                .build());
+    }
+
+    // Revocar solo el token de acceso dejaría vivo el refresh token: el cliente, o quien lo haya robado, obtendría
+    // uno nuevo justo después de cerrar sesión. Se elimina la familia de la sesión del token (sid) y las sesiones
+    // del usuario en otros dispositivos siguen vivas. Un token emitido antes de incluir sid no identifica su
+    // familia; para esos se eliminan todos los refresh tokens del usuario.
+    @Override
+    public Mono<RevokedToken> logout(String jti, String sessionId, String email, Instant expiresAt) {
+        Mono<Void> refreshTokens = sessionId != null
+                ? refreshTokenRepository.revokeRefreshTokenFamily(sessionId)
+                : refreshTokenRepository.revokeRefreshTokensByEmail(email);
+        return refreshTokens.then(revokeToken(jti, email, expiresAt));
+    }
+
+    // El claim iat tiene resolución de segundos, por eso la época se trunca al segundo y se compara inclusive.
+    // También se eliminan los refresh tokens del usuario para que no pueda obtener nuevos tokens de acceso.
+    @Override
+    public Mono<TokenEpoch> revokeAllForUser(String email) {
+        TokenEpoch epoch = TokenEpoch.builder()
+                .email(email)
+                .notBefore(Instant.now().truncatedTo(ChronoUnit.SECONDS))
+                .build();
+        return refreshTokenRepository.revokeRefreshTokensByEmail(email)
+                .then(tokenRevocationRepository.saveTokenEpoch(epoch));
+    }
+
+    @Override
+    public Flux<RevokedToken> revokedTokensSince(Instant since) {
+        return tokenRevocationRepository.findRevokedTokensSince(since);
+    }
+
+    @Override
+    public Flux<TokenEpoch> tokenEpochsSince(Instant since) {
+        return tokenRevocationRepository.findTokenEpochsSince(since);
+    }
+
+    @Override
+    public Mono<Long> purgeExpired(int batchSize) {
+        return tokenRevocationRepository.deleteExpiredRevokedTokens(batchSize)
+                .expand(deleted -> deleted < batchSize ? Mono.empty() : tokenRevocationRepository.deleteExpiredRevokedTokens(batchSize))
+                .reduce(0L, Long::sum);
+    }
+}
@@ -1,8 +1,12 @@
 package co.com.sti.usecase.searchuser;
 
-import co.com.sti.model.user.User;
+import co.com.sti.model.user.UserProfile;
 import reactor.core.publisher.Mono;
 
+import java.util.List;
+
 public interface ISearchUserUseCase {
-    Mono<User> getUserbyIdentification(String identification);
+    Mono<UserProfile> getUserProfile(String identification);
+    Mono<Long> getUserVersion(String identification);
+    Mono<UserBatchLookup> getUsersByKeys(List<String> numberIdentities, List<String> emails);
 }
@@ -1,9 +1,18 @@
 package co.com.sti.usecase.searchuser;
 
 import co.com.sti.model.user.User;
+import co.com.sti.model.user.UserProfile;
 import co.com.sti.model.user.gateways.UserRepository;
 import reactor.core.publisher.Mono;
 
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
 
 public class SearchUserUseCase implements ISearchUserUseCase {
 
@@ -14,7 +23,60 @@ public class SearchUserUseCase implements ISearchUserUseCase {
     }
 
     @Override
-    public Mono<User> getUserbyIdentification(String identification) {
-        return userRepository.findUserByNumberIdentity(identification);
+    public Mono<UserProfile> getUserProfile(String identification) {
+        return userRepository.findProfileByNumberIdentity(identification);
+    }
+
+    @Override
+    public Mono<Long> getUserVersion(String identification) {
+        return userRepository.findVersionByNumberIdentity(identification);
+    }
+
+    // Una sola consulta para todo el lote; las claves repetidas o vacías se ignoran y el orden de la respuesta es el pedido
+    @Override
+    public Mono<UserBatchLookup> getUsersByKeys(List<String> numberIdentities, List<String> emails) {
+        Set<String> identityKeys = distinctKeys(numberIdentities);
+        Set<String> emailKeys = distinctKeys(emails);
+        if (identityKeys.isEmpty() && emailKeys.isEmpty()) {
+            return Mono.just(new UserBatchLookup(Map.of(), List.of()));
+        }
+        return userRepository.findUsersByIdentitiesOrEmails(List.copyOf(identityKeys), List.copyOf(emailKeys))
+                .collectList()
+                .map(users -> {
+                    Map<String, User> byIdentity = new HashMap<>();
+                    Map<String, User> byEmail = new HashMap<>();
+                    for (User user : users) {
+                        byIdentity.put(user.getNumberIdentity(), user);
+                        byEmail.put(user.getEmail(), user);
+                    }
+                    Map<String, User> found = new LinkedHashMap<>();
+                    List<String> missing = new ArrayList<>();
+                    collect(identityKeys, byIdentity, found, missing);
+                    collect(emailKeys, byEmail, found, missing);
+                    return new UserBatchLookup(found, missing);
+                });
+    }
+
+    private static Set<String> distinctKeys(List<String> keys) {
+        Set<String> distinct = new LinkedHashSet<>();
+        if (keys != null) {
+            for (String key : keys) {
+                if (key != null && !key.isBlank()) {
+                    distinct.add(key.trim());
+                }
+            }
+        }
+        return distinct;
+    }
+
+    private static void collect(Set<String> keys, Map<String, User> users, Map<String, User> found, List<String> missing) {
+        for (String key : keys) {
+            User user = users.get(key);
+            if (user != null) {
+                found.put(key, user);
+            } else {
+                missing.add(key);
+            }
+        }
     }
 }
@@ -0,0 +1,16 @@
+package co.com.sti.usecase.searchuser;
+
+import co.com.sti.model.user.User;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.List;
+import java.util.Map;
+
+// Resultado de una búsqueda por lote: cada clave pedida (documento o email) con su usuario, y las que no existen
+@Getter
+@AllArgsConstructor
+public class UserBatchLookup {
+    private final Map<String, User> found;
+    private final List<String> missing;
+}
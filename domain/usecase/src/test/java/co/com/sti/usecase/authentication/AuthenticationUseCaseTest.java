@@ -1,25 +1,34 @@
 package co.com.sti.usecase.authentication;
 
 import co.com.sti.model.role.Role;
-import co.com.sti.model.user.User;
+import co.com.sti.model.user.UserCredentials;
 import co.com.sti.model.user.gateways.UserRepository;
 import co.com.sti.usecase.authentication.dto.AuthResponseDto;
 import co.com.sti.usecase.authentication.jwt.IJwtUtilsAuth;
+import co.com.sti.usecase.authentication.password.IPasswordHasher;
 import co.com.sti.usecase.exceptios.InvalidUserDataException;
 import co.com.sti.usecase.exceptios.UserNotExistsException;
+import co.com.sti.usecase.refreshtoken.IRefreshTokenUseCase;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import reactor.core.publisher.Mono;
 import reactor.test.StepVerifier;
 
+import java.time.Duration;
+
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -35,16 +44,23 @@ class AuthenticationUseCaseTest {
     @Mock
     private IJwtUtilsAuth jwtUtilsAuth;
 
-    private User testUser;
+    @Mock
+    private IPasswordHasher passwordHasher;
+
+    @Mock
+    private IRefreshTokenUseCase refreshTokenUseCase;
+
+    private UserCredentials testUser;
     private final String testEmail = "test@example.com";
     private final String testPassword = "password123";
     private final String testToken = "test-token-jwt";
+    private final String testRefreshToken = "test-refresh-token";
     private final int testRoleId = 1;
 
     @BeforeEach
     void setUp() {
         // Configuración de un usuario de prueba para los escenarios exitosos y de fallo de contraseña
-        testUser = User.builder()
+        testUser = UserCredentials.builder()
                 .name("Test")
                 .lastName("User")
                 .email(testEmail)
@@ -58,11 +74,12 @@ class AuthenticationUseCaseTest {
     void authenticate_SuccessfulAuthentication_ReturnsAuthResponseDto() {
         // 1. Configuración de los mocks para simular una autenticación exitosa.
         // Se simula que el usuario es encontrado por su email
-        when(userRepository.findUserByEmail(testEmail)).thenReturn(Mono.just(testUser));
+        when(userRepository.findCredentialsByEmail(testEmail)).thenReturn(Mono.just(testUser));
         // Se simula que la contraseña coincide
-        when(jwtUtilsAuth.passwordMatch(testPassword, testUser.getPassword())).thenReturn(true);
+        when(passwordHasher.matches(testPassword, testUser.getPassword())).thenReturn(Mono.just(true));
         // Se simula la generación de un token
-        when(jwtUtilsAuth.generate(anyString(), anyInt())).thenReturn(testToken);
+        when(jwtUtilsAuth.generate(anyString(), anyInt(), anyString())).thenReturn(testToken);
+        when(refreshTokenUseCase.issue(anyString(), eq(testEmail), eq(testRoleId))).thenReturn(Mono.just(testRefreshToken));
 
         // 2. Ejecución del método a probar
         Mono<AuthResponseDto> result = useCase.authenticate(testEmail, testPassword);
@@ -76,20 +93,24 @@ class AuthenticationUseCaseTest {
                     assertEquals(testEmail, authResponseDto.getEmail());
                     assertEquals(Role.getById(testUser.getIdRole()).getName(), authResponseDto.getRole());
                     assertEquals(testToken, authResponseDto.getToken());
+                    assertEquals(testRefreshToken, authResponseDto.getRefreshToken());
                 })
                 .verifyComplete();
 
-        // Se verifica que se llamaron a los métodos del repositorio y del JWTUtils
-        verify(userRepository).findUserByEmail(testEmail);
-        verify(jwtUtilsAuth).passwordMatch(testPassword, testUser.getPassword());
-        verify(jwtUtilsAuth).generate(testUser.getEmail(), testUser.getIdRole());
+        // Se verifica que se llamaron a los métodos del repositorio, del hasher y del JWTUtils
+        verify(userRepository).findCredentialsByEmail(testEmail);
+        verify(passwordHasher).matches(testPassword, testUser.getPassword());
+        // El token de acceso y la familia de refresh tokens comparten el id de sesión
+        ArgumentCaptor<String> sessionId = ArgumentCaptor.forClass(String.class);
+        verify(jwtUtilsAuth).generate(eq(testUser.getEmail()), eq(testUser.getIdRole()), sessionId.capture());
+        verify(refreshTokenUseCase).issue(sessionId.getValue(), testEmail, testRoleId);
     }
 
     @Test
     @DisplayName("should throw UserNotExistsException when user is not found by email")
     void authenticate_UserNotFound_ThrowsUserNotExistsException() {
         // 1. Configuración del mock para simular que no se encuentra el usuario
-        when(userRepository.findUserByEmail(testEmail)).thenReturn(Mono.empty());
+        when(userRepository.findCredentialsByEmail(testEmail)).thenReturn(Mono.empty());
 
         // 2. Ejecución del método a probar
         Mono<AuthResponseDto> result = useCase.authenticate(testEmail, testPassword);
@@ -103,7 +124,7 @@ class AuthenticationUseCaseTest {
                 .verify();
 
         // Se verifica que solo se llamó al método de búsqueda de usuario
-        verify(userRepository).findUserByEmail(testEmail);
+        verify(userRepository).findCredentialsByEmail(testEmail);
     }
 
     @Test
@@ -111,9 +132,9 @@ class AuthenticationUseCaseTest {
     void authenticate_PasswordMismatch_ThrowsInvalidUserDataException() {
         // 1. Configuración de los mocks para simular una contraseña incorrecta
         // Se simula que el usuario es encontrado
-        when(userRepository.findUserByEmail(testEmail)).thenReturn(Mono.just(testUser));
+        when(userRepository.findCredentialsByEmail(testEmail)).thenReturn(Mono.just(testUser));
         // Se simula que la contraseña NO coincide
-        when(jwtUtilsAuth.passwordMatch(testPassword, testUser.getPassword())).thenReturn(false);
+        when(passwordHasher.matches(testPassword, testUser.getPassword())).thenReturn(Mono.just(false));
 
         // 2. Ejecución del método a probar
         Mono<AuthResponseDto> result = useCase.authenticate(testEmail, testPassword);
@@ -127,7 +148,101 @@ class AuthenticationUseCaseTest {
                 .verify();
 
         // Se verifica que se llamó a los métodos correctos, pero no al de generación de token
-        verify(userRepository).findUserByEmail(testEmail);
-        verify(jwtUtilsAuth).passwordMatch(testPassword, testUser.getPassword());
+        verify(userRepository).findCredentialsByEmail(testEmail);
+        verify(passwordHasher).matches(testPassword, testUser.getPassword());
+    }
+
+    @Test
+    @DisplayName("should re-hash and persist the password when the stored hash uses a different cost")
+    void authenticate_StoredHashNeedsRehash_PersistsNewHash() {
+        when(userRepository.findCredentialsByEmail(testEmail)).thenReturn(Mono.just(testUser));
+        when(passwordHasher.matches(testPassword, testUser.getPassword())).thenReturn(Mono.just(true));
+        when(jwtUtilsAuth.generate(anyString(), anyInt(), anyString())).thenReturn(testToken);
+        when(refreshTokenUseCase.issue(anyString(), eq(testEmail), eq(testRoleId))).thenReturn(Mono.just(testRefreshToken));
+        when(passwordHasher.needsRehash(testUser.getPassword())).thenReturn(true);
+        when(passwordHasher.encode(testPassword)).thenReturn(Mono.just("newHashedPassword"));
+        when(userRepository.updatePassword(testEmail, "newHashedPassword")).thenReturn(Mono.empty());
+
+        StepVerifier.create(useCase.authenticate(testEmail, testPassword))
+                .assertNext(authResponseDto -> assertEquals(testToken, authResponseDto.getToken()))
+                .verifyComplete();
+
+        // El rehash corre desacoplado del login, así que se espera a que termine en segundo plano
+        verify(userRepository, timeout(1000)).updatePassword(testEmail, "newHashedPassword");
+    }
+
+    @Test
+    @DisplayName("should still authenticate when persisting the re-hashed password fails")
+    void authenticate_RehashPersistFails_StillAuthenticates() {
+        when(userRepository.findCredentialsByEmail(testEmail)).thenReturn(Mono.just(testUser));
+        when(passwordHasher.matches(testPassword, testUser.getPassword())).thenReturn(Mono.just(true));
+        when(jwtUtilsAuth.generate(anyString(), anyInt(), anyString())).thenReturn(testToken);
+        when(refreshTokenUseCase.issue(anyString(), eq(testEmail), eq(testRoleId))).thenReturn(Mono.just(testRefreshToken));
+        when(passwordHasher.needsRehash(testUser.getPassword())).thenReturn(true);
+        when(passwordHasher.encode(testPassword)).thenReturn(Mono.just("newHashedPassword"));
+        when(userRepository.updatePassword(testEmail, "newHashedPassword"))
+                .thenReturn(Mono.error(new RuntimeException("db down")));
+
+        StepVerifier.create(useCase.authenticate(testEmail, testPassword))
+                .assertNext(authResponseDto -> assertEquals(testToken, authResponseDto.getToken()))
+                .verifyComplete();
+
+        verify(userRepository, timeout(1000)).updatePassword(testEmail, "newHashedPassword");
+    }
+
+    @Test
+    @DisplayName("should not wait for the re-hashed password to be persisted before answering")
+    void authenticate_RehashPersistPending_DoesNotBlockLogin() {
+        when(userRepository.findCredentialsByEmail(testEmail)).thenReturn(Mono.just(testUser));
+        when(passwordHasher.matches(testPassword, testUser.getPassword())).thenReturn(Mono.just(true));
+        when(jwtUtilsAuth.generate(anyString(), anyInt(), anyString())).thenReturn(testToken);
+        when(refreshTokenUseCase.issue(anyString(), eq(testEmail), eq(testRoleId))).thenReturn(Mono.just(testRefreshToken));
+        when(passwordHasher.needsRehash(testUser.getPassword())).thenReturn(true);
+        when(passwordHasher.encode(testPassword)).thenReturn(Mono.just("newHashedPassword"));
+        when(userRepository.updatePassword(testEmail, "newHashedPassword")).thenReturn(Mono.never());
+
+        StepVerifier.create(useCase.authenticate(testEmail, testPassword))
+                .expectNextCount(1)
+                .expectComplete()
+                .verify(Duration.ofSeconds(1));
+
+        verify(userRepository, timeout(1000)).updatePassword(testEmail, "newHashedPassword");
+    }
+
+    @Test
+    @DisplayName("should skip the re-hash while the maximum number of re-hashes is already in flight")
+    void authenticate_RehashLimitReached_SkipsRehash() {
+        when(userRepository.findCredentialsByEmail(testEmail)).thenReturn(Mono.just(testUser));
+        when(passwordHasher.matches(testPassword, testUser.getPassword())).thenReturn(Mono.just(true));
+        when(jwtUtilsAuth.generate(anyString(), anyInt(), anyString())).thenReturn(testToken);
+        when(refreshTokenUseCase.issue(anyString(), eq(testEmail), eq(testRoleId))).thenReturn(Mono.just(testRefreshToken));
+        when(passwordHasher.needsRehash(testUser.getPassword())).thenReturn(true);
+        when(passwordHasher.encode(testPassword)).thenReturn(Mono.just("newHashedPassword"));
+        when(userRepository.updatePassword(testEmail, "newHashedPassword")).thenReturn(Mono.never());
+
+        for (int i = 0; i <= AuthenticationUseCase.MAX_CONCURRENT_REHASHES; i++) {
+            StepVerifier.create(useCase.authenticate(testEmail, testPassword))
+                    .expectNextCount(1)
+                    .verifyComplete();
+        }
+
+        verify(passwordHasher, times(AuthenticationUseCase.MAX_CONCURRENT_REHASHES)).encode(testPassword);
+    }
+
+    @Test
+    @DisplayName("should not re-hash the password when the stored hash already uses the current cost")
+    void authenticate_StoredHashUpToDate_DoesNotRehash() {
+        when(userRepository.findCredentialsByEmail(testEmail)).thenReturn(Mono.just(testUser));
+        when(passwordHasher.matches(testPassword, testUser.getPassword())).thenReturn(Mono.just(true));
+        when(jwtUtilsAuth.generate(anyString(), anyInt(), anyString())).thenReturn(testToken);
+        when(refreshTokenUseCase.issue(anyString(), eq(testEmail), eq(testRoleId))).thenReturn(Mono.just(testRefreshToken));
+        when(passwordHasher.needsRehash(testUser.getPassword())).thenReturn(false);
+
+        StepVerifier.create(useCase.authenticate(testEmail, testPassword))
+                .expectNextCount(1)
+                .verifyComplete();
+
+        verify(passwordHasher, never()).encode(anyString());
+        verify(userRepository, never()).updatePassword(anyString(), anyString());
     }
 }
@@ -0,0 +1,42 @@
+package co.com.sti.usecase.exportusers;
+
+import co.com.sti.model.user.User;
+import co.com.sti.model.user.gateways.UserRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import reactor.core.publisher.Flux;
+import reactor.test.StepVerifier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class ExportUsersUseCaseTest {
+
+    @InjectMocks
+    private ExportUsersUseCase useCase;
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Test
+    @DisplayName("should stream every user without its password hash")
+    void exportUsers_NeverExposesPasswordHash() {
+        when(userRepository.exportUsers()).thenReturn(Flux.just(
+                User.builder().email("a@example.com").password("hash").build(),
+                User.builder().email("b@example.com").build()));
+
+        StepVerifier.create(useCase.exportUsers())
+                .assertNext(user -> {
+                    assertEquals("a@example.com", user.getEmail());
+                    assertNull(user.getPassword());
+                })
+                .assertNext(user -> assertNull(user.getPassword()))
+                .verifyComplete();
+    }
+}
@@ -0,0 +1,74 @@
+package co.com.sti.usecase.importusers;
+
+import co.com.sti.model.user.DuplicateUserException;
+import co.com.sti.model.user.User;
+import co.com.sti.model.user.UserSaveOutcome;
+import co.com.sti.model.user.gateways.UserRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import reactor.core.publisher.Flux;
+import reactor.test.StepVerifier;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class ImportUsersUseCaseTest {
+
+    @InjectMocks
+    private ImportUsersUseCase useCase;
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Test
+    @DisplayName("should keep the batch order and only send users with a valid salary to the repository")
+    void importUsers_MixedBatch_OneResultPerUserInOrder() {
+        User created = user("a@example.com", "1", 700000);
+        User invalid = user("b@example.com", "2", 20000000);
+        User duplicated = user("c@example.com", "3", 700000);
+        when(userRepository.saveUsers(List.of(created, duplicated))).thenReturn(Flux.just(
+                UserSaveOutcome.saved(created),
+                UserSaveOutcome.duplicate(duplicated, DuplicateUserException.Field.NUMBER_IDENTITY)));
+
+        StepVerifier.create(useCase.importUsers(List.of(created, invalid, duplicated)))
+                .assertNext(result -> assertEquals(UserImportResult.Status.CREATED, result.getStatus()))
+                .assertNext(result -> {
+                    assertEquals(UserImportResult.Status.INVALID, result.getStatus());
+                    assertEquals("b@example.com", result.getEmail());
+                })
+                .assertNext(result -> {
+                    assertEquals(UserImportResult.Status.DUPLICATE, result.getStatus());
+                    assertEquals("Ya existe un usuario con este número de identidad", result.getMessage());
+                })
+                .verifyComplete();
+    }
+
+    @Test
+    @DisplayName("should not touch the repository when no user in the batch is valid")
+    void importUsers_AllInvalid_SkipsRepository() {
+        StepVerifier.create(useCase.importUsers(List.of(user("b@example.com", "2", -1))))
+                .assertNext(result -> assertEquals(UserImportResult.Status.INVALID, result.getStatus()))
+                .verifyComplete();
+
+        verify(userRepository, never()).saveUsers(anyList());
+    }
+
+    private static User user(String email, String numberIdentity, long salary) {
+        return User.builder()
+                .email(email)
+                .numberIdentity(numberIdentity)
+                .salary(BigDecimal.valueOf(salary))
+                .build();
+    }
+}
@@ -0,0 +1,63 @@
+package co.com.sti.usecase.listusers;
+
+import co.com.sti.model.user.User;
+import co.com.sti.model.user.UserFilter;
+import co.com.sti.model.user.UserPage;
+import co.com.sti.model.user.gateways.UserRepository;
+import co.com.sti.usecase.exceptios.InvalidUserDataException;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class ListUsersUseCaseTest {
+
+    @InjectMocks
+    private ListUsersUseCase useCase;
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Test
+    @DisplayName("should drop a blank name prefix and return the repository page")
+    void listUsers_NormalizesBlankPrefix() {
+        UserPage page = new UserPage(List.of(User.builder().email("a@test.com").build()), 7L);
+        when(userRepository.findUsers(any())).thenReturn(Mono.just(page));
+
+        StepVerifier.create(useCase.listUsers(UserFilter.builder().idRole(3).namePrefix("  ").limit(20).build()))
+                .expectNext(page)
+                .verifyComplete();
+
+        verify(userRepository).findUsers(argThat(filter -> filter.getNamePrefix() == null && filter.getIdRole() == 3));
+    }
+
+    @Test
+    @DisplayName("should reject an inverted salary range without querying the repository")
+    void listUsers_InvertedSalaryRange() {
+        UserFilter filter = UserFilter.builder()
+                .minSalary(new BigDecimal("5000000"))
+                .maxSalary(new BigDecimal("1000000"))
+                .limit(20)
+                .build();
+
+        StepVerifier.create(useCase.listUsers(filter))
+                .expectError(InvalidUserDataException.class)
+                .verify();
+
+        verify(userRepository, never()).findUsers(any());
+    }
+}
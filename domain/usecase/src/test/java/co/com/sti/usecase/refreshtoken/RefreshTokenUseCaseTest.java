@@ -0,0 +1,204 @@
+package co.com.sti.usecase.refreshtoken;
+
+import co.com.sti.model.refreshtoken.RefreshToken;
+import co.com.sti.model.refreshtoken.gateways.RefreshTokenRepository;
+import co.com.sti.model.user.UserCredentials;
+import co.com.sti.model.user.gateways.UserRepository;
+import co.com.sti.usecase.authentication.jwt.IJwtUtilsAuth;
+import co.com.sti.usecase.authentication.refresh.IRefreshTokenUtils;
+import co.com.sti.usecase.exceptios.InvalidRefreshTokenException;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+import java.time.Instant;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class RefreshTokenUseCaseTest {
+
+    @InjectMocks
+    private RefreshTokenUseCase useCase;
+
+    @Mock
+    private RefreshTokenRepository refreshTokenRepository;
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private IJwtUtilsAuth jwtUtilsAuth;
+
+    @Mock
+    private IRefreshTokenUtils refreshTokenUtils;
+
+    private final String testEmail = "test@example.com";
+    private final int testRoleId = 3;
+
+    @Test
+    @DisplayName("should store only the hash of a new refresh token and return the raw token")
+    void issue_StoresHashedToken() {
+        when(refreshTokenUtils.generate()).thenReturn("raw-token");
+        when(refreshTokenUtils.hash("raw-token")).thenReturn("hash-token");
+        when(refreshTokenUtils.timeToLive()).thenReturn(Duration.ofDays(30));
+        when(refreshTokenUtils.maxLifetime()).thenReturn(Duration.ofDays(90));
+        when(refreshTokenRepository.saveRefreshToken(any())).thenAnswer(invocation -> Mono.just(invocation.getArgument(0)));
+
+        StepVerifier.create(useCase.issue("sesion-1", testEmail, testRoleId))
+                .expectNext("raw-token")
+                .verifyComplete();
+
+        ArgumentCaptor<RefreshToken> captor = ArgumentCaptor.forClass(RefreshToken.class);
+        verify(refreshTokenRepository).saveRefreshToken(captor.capture());
+        assertEquals("hash-token", captor.getValue().getTokenHash());
+        assertEquals(testEmail, captor.getValue().getEmail());
+        assertEquals("sesion-1", captor.getValue().getFamilyId());
+        assertTrue(captor.getValue().getExpiresAt().isAfter(Instant.now().plus(Duration.ofDays(29))));
+    }
+
+    @Test
+    @DisplayName("should rotate within the same family, keep its start and mint the token with the user's current role")
+    void refresh_ValidToken_RotatesAndReturnsNewTokens() {
+        Instant familyCreatedAt = Instant.now().minus(Duration.ofDays(80));
+        RefreshToken consumed = RefreshToken.builder()
+                .tokenHash("old-hash").familyId("family-1").familyCreatedAt(familyCreatedAt).email(testEmail).idRole(testRoleId)
+                .expiresAt(Instant.now().plusSeconds(60)).usedAt(Instant.now())
+                .build();
+        when(refreshTokenUtils.hash("old-token")).thenReturn("old-hash");
+        when(refreshTokenRepository.consumeRefreshToken("old-hash")).thenReturn(Mono.just(consumed));
+        when(userRepository.findCredentialsByEmail(testEmail)).thenReturn(Mono.just(UserCredentials.builder()
+                .email(testEmail).idRole(2).build()));
+        when(refreshTokenUtils.generate()).thenReturn("new-token");
+        when(refreshTokenUtils.hash("new-token")).thenReturn("new-hash");
+        when(refreshTokenUtils.timeToLive()).thenReturn(Duration.ofDays(30));
+        when(refreshTokenUtils.maxLifetime()).thenReturn(Duration.ofDays(90));
+        when(refreshTokenRepository.saveRefreshToken(any())).thenAnswer(invocation -> Mono.just(invocation.getArgument(0)));
+        when(jwtUtilsAuth.generate(testEmail, 2, "family-1")).thenReturn("access-token");
+
+        StepVerifier.create(useCase.refresh("old-token"))
+                .assertNext(response -> {
+                    assertEquals("access-token", response.getToken());
+                    assertEquals("new-token", response.getRefreshToken());
+                    assertEquals(testEmail, response.getEmail());
+                    assertEquals("ASESOR", response.getRole());
+                })
+                .verifyComplete();
+
+        ArgumentCaptor<RefreshToken> captor = ArgumentCaptor.forClass(RefreshToken.class);
+        verify(refreshTokenRepository).saveRefreshToken(captor.capture());
+        assertEquals("family-1", captor.getValue().getFamilyId());
+        assertEquals(familyCreatedAt, captor.getValue().getFamilyCreatedAt());
+        assertEquals(2, captor.getValue().getIdRole());
+        // La renovación de 30 días se recorta al fin de la vida máxima de la familia
+        assertEquals(familyCreatedAt.plus(Duration.ofDays(90)), captor.getValue().getExpiresAt());
+    }
+
+    @Test
+    @DisplayName("should reject rotation once the family is older than the absolute lifetime")
+    void refresh_FamilyPastMaxLifetime_Rejected() {
+        RefreshToken consumed = RefreshToken.builder()
+                .tokenHash("old-hash").familyId("family-1").familyCreatedAt(Instant.now().minus(Duration.ofDays(91)))
+                .email(testEmail).idRole(testRoleId).usedAt(Instant.now())
+                .build();
+        when(refreshTokenUtils.hash("old-token")).thenReturn("old-hash");
+        when(refreshTokenRepository.consumeRefreshToken("old-hash")).thenReturn(Mono.just(consumed));
+        when(refreshTokenUtils.maxLifetime()).thenReturn(Duration.ofDays(90));
+
+        StepVerifier.create(useCase.refresh("old-token"))
+                .expectError(InvalidRefreshTokenException.class)
+                .verify();
+
+        verify(refreshTokenRepository, never()).saveRefreshToken(any());
+        verify(jwtUtilsAuth, never()).generate(any(), any(), any());
+    }
+
+    @Test
+    @DisplayName("should revoke the family and reject rotation when the user no longer exists")
+    void refresh_UserDeleted_RevokesFamily() {
+        RefreshToken consumed = RefreshToken.builder()
+                .tokenHash("old-hash").familyId("family-1").familyCreatedAt(Instant.now())
+                .email(testEmail).idRole(testRoleId).usedAt(Instant.now())
+                .build();
+        when(refreshTokenUtils.hash("old-token")).thenReturn("old-hash");
+        when(refreshTokenRepository.consumeRefreshToken("old-hash")).thenReturn(Mono.just(consumed));
+        when(refreshTokenUtils.maxLifetime()).thenReturn(Duration.ofDays(90));
+        when(userRepository.findCredentialsByEmail(testEmail)).thenReturn(Mono.empty());
+        when(refreshTokenRepository.revokeRefreshTokenFamily("family-1")).thenReturn(Mono.empty());
+
+        StepVerifier.create(useCase.refresh("old-token"))
+                .expectError(InvalidRefreshTokenException.class)
+                .verify();
+
+        verify(refreshTokenRepository).revokeRefreshTokenFamily("family-1");
+        verify(jwtUtilsAuth, never()).generate(any(), any(), any());
+    }
+
+    @Test
+    @DisplayName("should revoke the whole family when an already used refresh token is presented")
+    void refresh_ReusedToken_RevokesFamily() {
+        RefreshToken used = RefreshToken.builder()
+                .tokenHash("old-hash").familyId("family-1").usedAt(Instant.now())
+                .build();
+        when(refreshTokenUtils.hash("old-token")).thenReturn("old-hash");
+        when(refreshTokenRepository.consumeRefreshToken("old-hash")).thenReturn(Mono.empty());
+        when(refreshTokenRepository.findRefreshTokenByHash("old-hash")).thenReturn(Mono.just(used));
+        when(refreshTokenRepository.revokeRefreshTokenFamily("family-1")).thenReturn(Mono.empty());
+
+        StepVerifier.create(useCase.refresh("old-token"))
+                .expectErrorMatches(throwable -> throwable instanceof InvalidRefreshTokenException
+                        && throwable.getMessage().contains("reutilizado"))
+                .verify();
+
+        verify(refreshTokenRepository).revokeRefreshTokenFamily("family-1");
+        verify(jwtUtilsAuth, never()).generate(any(), any(), any());
+    }
+
+    @Test
+    @DisplayName("should reject an expired or unknown refresh token without revoking anything")
+    void refresh_ExpiredOrUnknownToken_Rejected() {
+        RefreshToken expired = RefreshToken.builder()
+                .tokenHash("expired-hash").familyId("family-1").expiresAt(Instant.now().minusSeconds(1))
+                .build();
+        when(refreshTokenUtils.hash("expired-token")).thenReturn("expired-hash");
+        when(refreshTokenUtils.hash("unknown-token")).thenReturn("unknown-hash");
+        when(refreshTokenRepository.consumeRefreshToken(any())).thenReturn(Mono.empty());
+        when(refreshTokenRepository.findRefreshTokenByHash("expired-hash")).thenReturn(Mono.just(expired));
+        when(refreshTokenRepository.findRefreshTokenByHash("unknown-hash")).thenReturn(Mono.empty());
+
+        StepVerifier.create(useCase.refresh("expired-token"))
+                .expectErrorMatches(throwable -> throwable.getMessage().equals("Refresh token expirado"))
+                .verify();
+        StepVerifier.create(useCase.refresh("unknown-token"))
+                .expectErrorMatches(throwable -> throwable.getMessage().equals("Refresh token inválido"))
+                .verify();
+
+        verify(refreshTokenRepository, never()).revokeRefreshTokenFamily(any());
+    }
+
+    @Test
+    @DisplayName("should keep deleting expired refresh tokens in batches until a batch comes back short")
+    void purgeExpired_DeletesInBatches() {
+        when(refreshTokenRepository.deleteExpiredRefreshTokens(100))
+                .thenReturn(Mono.just(100L), Mono.just(100L), Mono.just(7L));
+
+        StepVerifier.create(useCase.purgeExpired(100))
+                .expectNext(207L)
+                .verifyComplete();
+
+        verify(refreshTokenRepository, times(3)).deleteExpiredRefreshTokens(100);
+    }
+}
@@ -1,10 +1,10 @@
 package co.com.sti.usecase.resgisteruser;
 
+import co.com.sti.model.user.DuplicateUserException;
 import co.com.sti.model.user.User;
 import co.com.sti.model.user.gateways.UserRepository;
 import co.com.sti.usecase.exceptios.InvalidUserDataException;
 import co.com.sti.usecase.exceptios.UserAlreadyExistsException;
-import co.com.sti.usecase.transaction.TransactionExecutor;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -16,7 +16,6 @@ import reactor.core.publisher.Mono;
 import reactor.test.StepVerifier;
 
 import java.math.BigDecimal;
-import java.util.function.Supplier;
 
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.*;
@@ -30,11 +29,7 @@ class ResgisterUserUseCaseTest {
     @Mock
     private UserRepository userRepository;
 
-    @Mock
-    private TransactionExecutor transactionExecutor;
-
     private User testUser;
-    private User existingUser;
 
     @BeforeEach
     void setup() {
@@ -44,41 +39,28 @@ class ResgisterUserUseCaseTest {
                 .email("john.doe@example.com")
                 .salary(new BigDecimal(700000))
                 .build();
-
-        existingUser = User.builder()
-                .name("Jane Smith")
-                .numberIdentity("987654321")
-                .email("jane.smith@example.com")
-                .build();
-
-        when(transactionExecutor.executeInTransaction(any(Supplier.class)))
-                .thenAnswer(invocation -> {
-                    Supplier<?> supplier = invocation.getArgument(0);
-                    return supplier.get();
-                });
     }
 
     @Test
-    @DisplayName("should register a new user successfully when no existing user is found")
+    @DisplayName("should register a new user with a single insert and no existence queries")
     void testRegisterUser_success() {
-        when(userRepository.findUserByNumberIdentity(anyString())).thenReturn(Mono.empty());
-        when(userRepository.findUserByEmail(anyString())).thenReturn(Mono.empty());
-        when(userRepository.saveUser(any(User.class))).thenReturn(Mono.empty());
+        when(userRepository.saveUser(any(User.class))).thenReturn(Mono.just(testUser));
 
         Mono<User> result = useCase.registerUser(testUser);
 
         StepVerifier.create(result)
+                .expectNext(testUser)
                 .verifyComplete();
 
-        verify(userRepository).findUserByNumberIdentity(testUser.getNumberIdentity());
-        verify(userRepository).findUserByEmail(testUser.getEmail());
         verify(userRepository).saveUser(testUser);
+        verifyNoMoreInteractions(userRepository);
     }
 
     @Test
-    @DisplayName("should throw UserAlreadyExistsException when user with same identity number exists")
+    @DisplayName("should throw UserAlreadyExistsException when the identity number constraint is violated")
     void testRegisterUser_identityNumberExists() {
-        when(userRepository.findUserByNumberIdentity(anyString())).thenReturn(Mono.just(existingUser));
+        when(userRepository.saveUser(any(User.class)))
+                .thenReturn(Mono.error(new DuplicateUserException(DuplicateUserException.Field.NUMBER_IDENTITY)));
 
         Mono<User> result = useCase.registerUser(testUser);
 
@@ -89,16 +71,14 @@ class ResgisterUserUseCaseTest {
                 )
                 .verify();
 
-        verify(userRepository, times(1)).findUserByNumberIdentity(testUser.getNumberIdentity());
-        verify(userRepository, never()).findUserByEmail(anyString());
-        verify(userRepository, never()).saveUser(any(User.class));
+        verify(userRepository, times(1)).saveUser(testUser);
     }
 
     @Test
-    @DisplayName("should throw UserAlreadyExistsException when user with same email exists")
+    @DisplayName("should throw UserAlreadyExistsException when the email constraint is violated")
     void testRegisterUser_emailExists() {
-        when(userRepository.findUserByNumberIdentity(anyString())).thenReturn(Mono.empty());
-        when(userRepository.findUserByEmail(anyString())).thenReturn(Mono.just(existingUser));
+        when(userRepository.saveUser(any(User.class)))
+                .thenReturn(Mono.error(new DuplicateUserException(DuplicateUserException.Field.EMAIL)));
 
         Mono<User> result = useCase.registerUser(testUser);
 
@@ -109,9 +89,7 @@ class ResgisterUserUseCaseTest {
                 )
                 .verify();
 
-        verify(userRepository, times(1)).findUserByNumberIdentity(testUser.getNumberIdentity());
-        verify(userRepository, times(1)).findUserByEmail(testUser.getEmail());
-        verify(userRepository, never()).saveUser(any(User.class));
+        verify(userRepository, times(1)).saveUser(testUser);
     }
 
     @Test
@@ -133,9 +111,7 @@ class ResgisterUserUseCaseTest {
                 )
                 .verify();
 
-        verify(userRepository, times(0)).findUserByNumberIdentity(userWithHighSalary.getNumberIdentity());
-        verify(userRepository, times(0)).findUserByEmail(userWithHighSalary.getEmail());
-        verify(userRepository, never()).saveUser(any(User.class));
+        verifyNoInteractions(userRepository);
     }
 
     @Test
@@ -157,9 +133,7 @@ class ResgisterUserUseCaseTest {
                 )
                 .verify();
 
-        verify(userRepository, never()).findUserByNumberIdentity(anyString());
-        verify(userRepository, never()).findUserByEmail(anyString());
-        verify(userRepository, never()).saveUser(any(User.class));
+        verifyNoInteractions(userRepository);
     }
 
 }
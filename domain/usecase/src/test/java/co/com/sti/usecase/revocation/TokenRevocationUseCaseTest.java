@@ -0,0 +1,200 @@
+package co.com.sti.usecase.revocation;
+
+import co.com.sti.model.refreshtoken.RefreshToken;
+import co.com.sti.model.refreshtoken.gateways.RefreshTokenRepository;
+import co.com.sti.model.revocation.RevokedToken;
+import co.com.sti.model.revocation.TokenEpoch;
+import co.com.sti.model.revocation.gateways.TokenRevocationRepository;
+import co.com.sti.model.user.UserCredentials;
+import co.com.sti.model.user.gateways.UserRepository;
+import co.com.sti.usecase.authentication.jwt.IJwtUtilsAuth;
+import co.com.sti.usecase.authentication.refresh.IRefreshTokenUtils;
+import co.com.sti.usecase.exceptios.InvalidRefreshTokenException;
+import co.com.sti.usecase.exceptios.InvalidUserDataException;
+import co.com.sti.usecase.refreshtoken.RefreshTokenUseCase;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class TokenRevocationUseCaseTest {
+
+    @InjectMocks
+    private TokenRevocationUseCase useCase;
+
+    @Mock
+    private TokenRevocationRepository tokenRevocationRepository;
+
+    @Mock
+    private RefreshTokenRepository refreshTokenRepository;
+
+    private final String testEmail = "test@example.com";
+
+    @Test
+    @DisplayName("should persist the revocation of a token that has not expired yet")
+    void revokeToken_ActiveToken_Persisted() {
+        Instant expiresAt = Instant.now().plusSeconds(600);
+        when(tokenRevocationRepository.saveRevokedToken(any())).thenAnswer(invocation -> Mono.just(invocation.getArgument(0)));
+
+        StepVerifier.create(useCase.revokeToken("jti-1", testEmail, expiresAt))
+                .assertNext(revoked -> {
+                    assertEquals("jti-1", revoked.getJti());
+                    assertEquals(testEmail, revoked.getEmail());
+                    assertEquals(expiresAt, revoked.getExpiresAt());
+                })
+                .verifyComplete();
+    }
+
+    @Test
+    @DisplayName("should ignore expired tokens and reject tokens without jti")
+    void revokeToken_ExpiredOrWithoutJti_NotPersisted() {
+        StepVerifier.create(useCase.revokeToken("jti-1", testEmail, Instant.now().minusSeconds(1)))
+                .verifyComplete();
+        StepVerifier.create(useCase.revokeToken(null, testEmail, Instant.now().plusSeconds(600)))
+                .expectError(InvalidUserDataException.class)
+                .verify();
+
+        verify(tokenRevocationRepository, never()).saveRevokedToken(any(RevokedToken.class));
+    }
+
+    @Test
+    @DisplayName("should make only the logged-out session's refresh token unusable")
+    void logout_RefreshFailsAfterwardsOnlyForThatSession() {
+        InMemoryRefreshTokenRepository refreshTokens = new InMemoryRefreshTokenRepository();
+        IRefreshTokenUtils refreshTokenUtils = mock(IRefreshTokenUtils.class);
+        when(refreshTokenUtils.generate()).thenReturn("refresh-1", "refresh-2", "refresh-3");
+        when(refreshTokenUtils.hash(anyString())).thenAnswer(invocation -> "hash-" + invocation.getArgument(0));
+        when(refreshTokenUtils.timeToLive()).thenReturn(Duration.ofDays(1));
+        when(refreshTokenUtils.maxLifetime()).thenReturn(Duration.ofDays(30));
+        when(tokenRevocationRepository.saveRevokedToken(any())).thenAnswer(invocation -> Mono.just(invocation.getArgument(0)));
+        UserRepository userRepository = mock(UserRepository.class);
+        when(userRepository.findCredentialsByEmail(testEmail))
+                .thenReturn(Mono.just(UserCredentials.builder().email(testEmail).idRole(3).build()));
+        RefreshTokenUseCase refreshTokenUseCase = new RefreshTokenUseCase(refreshTokens, userRepository,
+                mock(IJwtUtilsAuth.class), refreshTokenUtils);
+        TokenRevocationUseCase logoutUseCase = new TokenRevocationUseCase(tokenRevocationRepository, refreshTokens);
+
+        String loggedOut = refreshTokenUseCase.issue("sesion-1", testEmail, 3).block();
+        String otherDevice = refreshTokenUseCase.issue("sesion-2", testEmail, 3).block();
+        StepVerifier.create(logoutUseCase.logout("jti-1", "sesion-1", testEmail, Instant.now().plusSeconds(600)))
+                .expectNextCount(1)
+                .verifyComplete();
+
+        StepVerifier.create(refreshTokenUseCase.refresh(loggedOut))
+                .expectError(InvalidRefreshTokenException.class)
+                .verify();
+        StepVerifier.create(refreshTokenUseCase.refresh(otherDevice))
+                .expectNextCount(1)
+                .verifyComplete();
+    }
+
+    @Test
+    @DisplayName("should drop every refresh token of the user when the access token carries no session id")
+    void logout_WithoutSessionId_RevokesAllRefreshTokens() {
+        when(refreshTokenRepository.revokeRefreshTokensByEmail(testEmail)).thenReturn(Mono.empty());
+        when(tokenRevocationRepository.saveRevokedToken(any())).thenAnswer(invocation -> Mono.just(invocation.getArgument(0)));
+
+        StepVerifier.create(useCase.logout("jti-1", null, testEmail, Instant.now().plusSeconds(600)))
+                .expectNextCount(1)
+                .verifyComplete();
+
+        verify(refreshTokenRepository, never()).revokeRefreshTokenFamily(anyString());
+    }
+
+    @Test
+    @DisplayName("should drop the user's refresh tokens and store a second-aligned epoch")
+    void revokeAllForUser_RevokesRefreshTokensAndStoresEpoch() {
+        when(refreshTokenRepository.revokeRefreshTokensByEmail(testEmail)).thenReturn(Mono.empty());
+        when(tokenRevocationRepository.saveTokenEpoch(any())).thenAnswer(invocation -> Mono.just(invocation.getArgument(0)));
+
+        StepVerifier.create(useCase.revokeAllForUser(testEmail))
+                .assertNext(epoch -> {
+                    assertEquals(testEmail, epoch.getEmail());
+                    assertEquals(0, epoch.getNotBefore().getNano());
+                    assertFalse(epoch.getNotBefore().isAfter(Instant.now()));
+                })
+                .verifyComplete();
+
+        ArgumentCaptor<TokenEpoch> captor = ArgumentCaptor.forClass(TokenEpoch.class);
+        var order = inOrder(refreshTokenRepository, tokenRevocationRepository);
+        order.verify(refreshTokenRepository).revokeRefreshTokensByEmail(testEmail);
+        order.verify(tokenRevocationRepository).saveTokenEpoch(captor.capture());
+        assertEquals(testEmail, captor.getValue().getEmail());
+    }
+
+    @Test
+    @DisplayName("should keep deleting expired revocations in batches until a batch comes back short")
+    void purgeExpired_DeletesInBatches() {
+        when(tokenRevocationRepository.deleteExpiredRevokedTokens(50))
+                .thenReturn(Mono.just(50L), Mono.just(3L));
+
+        StepVerifier.create(useCase.purgeExpired(50))
+                .expectNext(53L)
+                .verifyComplete();
+
+        verify(tokenRevocationRepository, times(2)).deleteExpiredRevokedTokens(50);
+    }
+
+    // Repositorio en memoria para recorrer login, logout y refresh sin base de datos
+    private static class InMemoryRefreshTokenRepository implements RefreshTokenRepository {
+        private final Map<String, RefreshToken> tokens = new ConcurrentHashMap<>();
+
+        @Override
+        public Mono<RefreshToken> saveRefreshToken(RefreshToken refreshToken) {
+            tokens.put(refreshToken.getTokenHash(), refreshToken);
+            return Mono.just(refreshToken);
+        }
+
+        @Override
+        public Mono<RefreshToken> consumeRefreshToken(String tokenHash) {
+            RefreshToken stored = tokens.get(tokenHash);
+            if (stored == null || stored.getUsedAt() != null || !stored.getExpiresAt().isAfter(Instant.now())) {
+                return Mono.empty();
+            }
+            stored.setUsedAt(Instant.now());
+            return Mono.just(stored);
+        }
+
+        @Override
+        public Mono<RefreshToken> findRefreshTokenByHash(String tokenHash) {
+            return Mono.justOrEmpty(tokens.get(tokenHash));
+        }
+
+        @Override
+        public Mono<Void> revokeRefreshTokenFamily(String familyId) {
+            return Mono.fromRunnable(() -> tokens.values().removeIf(token -> token.getFamilyId().equals(familyId)));
+        }
+
+        @Override
+        public Mono<Void> revokeRefreshTokensByEmail(String email) {
+            return Mono.fromRunnable(() -> tokens.values().removeIf(token -> token.getEmail().equals(email)));
+        }
+
+        @Override
+        public Mono<Long> deleteExpiredRefreshTokens(int batchSize) {
+            return Mono.just(0L);
+        }
+    }
+}
@@ -1,17 +1,20 @@
 package co.com.sti.usecase.searchuser;
 
 import co.com.sti.model.user.User;
+import co.com.sti.model.user.UserProfile;
 import co.com.sti.model.user.gateways.UserRepository;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.Assertions;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 import reactor.test.StepVerifier;
 
-import java.math.BigDecimal;
+import java.util.List;
 
 import static org.mockito.Mockito.*;
 
@@ -25,41 +28,65 @@ public class SearchUserUseCaseTest {
     private SearchUserUseCase useCase;
 
     @Test
-    @DisplayName("should return a user when identification exists")
-    void testGetUserByIdentification_userFound() {
+    @DisplayName("should return the row version used as ETag when identification exists")
+    void testGetUserVersion_userFound() {
         String identification = "123456789";
-        User mockUser = User.builder()
-                .name("Test User")
-                .numberIdentity(identification)
-                .email("test.user@example.com")
-                .salary(new BigDecimal("10000000"))
-                .build();
 
-        when(userRepository.findUserByNumberIdentity(identification)).thenReturn(Mono.just(mockUser));
+        when(userRepository.findVersionByNumberIdentity(identification)).thenReturn(Mono.just(4L));
 
-        Mono<User> result = useCase.getUserbyIdentification(identification);
-
-        StepVerifier.create(result)
-                .expectNext(mockUser)
+        StepVerifier.create(useCase.getUserVersion(identification))
+                .expectNext(4L)
                 .verifyComplete();
 
-        verify(userRepository, times(1)).findUserByNumberIdentity(identification);
+        verify(userRepository, times(1)).findVersionByNumberIdentity(identification);
     }
 
     @Test
     @DisplayName("should return an empty mono when identification does not exist")
-    void testGetUserByIdentification_userNotFound() {
+    void testGetUserProfile_userNotFound() {
         String identification = "987654321";
 
-        when(userRepository.findUserByNumberIdentity(anyString())).thenReturn(Mono.empty());
+        when(userRepository.findProfileByNumberIdentity(anyString())).thenReturn(Mono.empty());
 
-        Mono<User> result = useCase.getUserbyIdentification(identification);
+        Mono<UserProfile> result = useCase.getUserProfile(identification);
 
         StepVerifier.create(result)
                 .expectNextCount(0) // Expect 0 elements
                 .verifyComplete(); // The Mono should complete successfully
 
-        verify(userRepository, times(1)).findUserByNumberIdentity(identification);
+        verify(userRepository, times(1)).findProfileByNumberIdentity(identification);
+    }
+
+    @Test
+    @DisplayName("should read the public profile instead of the full user")
+    void testGetUserProfile_usesProjection() {
+        UserProfile profile = UserProfile.builder().name("Test User").numberIdentity("123456789").build();
+        when(userRepository.findProfileByNumberIdentity("123456789")).thenReturn(Mono.just(profile));
+
+        StepVerifier.create(useCase.getUserProfile("123456789"))
+                .expectNext(profile)
+                .verifyComplete();
+
+        verify(userRepository, times(1)).findProfileByNumberIdentity("123456789");
+    }
+
+    @Test
+    @DisplayName("should resolve identities and emails with one query and report the missing keys")
+    void testGetUsersByKeys_partialResult() {
+        User byIdentity = User.builder().numberIdentity("111").email("uno@example.com").build();
+        User byEmail = User.builder().numberIdentity("222").email("dos@example.com").build();
+        when(userRepository.findUsersByIdentitiesOrEmails(List.of("111", "999"), List.of("dos@example.com")))
+                .thenReturn(Flux.just(byEmail, byIdentity));
+
+        StepVerifier.create(useCase.getUsersByKeys(List.of("111", "999", "111", " "), List.of("dos@example.com")))
+                .assertNext(lookup -> {
+                    Assertions.assertEquals(List.of("111", "dos@example.com"), List.copyOf(lookup.getFound().keySet()));
+                    Assertions.assertSame(byIdentity, lookup.getFound().get("111"));
+                    Assertions.assertEquals(List.of("999"), lookup.getMissing());
+                })
+                .verifyComplete();
+
+        verify(userRepository, times(1)).findUsersByIdentitiesOrEmails(anyList(), anyList());
     }
 
 }
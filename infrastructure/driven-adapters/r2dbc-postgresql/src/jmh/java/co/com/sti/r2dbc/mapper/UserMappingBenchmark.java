@@ -0,0 +1,83 @@
+package co.com.sti.r2dbc.mapper;
+
+import co.com.sti.model.user.User;
+import co.com.sti.r2dbc.entity.UserEntity;
+import org.mapstruct.factory.Mappers;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.reactivecommons.utils.ObjectMapper;
+import org.reactivecommons.utils.ObjectMapperImp;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compara el mapeo por fila entre {@link UserEntity} y {@link User} con el ObjectMapper por reflexión que usaba
+ * el adaptador frente al mapper generado por MapStruct. El throughput equivale a filas por segundo por núcleo y
+ * el profiler de GC (gc.alloc.rate.norm) reporta los bytes asignados por fila.
+ * Ejecutar con: ./gradlew :r2dbc-postgresql:jmh -PjmhInclude=UserMappingBenchmark
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@State(Scope.Thread)
+@Threads(1)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class UserMappingBenchmark {
+
+    private ObjectMapper reflectionMapper;
+    private UserEntityMapper generatedMapper;
+    private UserEntity userEntity;
+    private User user;
+
+    @Setup
+    public void setUp() {
+        reflectionMapper = new ObjectMapperImp();
+        generatedMapper = Mappers.getMapper(UserEntityMapper.class);
+        userEntity = UserEntity.builder()
+                .id(42L)
+                .name("Ana")
+                .lastName("Gómez")
+                .email("ana.gomez@empresa.com")
+                .password("$argon2id$v=19$m=19456,t=2,p=1$c2FsdHNhbHRzYWx0$aGFzaGhhc2hoYXNoaGFzaGhhc2hoYXNo")
+                .numberIdentity("1020304050")
+                .birthDate(LocalDate.of(1990, 5, 17))
+                .phoneNumber("3001234567")
+                .address("Calle 10 # 20-30")
+                .idRole(3L)
+                .salary(new BigDecimal("4500000.00"))
+                .build();
+        user = generatedMapper.toModel(userEntity);
+    }
+
+    @Benchmark
+    public User reflectionToModel() {
+        return reflectionMapper.map(userEntity, User.class);
+    }
+
+    @Benchmark
+    public User generatedToModel() {
+        return generatedMapper.toModel(userEntity);
+    }
+
+    @Benchmark
+    public UserEntity reflectionToData() {
+        return reflectionMapper.map(user, UserEntity.class);
+    }
+
+    @Benchmark
+    public UserEntity generatedToData() {
+        return generatedMapper.toData(user);
+    }
+}
@@ -1,13 +1,46 @@
 package co.com.sti.r2dbc;
 
 import co.com.sti.r2dbc.entity.UserEntity;
+import org.springframework.data.r2dbc.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.data.repository.query.ReactiveQueryByExampleExecutor;
 import org.springframework.data.repository.reactive.ReactiveCrudRepository;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
+import java.time.Instant;
+
 // TODO: This file is just an example, you should delete or modify it
 public interface MyReactiveRepository extends ReactiveCrudRepository<UserEntity, Long>, ReactiveQueryByExampleExecutor<UserEntity> {
     Mono<UserEntity> findByEmail(String email);
 
-    Mono<UserEntity> findByNumberIdentity(String numberIdentity);
+    // Proyección del inicio de sesión: la resuelve solo el índice cubriente usuario_email_key
+    @Query("SELECT nombre, apellido, email, password, id_rol FROM usuario WHERE email = :email")
+    Mono<UserEntity> findCredentialsByEmail(@Param("email") String email);
+
+    // Consulta pública por documento: todas las columnas menos password
+    @Query("SELECT nombre, apellido, email, documento_identidad, fecha_nacimiento, telefono, direccion, id_rol, salario_base, version "
+            + "FROM usuario WHERE documento_identidad = :numberIdentity")
+    Mono<UserEntity> findProfileByNumberIdentity(@Param("numberIdentity") String numberIdentity);
+
+    // Revalidación de ETag: la resuelve solo el índice usuario_documento_identidad_key, que incluye version
+    @Query("SELECT version FROM usuario WHERE documento_identidad = :numberIdentity")
+    Mono<Long> findVersionByNumberIdentity(@Param("numberIdentity") String numberIdentity);
+
+    // Devuelve el documento para que la caché invalide también la entrada por identidad sin buscarla
+    @Query("UPDATE usuario SET password = :password WHERE email = :email RETURNING documento_identidad")
+    Mono<String> updatePasswordByEmail(@Param("email") String email, @Param("password") String password);
+
+    // Búsqueda por lote sin password; cada condición usa su índice único y Postgres las combina con un BitmapOr
+    @Query("SELECT id, nombre, apellido, email, documento_identidad, fecha_nacimiento, telefono, direccion, id_rol, salario_base "
+            + "FROM usuario WHERE documento_identidad = ANY(:identities) OR email = ANY(:emails)")
+    Flux<UserEntity> findByIdentitiesOrEmails(@Param("identities") String[] identities, @Param("emails") String[] emails);
+
+    // Solo las columnas que indexa el filtro de usuarios, con el momento de alta que le sirve de marca de agua
+    @Query("SELECT id, email, documento_identidad, creado_en FROM usuario WHERE id > :afterId ORDER BY id")
+    Flux<UserEntity> findIdentifiersAfter(@Param("afterId") long afterId);
+
+    // Altas desde un instante; la resuelve el índice usuario_creado_en_idx
+    @Query("SELECT id, email, documento_identidad, creado_en FROM usuario WHERE creado_en >= :since")
+    Flux<UserEntity> findIdentifiersCreatedSince(@Param("since") Instant since);
 }
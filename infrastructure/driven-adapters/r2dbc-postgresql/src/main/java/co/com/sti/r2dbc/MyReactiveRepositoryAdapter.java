@@ -1,14 +1,29 @@
 package co.com.sti.r2dbc;
 
+import co.com.sti.model.user.DuplicateUserException;
 import co.com.sti.model.user.User;
+import co.com.sti.model.user.UserCredentials;
+import co.com.sti.model.user.UserFilter;
+import co.com.sti.model.user.UserPage;
+import co.com.sti.model.user.UserProfile;
+import co.com.sti.model.user.UserSaveOutcome;
 import co.com.sti.model.user.gateways.UserRepository;
+import co.com.sti.r2dbc.batch.IdentityLookupBatcher;
+import co.com.sti.r2dbc.batch.UserBatchInserter;
+import co.com.sti.r2dbc.batch.UserStreamReader;
 import co.com.sti.r2dbc.entity.UserEntity;
 import co.com.sti.r2dbc.helper.ReactiveAdapterOperations;
+import co.com.sti.r2dbc.mapper.UserEntityMapper;
+import co.com.sti.r2dbc.query.UserPageQuery;
+import co.com.sti.r2dbc.routing.Workload;
+import io.r2dbc.postgresql.api.PostgresqlException;
 import lombok.extern.slf4j.Slf4j;
-import org.reactivecommons.utils.ObjectMapper;
 import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
+import java.util.List;
+
 @Repository
 @Slf4j
 public class MyReactiveRepositoryAdapter extends ReactiveAdapterOperations<
@@ -17,35 +32,86 @@ public class MyReactiveRepositoryAdapter extends ReactiveAdapterOperations<
         Long,
         MyReactiveRepository
         > implements UserRepository {
-    public MyReactiveRepositoryAdapter(MyReactiveRepository repository, ObjectMapper mapper) {
 
-        super(repository, mapper, d -> mapper.map(d, User.class));
+    private static final String UNIQUE_VIOLATION = "23505";
+    private static final String EMAIL_CONSTRAINT = "usuario_email_key";
+    private static final String NUMBER_IDENTITY_CONSTRAINT = "usuario_documento_identidad_key";
+
+    private final UserEntityMapper userEntityMapper;
+    private final UserBatchInserter userBatchInserter;
+    private final UserStreamReader userStreamReader;
+    private final UserPageQuery userPageQuery;
+    private final IdentityLookupBatcher identityLookupBatcher;
+
+    public MyReactiveRepositoryAdapter(MyReactiveRepository repository, UserEntityMapper userEntityMapper,
+                                       UserBatchInserter userBatchInserter, UserStreamReader userStreamReader,
+                                       UserPageQuery userPageQuery, IdentityLookupBatcher identityLookupBatcher) {
+        super(repository, userEntityMapper::toData, userEntityMapper::toModel);
+        this.userEntityMapper = userEntityMapper;
+        this.userBatchInserter = userBatchInserter;
+        this.userStreamReader = userStreamReader;
+        this.userPageQuery = userPageQuery;
+        this.identityLookupBatcher = identityLookupBatcher;
     }
 
     @Override
     public Mono<User> saveUser(User user) {
-        UserEntity userEntity = mapper.map(user, UserEntity.class);
-        return repository.save(userEntity)
+        UserEntity userEntity = toData(user);
+        return Workload.WRITE.route(repository.save(userEntity))
+                .onErrorMap(MyReactiveRepositoryAdapter::translateDuplicate)
                 .doOnNext(u -> log.info("Nuevo usuario registrado con ID:'{}'", u.getId()))
-                .map(savedUser -> mapper.map(savedUser, User.class));
+                .map(this::toEntity);
     }
 
     @Override
-    public Mono<User> findUserByNumberIdentity(String numberIdentity) {
-        return repository.findByNumberIdentity(numberIdentity)
-                .doOnSuccess(u -> {
-                    if (u != null) {
-                        log.warn("Existe un usuario registrado con el Número de identificación dado, ID:'{}'", u.getId());
-                    } else {
-                        log.info("No existe usuario registrado con el Número de identificación: '{}'", numberIdentity);
-                    }
-                })
-                .map(u -> mapper.map(u, User.class));
+    public Flux<UserSaveOutcome> saveUsers(List<User> users) {
+        return Workload.BULK.route(userBatchInserter.insert(users));
+    }
+
+    @Override
+    public Flux<User> exportUsers() {
+        return Workload.BULK.route(userStreamReader.streamAll());
+    }
+
+    @Override
+    public Mono<UserPage> findUsers(UserFilter filter) {
+        return Workload.LOOKUP.route(userPageQuery.findPage(filter));
+    }
+
+    // Traduce la violación de UNIQUE según la restricción que la produjo; cualquier otro error se propaga igual
+    private static Throwable translateDuplicate(Throwable error) {
+        for (Throwable cause = error; cause != null; cause = cause.getCause()) {
+            if (cause instanceof PostgresqlException postgresqlException
+                    && UNIQUE_VIOLATION.equals(postgresqlException.getErrorDetails().getCode())) {
+                String constraint = postgresqlException.getErrorDetails().getConstraintName().orElse("");
+                log.warn("Registro rechazado por la restricción '{}'", constraint);
+                return switch (constraint) {
+                    case EMAIL_CONSTRAINT -> new DuplicateUserException(DuplicateUserException.Field.EMAIL);
+                    case NUMBER_IDENTITY_CONSTRAINT -> new DuplicateUserException(DuplicateUserException.Field.NUMBER_IDENTITY);
+                    default -> error;
+                };
+            }
+        }
+        return error;
+    }
+
+    @Override
+    public Mono<UserProfile> findProfileByNumberIdentity(String numberIdentity) {
+        if (identityLookupBatcher.isEnabled()) {
+            return identityLookupBatcher.load(numberIdentity);
+        }
+        return Workload.LOOKUP.route(repository.findProfileByNumberIdentity(numberIdentity))
+                .map(userEntityMapper::toProfile);
+    }
+
+    @Override
+    public Mono<Long> findVersionByNumberIdentity(String numberIdentity) {
+        return Workload.LOOKUP.route(repository.findVersionByNumberIdentity(numberIdentity));
     }
 
     @Override
     public Mono<User> findUserByEmail(String email) {
-        return repository.findByEmail(email)
+        return Workload.LOOKUP.route(repository.findByEmail(email))
                 .doOnSuccess(u -> {
                     if (u != null) {
                         log.warn("Existe un usuario registrado con el Email dado, ID:'{}'", u.getId());
@@ -53,6 +119,29 @@ public class MyReactiveRepositoryAdapter extends ReactiveAdapterOperations<
                         log.info("No existe usuario registrado con el Email: '{}'", email);
                     }
                 })
-                .map(u -> mapper.map(u, User.class));
+                .map(this::toEntity);
+    }
+
+    @Override
+    public Flux<User> findUsersByIdentitiesOrEmails(List<String> numberIdentities, List<String> emails) {
+        return Workload.LOOKUP.route(repository.findByIdentitiesOrEmails(numberIdentities.toArray(String[]::new), emails.toArray(String[]::new)))
+                .map(this::toEntity);
+    }
+
+    @Override
+    public Mono<UserCredentials> findCredentialsByEmail(String email) {
+        return Workload.LOGIN.route(repository.findCredentialsByEmail(email))
+                .map(userEntityMapper::toCredentials);
+    }
+
+    @Override
+    public Mono<Void> updatePassword(String email, String hashedPassword) {
+        return updatePasswordReturningIdentity(email, hashedPassword).then();
+    }
+
+    // Documento de identidad del usuario actualizado, o vacío si el email no existe
+    public Mono<String> updatePasswordReturningIdentity(String email, String hashedPassword) {
+        return Workload.LOGIN.route(repository.updatePasswordByEmail(email, hashedPassword))
+                .doOnNext(numberIdentity -> log.info("Contraseña re-hasheada para el usuario con Email: '{}'", email));
     }
 }
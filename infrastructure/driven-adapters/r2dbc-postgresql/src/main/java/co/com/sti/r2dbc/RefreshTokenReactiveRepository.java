@@ -0,0 +1,29 @@
+package co.com.sti.r2dbc;
+
+import co.com.sti.r2dbc.entity.RefreshTokenEntity;
+import org.springframework.data.r2dbc.repository.Modifying;
+import org.springframework.data.r2dbc.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.data.repository.reactive.ReactiveCrudRepository;
+import reactor.core.publisher.Mono;
+
+public interface RefreshTokenReactiveRepository extends ReactiveCrudRepository<RefreshTokenEntity, Long> {
+    Mono<RefreshTokenEntity> findByTokenHash(String tokenHash);
+
+    // Marca y devuelve el token en un único acceso por el índice único de token_hash; dos refresh concurrentes
+    // con el mismo token no pueden consumirlo ambos
+    @Query("UPDATE refresh_token SET usado_en = now() WHERE token_hash = :tokenHash AND usado_en IS NULL AND expira_en > now() RETURNING *")
+    Mono<RefreshTokenEntity> consumeByTokenHash(@Param("tokenHash") String tokenHash);
+
+    @Modifying
+    @Query("DELETE FROM refresh_token WHERE familia = :familyId")
+    Mono<Integer> deleteByFamilyId(@Param("familyId") String familyId);
+
+    @Modifying
+    @Query("DELETE FROM refresh_token WHERE email = :email")
+    Mono<Integer> deleteByEmail(@Param("email") String email);
+
+    @Modifying
+    @Query("DELETE FROM refresh_token WHERE id IN (SELECT id FROM refresh_token WHERE expira_en < now() LIMIT :limit)")
+    Mono<Integer> deleteExpiredBatch(@Param("limit") int limit);
+}
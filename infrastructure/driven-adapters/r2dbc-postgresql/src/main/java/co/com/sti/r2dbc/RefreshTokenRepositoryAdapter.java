@@ -0,0 +1,80 @@
+package co.com.sti.r2dbc;
+
+import co.com.sti.model.refreshtoken.RefreshToken;
+import co.com.sti.model.refreshtoken.gateways.RefreshTokenRepository;
+import co.com.sti.r2dbc.entity.RefreshTokenEntity;
+import co.com.sti.r2dbc.routing.Workload;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Mono;
+
+@Repository
+@Slf4j
+@RequiredArgsConstructor
+public class RefreshTokenRepositoryAdapter implements RefreshTokenRepository {
+
+    private final RefreshTokenReactiveRepository repository;
+
+    @Override
+    public Mono<RefreshToken> saveRefreshToken(RefreshToken refreshToken) {
+        return Workload.LOGIN.route(repository.save(toEntity(refreshToken)))
+                .map(RefreshTokenRepositoryAdapter::toModel);
+    }
+
+    @Override
+    public Mono<RefreshToken> consumeRefreshToken(String tokenHash) {
+        return Workload.LOGIN.route(repository.consumeByTokenHash(tokenHash))
+                .map(RefreshTokenRepositoryAdapter::toModel);
+    }
+
+    @Override
+    public Mono<RefreshToken> findRefreshTokenByHash(String tokenHash) {
+        return Workload.LOGIN.route(repository.findByTokenHash(tokenHash))
+                .map(RefreshTokenRepositoryAdapter::toModel);
+    }
+
+    @Override
+    public Mono<Void> revokeRefreshTokenFamily(String familyId) {
+        return Workload.LOGIN.route(repository.deleteByFamilyId(familyId))
+                .doOnNext(rows -> log.warn("Refresh token reutilizado, familia '{}' revocada, filas: {}", familyId, rows))
+                .then();
+    }
+
+    @Override
+    public Mono<Void> revokeRefreshTokensByEmail(String email) {
+        return Workload.LOGIN.route(repository.deleteByEmail(email))
+                .doOnNext(rows -> log.info("Refresh tokens del usuario '{}' revocados, filas: {}", email, rows))
+                .then();
+    }
+
+    @Override
+    public Mono<Long> deleteExpiredRefreshTokens(int batchSize) {
+        return Workload.BULK.route(repository.deleteExpiredBatch(batchSize))
+                .map(Integer::longValue);
+    }
+
+    private static RefreshTokenEntity toEntity(RefreshToken refreshToken) {
+        return RefreshTokenEntity.builder()
+                .tokenHash(refreshToken.getTokenHash())
+                .familyId(refreshToken.getFamilyId())
+                .familyCreatedAt(refreshToken.getFamilyCreatedAt())
+                .email(refreshToken.getEmail())
+                .idRole(refreshToken.getIdRole())
+                .expiresAt(refreshToken.getExpiresAt())
+                .usedAt(refreshToken.getUsedAt())
+                .build();
+    }
+
+    private static RefreshToken toModel(RefreshTokenEntity entity) {
+        return RefreshToken.builder()
+                .tokenHash(entity.getTokenHash())
+                .familyId(entity.getFamilyId())
+                .familyCreatedAt(entity.getFamilyCreatedAt())
+                .email(entity.getEmail())
+                .idRole(entity.getIdRole())
+                .expiresAt(entity.getExpiresAt())
+                .usedAt(entity.getUsedAt())
+                .build();
+    }
+}
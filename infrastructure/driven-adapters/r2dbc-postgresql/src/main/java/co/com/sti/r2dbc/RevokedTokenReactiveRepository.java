@@ -0,0 +1,26 @@
+package co.com.sti.r2dbc;
+
+import co.com.sti.r2dbc.entity.RevokedTokenEntity;
+import org.springframework.data.r2dbc.repository.Modifying;
+import org.springframework.data.r2dbc.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.data.repository.reactive.ReactiveCrudRepository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Instant;
+
+public interface RevokedTokenReactiveRepository extends ReactiveCrudRepository<RevokedTokenEntity, String> {
+
+    // revocado_en lo asigna la base con clock_timestamp() para que todos los nodos compartan un mismo reloj de sincronización
+    @Query("INSERT INTO token_revocado (jti, email, expira_en, revocado_en) VALUES (:jti, :email, :expiresAt, clock_timestamp()) " +
+            "ON CONFLICT (jti) DO UPDATE SET revocado_en = token_revocado.revocado_en RETURNING *")
+    Mono<RevokedTokenEntity> insertRevokedToken(@Param("jti") String jti, @Param("email") String email, @Param("expiresAt") Instant expiresAt);
+
+    @Query("SELECT * FROM token_revocado WHERE revocado_en > :since AND expira_en > now()")
+    Flux<RevokedTokenEntity> findActiveRevokedSince(@Param("since") Instant since);
+
+    @Modifying
+    @Query("DELETE FROM token_revocado WHERE jti IN (SELECT jti FROM token_revocado WHERE expira_en < now() LIMIT :limit)")
+    Mono<Integer> deleteExpiredBatch(@Param("limit") int limit);
+}
@@ -0,0 +1,22 @@
+package co.com.sti.r2dbc;
+
+import co.com.sti.r2dbc.entity.TokenEpochEntity;
+import org.springframework.data.r2dbc.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.data.repository.reactive.ReactiveCrudRepository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Instant;
+
+public interface TokenEpochReactiveRepository extends ReactiveCrudRepository<TokenEpochEntity, String> {
+
+    // Upsert atómico: la época nunca retrocede aunque dos administradores revoquen a la vez
+    @Query("INSERT INTO usuario_token_epoca (email, invalido_hasta, actualizado_en) VALUES (:email, :notBefore, clock_timestamp()) " +
+            "ON CONFLICT (email) DO UPDATE SET invalido_hasta = GREATEST(usuario_token_epoca.invalido_hasta, EXCLUDED.invalido_hasta), " +
+            "actualizado_en = clock_timestamp() RETURNING *")
+    Mono<TokenEpochEntity> upsertEpoch(@Param("email") String email, @Param("notBefore") Instant notBefore);
+
+    @Query("SELECT * FROM usuario_token_epoca WHERE actualizado_en > :since")
+    Flux<TokenEpochEntity> findUpdatedSince(@Param("since") Instant since);
+}
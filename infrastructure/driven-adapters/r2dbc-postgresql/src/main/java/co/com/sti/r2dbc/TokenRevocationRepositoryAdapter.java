@@ -0,0 +1,73 @@
+package co.com.sti.r2dbc;
+
+import co.com.sti.model.revocation.RevokedToken;
+import co.com.sti.model.revocation.TokenEpoch;
+import co.com.sti.model.revocation.gateways.TokenRevocationRepository;
+import co.com.sti.r2dbc.entity.RevokedTokenEntity;
+import co.com.sti.r2dbc.entity.TokenEpochEntity;
+import co.com.sti.r2dbc.routing.Workload;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Instant;
+
+@Repository
+@Slf4j
+@RequiredArgsConstructor
+public class TokenRevocationRepositoryAdapter implements TokenRevocationRepository {
+
+    private final RevokedTokenReactiveRepository revokedTokenRepository;
+    private final TokenEpochReactiveRepository tokenEpochRepository;
+
+    @Override
+    public Mono<RevokedToken> saveRevokedToken(RevokedToken revokedToken) {
+        return Workload.WRITE.route(revokedTokenRepository.insertRevokedToken(revokedToken.getJti(), revokedToken.getEmail(), revokedToken.getExpiresAt()))
+                .doOnNext(entity -> log.info("Token '{}' del usuario '{}' revocado", entity.getJti(), entity.getEmail()))
+                .map(TokenRevocationRepositoryAdapter::toModel);
+    }
+
+    @Override
+    public Mono<TokenEpoch> saveTokenEpoch(TokenEpoch tokenEpoch) {
+        return Workload.WRITE.route(tokenEpochRepository.upsertEpoch(tokenEpoch.getEmail(), tokenEpoch.getNotBefore()))
+                .doOnNext(entity -> log.info("Tokens del usuario '{}' emitidos hasta {} revocados", entity.getEmail(), entity.getNotBefore()))
+                .map(TokenRevocationRepositoryAdapter::toModel);
+    }
+
+    @Override
+    public Flux<RevokedToken> findRevokedTokensSince(Instant since) {
+        return Workload.BULK.route(revokedTokenRepository.findActiveRevokedSince(since))
+                .map(TokenRevocationRepositoryAdapter::toModel);
+    }
+
+    @Override
+    public Flux<TokenEpoch> findTokenEpochsSince(Instant since) {
+        return Workload.BULK.route(tokenEpochRepository.findUpdatedSince(since))
+                .map(TokenRevocationRepositoryAdapter::toModel);
+    }
+
+    @Override
+    public Mono<Long> deleteExpiredRevokedTokens(int batchSize) {
+        return Workload.BULK.route(revokedTokenRepository.deleteExpiredBatch(batchSize))
+                .map(Integer::longValue);
+    }
+
+    private static RevokedToken toModel(RevokedTokenEntity entity) {
+        return RevokedToken.builder()
+                .jti(entity.getJti())
+                .email(entity.getEmail())
+                .expiresAt(entity.getExpiresAt())
+                .revokedAt(entity.getRevokedAt())
+                .build();
+    }
+
+    private static TokenEpoch toModel(TokenEpochEntity entity) {
+        return TokenEpoch.builder()
+                .email(entity.getEmail())
+                .notBefore(entity.getNotBefore())
+                .updatedAt(entity.getUpdatedAt())
+                .build();
+    }
+}
@@ -0,0 +1,158 @@
+package co.com.sti.r2dbc.batch;
+
+import co.com.sti.model.user.UserProfile;
+import co.com.sti.r2dbc.config.IdentityBatchProperties;
+import co.com.sti.r2dbc.entity.UserEntity;
+import co.com.sti.r2dbc.helper.UserRows;
+import co.com.sti.r2dbc.mapper.UserEntityMapper;
+import co.com.sti.r2dbc.routing.Workload;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Component;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.MonoSink;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/**
+ * Agrupa las búsquedas por documento de identidad que llegan casi al mismo tiempo, al estilo DataLoader: la primera
+ * abre una ventana corta y, al cerrarse o al llenarse el lote, todas se resuelven con una sola consulta
+ * {@code documento_identidad = ANY($1)} sobre una sola conexión del pool. Cada búsqueda recibe el perfil público
+ * encontrado, sin password, o vacío si no existe.
+ */
+@Slf4j
+@Component
+public class IdentityLookupBatcher {
+
+    public static final String METRIC_PREFIX = "usuarios.lotes.identidad";
+
+    private static final String SELECT_BY_IDENTITIES = "SELECT " + UserRows.PUBLIC_COLUMNS + " FROM usuario "
+            + "WHERE documento_identidad = ANY($1)";
+
+    private final Function<String[], Flux<UserEntity>> query;
+    private final UserEntityMapper userEntityMapper;
+    private final IdentityBatchProperties properties;
+    private final Scheduler scheduler;
+    private final DistributionSummary batchSize;
+    private final Timer addedWait;
+
+    private final Object lock = new Object();
+    private List<Pending> pending = new ArrayList<>();
+    private Disposable scheduledFlush;
+
+    @Autowired
+    public IdentityLookupBatcher(DatabaseClient databaseClient, UserEntityMapper userEntityMapper,
+                                 IdentityBatchProperties properties, MeterRegistry meterRegistry) {
+        // El lote se consulta fuera del contexto de quien lo pidió, así que fija aquí su pool
+        this(identities -> Workload.LOOKUP.route(databaseClient.sql(SELECT_BY_IDENTITIES)
+                        .bind(0, identities)
+                        .map((row, metadata) -> UserRows.toEntity(row))
+                        .all()),
+                userEntityMapper, properties, meterRegistry, Schedulers.parallel());
+    }
+
+    IdentityLookupBatcher(Function<String[], Flux<UserEntity>> query, UserEntityMapper userEntityMapper,
+                          IdentityBatchProperties properties, MeterRegistry meterRegistry, Scheduler scheduler) {
+        this.query = query;
+        this.userEntityMapper = userEntityMapper;
+        this.properties = properties;
+        this.scheduler = scheduler;
+        this.batchSize = DistributionSummary.builder(METRIC_PREFIX + ".tamano")
+                .description("Búsquedas por documento resueltas en una misma consulta")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        this.addedWait = Timer.builder(METRIC_PREFIX + ".espera")
+                .description("Tiempo que una búsqueda esperó a que se cerrara su lote")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+    }
+
+    public boolean isEnabled() {
+        return properties.enabled();
+    }
+
+    public Mono<UserProfile> load(String numberIdentity) {
+        return Mono.create(sink -> enqueue(new Pending(numberIdentity, sink, System.nanoTime())));
+    }
+
+    private void enqueue(Pending request) {
+        List<Pending> batch = null;
+        synchronized (lock) {
+            pending.add(request);
+            if (pending.size() >= properties.maxBatchSize()) {
+                batch = drain();
+            } else if (pending.size() == 1) {
+                scheduledFlush = scheduler.schedule(this::flush, properties.window().toNanos(), TimeUnit.NANOSECONDS);
+            }
+        }
+        if (batch != null) {
+            dispatch(batch);
+        }
+    }
+
+    private void flush() {
+        List<Pending> batch;
+        synchronized (lock) {
+            if (pending.isEmpty()) {
+                return;
+            }
+            batch = drain();
+        }
+        dispatch(batch);
+    }
+
+    // Se llama con el lock tomado; la consulta se lanza fuera de él
+    private List<Pending> drain() {
+        List<Pending> batch = pending;
+        pending = new ArrayList<>();
+        if (scheduledFlush != null) {
+            scheduledFlush.dispose();
+            scheduledFlush = null;
+        }
+        return batch;
+    }
+
+    private void dispatch(List<Pending> batch) {
+        long dispatchedAt = System.nanoTime();
+        batchSize.record(batch.size());
+        LinkedHashSet<String> identities = new LinkedHashSet<>();
+        for (Pending request : batch) {
+            addedWait.record(dispatchedAt - request.enqueuedAt(), TimeUnit.NANOSECONDS);
+            identities.add(request.numberIdentity());
+        }
+        query.apply(identities.toArray(String[]::new))
+                .collectMap(UserEntity::getNumberIdentity, Function.identity(), HashMap::new)
+                .subscribe(found -> complete(batch, found), error -> {
+                    log.error("Falló la búsqueda agrupada de {} documentos", identities.size(), error);
+                    batch.forEach(request -> request.sink().error(error));
+                });
+    }
+
+    private void complete(List<Pending> batch, Map<String, UserEntity> found) {
+        for (Pending request : batch) {
+            UserEntity entity = found.get(request.numberIdentity());
+            if (entity == null) {
+                request.sink().success();
+            } else {
+                request.sink().success(userEntityMapper.toProfile(entity));
+            }
+        }
+    }
+
+    private record Pending(String numberIdentity, MonoSink<UserProfile> sink, long enqueuedAt) {
+    }
+}
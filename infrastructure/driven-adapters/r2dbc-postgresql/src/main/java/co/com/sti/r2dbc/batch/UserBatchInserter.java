@@ -0,0 +1,141 @@
+package co.com.sti.r2dbc.batch;
+
+import co.com.sti.model.user.DuplicateUserException;
+import co.com.sti.model.user.User;
+import co.com.sti.model.user.UserSaveOutcome;
+import co.com.sti.r2dbc.entity.UserEntity;
+import co.com.sti.r2dbc.mapper.UserEntityMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Inserta lotes de usuarios con un único INSERT multi-fila. ON CONFLICT DO NOTHING omite las filas que violan
+ * cualquier restricción única, incluso si el duplicado está dentro del mismo lote, y RETURNING indica cuáles
+ * entraron. Solo si hubo omitidas se hace una segunda consulta para saber si el campo repetido fue el email.
+ */
+@Slf4j
+@Component
+public class UserBatchInserter {
+
+    private static final String INSERT_PREFIX = "INSERT INTO usuario (nombre, apellido, email, password, documento_identidad, "
+            + "fecha_nacimiento, telefono, direccion, id_rol, salario_base) VALUES ";
+    private static final String INSERT_SUFFIX = " ON CONFLICT DO NOTHING RETURNING email, documento_identidad";
+    private static final String EXISTING_EMAILS = "SELECT email FROM usuario WHERE email = ANY($1)";
+
+    // Columnas en el orden del INSERT, con su tipo para enlazar nulos
+    private static final List<Column> COLUMNS = List.of(
+            new Column(String.class, UserEntity::getName),
+            new Column(String.class, UserEntity::getLastName),
+            new Column(String.class, UserEntity::getEmail),
+            new Column(String.class, UserEntity::getPassword),
+            new Column(String.class, UserEntity::getNumberIdentity),
+            new Column(LocalDate.class, UserEntity::getBirthDate),
+            new Column(String.class, UserEntity::getPhoneNumber),
+            new Column(String.class, UserEntity::getAddress),
+            new Column(Long.class, UserEntity::getIdRole),
+            new Column(BigDecimal.class, UserEntity::getSalary));
+
+    // Postgres admite hasta 65535 parámetros por sentencia
+    public static final int MAX_BATCH_SIZE = 65535 / 10;
+
+    private final DatabaseClient databaseClient;
+    private final UserEntityMapper userEntityMapper;
+
+    public UserBatchInserter(DatabaseClient databaseClient, UserEntityMapper userEntityMapper) {
+        this.databaseClient = databaseClient;
+        this.userEntityMapper = userEntityMapper;
+    }
+
+    public Flux<UserSaveOutcome> insert(List<User> users) {
+        if (users.isEmpty()) {
+            return Flux.empty();
+        }
+        if (users.size() > MAX_BATCH_SIZE) {
+            return Flux.error(new IllegalArgumentException("El lote supera el máximo de " + MAX_BATCH_SIZE + " usuarios"));
+        }
+        DatabaseClient.GenericExecuteSpec spec = databaseClient.sql(insertSql(users.size()));
+        int index = 0;
+        for (User user : users) {
+            UserEntity entity = userEntityMapper.toData(user);
+            for (Column column : COLUMNS) {
+                Object value = column.getter().apply(entity);
+                spec = value != null ? spec.bind(index, value) : spec.bindNull(index, column.type());
+                index++;
+            }
+        }
+        return spec.map((row, metadata) -> key(row.get("email", String.class), row.get("documento_identidad", String.class)))
+                .all()
+                .collectList()
+                .flatMapMany(inserted -> {
+                    log.info("Lote de {} usuarios: {} insertados, {} omitidos", users.size(), inserted.size(), users.size() - inserted.size());
+                    if (inserted.size() == users.size()) {
+                        return Flux.fromIterable(classify(users, inserted, Set.of()));
+                    }
+                    return existingEmails(users)
+                            .flatMapIterable(existing -> classify(users, inserted, existing));
+                });
+    }
+
+    private Mono<Set<String>> existingEmails(List<User> users) {
+        String[] emails = users.stream().map(User::getEmail).distinct().toArray(String[]::new);
+        return databaseClient.sql(EXISTING_EMAILS)
+                .bind(0, emails)
+                .map((row, metadata) -> row.get("email", String.class))
+                .all()
+                .collect(Collectors.toSet());
+    }
+
+    static String insertSql(int rows) {
+        StringBuilder sql = new StringBuilder(INSERT_PREFIX.length() + INSERT_SUFFIX.length() + rows * 64).append(INSERT_PREFIX);
+        int parameter = 1;
+        for (int row = 0; row < rows; row++) {
+            sql.append(row == 0 ? "(" : ", (");
+            for (int column = 0; column < COLUMNS.size(); column++) {
+                sql.append(column == 0 ? "$" : ", $").append(parameter++);
+            }
+            sql.append(')');
+        }
+        return sql.append(INSERT_SUFFIX).toString();
+    }
+
+    // Cada fila devuelta confirma a un solo usuario del lote (el primero con ese par email/documento); el resto se
+    // omitió y se atribuye al email si ya existe en la base, o si no al documento
+    static List<UserSaveOutcome> classify(List<User> users, List<String> inserted, Set<String> existingEmails) {
+        Map<String, Integer> pending = new HashMap<>();
+        inserted.forEach(key -> pending.merge(key, 1, Integer::sum));
+        List<UserSaveOutcome> outcomes = new ArrayList<>(users.size());
+        for (User user : users) {
+            String key = key(user.getEmail(), user.getNumberIdentity());
+            Integer remaining = pending.get(key);
+            if (remaining != null && remaining > 0) {
+                pending.put(key, remaining - 1);
+                outcomes.add(UserSaveOutcome.saved(user));
+            } else {
+                outcomes.add(UserSaveOutcome.duplicate(user, existingEmails.contains(user.getEmail())
+                        ? DuplicateUserException.Field.EMAIL
+                        : DuplicateUserException.Field.NUMBER_IDENTITY));
+            }
+        }
+        return outcomes;
+    }
+
+    private static String key(String email, String numberIdentity) {
+        return email + '\u0000' + numberIdentity;
+    }
+
+    private record Column(Class<?> type, Function<UserEntity, Object> getter) {
+    }
+}
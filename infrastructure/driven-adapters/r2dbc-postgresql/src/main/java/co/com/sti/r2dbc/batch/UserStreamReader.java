@@ -0,0 +1,38 @@
+package co.com.sti.r2dbc.batch;
+
+import co.com.sti.model.user.User;
+import co.com.sti.r2dbc.config.UserStreamProperties;
+import co.com.sti.r2dbc.helper.UserRows;
+import co.com.sti.r2dbc.mapper.UserEntityMapper;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+
+/**
+ * Recorre la tabla de usuarios con un cursor del servidor: el driver pide las filas de a fetchSize y solo pide
+ * el siguiente bloque cuando el consumidor las demanda, así la memoria no depende del tamaño de la tabla.
+ * La consulta nunca selecciona la columna password.
+ */
+@Component
+public class UserStreamReader {
+
+    private static final String SELECT_ALL = "SELECT " + UserRows.PUBLIC_COLUMNS + " FROM usuario ORDER BY id";
+
+    private final DatabaseClient databaseClient;
+    private final UserEntityMapper userEntityMapper;
+    private final UserStreamProperties properties;
+
+    public UserStreamReader(DatabaseClient databaseClient, UserEntityMapper userEntityMapper, UserStreamProperties properties) {
+        this.databaseClient = databaseClient;
+        this.userEntityMapper = userEntityMapper;
+        this.properties = properties;
+    }
+
+    public Flux<User> streamAll() {
+        return databaseClient.sql(SELECT_ALL)
+                .filter(statement -> statement.fetchSize(properties.fetchSize()))
+                .map((row, metadata) -> UserRows.toEntity(row))
+                .all()
+                .map(userEntityMapper::toModel);
+    }
+}
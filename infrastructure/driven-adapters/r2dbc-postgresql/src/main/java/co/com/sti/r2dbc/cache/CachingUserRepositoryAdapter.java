@@ -0,0 +1,204 @@
+package co.com.sti.r2dbc.cache;
+
+import co.com.sti.model.user.User;
+import co.com.sti.model.user.UserCredentials;
+import co.com.sti.model.user.UserFilter;
+import co.com.sti.model.user.UserPage;
+import co.com.sti.model.user.UserProfile;
+import co.com.sti.model.user.UserSaveOutcome;
+import co.com.sti.model.user.gateways.UserRepository;
+import co.com.sti.r2dbc.MyReactiveRepositoryAdapter;
+import co.com.sti.r2dbc.config.UserCacheProperties;
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.annotation.Primary;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Function;
+import java.util.function.UnaryOperator;
+
+/**
+ * Caché de lectura delante de {@link MyReactiveRepositoryAdapter}: el perfil público por número de identidad, con
+ * su versión para el ETag, y la proyección del inicio de sesión por email.
+ * La carga es asíncrona: los fallos concurrentes sobre la misma clave comparten una sola consulta y ningún hilo
+ * del event loop espera. Solo se guardan usuarios encontrados, nunca una ausencia; los cambios de otro nodo sobre
+ * un usuario ya cacheado se ven al vencer el TTL. Las cargas pasan por {@link RegisteredUserFilter}, que confirma
+ * contra la base incluso las claves que no conoce, porque un registro hecho en otro nodo solo le llega en la
+ * siguiente sincronización.
+ */
+@Slf4j
+@Primary
+@Repository
+public class CachingUserRepositoryAdapter implements UserRepository {
+
+    public static final String EXECUTIONS = "usuarios.consultas";
+    public static final String CREDENTIALS_BY_EMAIL = "usuarios.credenciales-por-email";
+    public static final String PROFILE_BY_IDENTITY = "usuarios.perfil-por-identidad";
+
+    private final MyReactiveRepositoryAdapter delegate;
+    private final RegisteredUserFilter registeredUserFilter;
+    private final AsyncCache<String, UserProfile> profileByIdentity;
+    private final AsyncCache<String, UserCredentials> credentialsByEmail;
+    private final ReadCounters profileReads;
+    private final ReadCounters credentialsReads;
+
+    public CachingUserRepositoryAdapter(MyReactiveRepositoryAdapter delegate, RegisteredUserFilter registeredUserFilter,
+                                        UserCacheProperties properties, MeterRegistry meterRegistry) {
+        this.delegate = delegate;
+        this.registeredUserFilter = registeredUserFilter;
+        this.profileByIdentity = newCache(properties);
+        this.credentialsByEmail = newCache(properties);
+        CaffeineCacheMetrics.monitor(meterRegistry, profileByIdentity, PROFILE_BY_IDENTITY);
+        CaffeineCacheMetrics.monitor(meterRegistry, credentialsByEmail, CREDENTIALS_BY_EMAIL);
+        this.profileReads = ReadCounters.register(meterRegistry, PROFILE_BY_IDENTITY);
+        this.credentialsReads = ReadCounters.register(meterRegistry, CREDENTIALS_BY_EMAIL);
+    }
+
+    @Override
+    public Mono<User> saveUser(User user) {
+        return delegate.saveUser(user)
+                .doOnNext(saved -> {
+                    registeredUserFilter.add(saved);
+                    invalidate(saved.getNumberIdentity(), saved.getEmail());
+                });
+    }
+
+    @Override
+    public Flux<UserSaveOutcome> saveUsers(List<User> users) {
+        return delegate.saveUsers(users)
+                .doOnNext(outcome -> {
+                    if (outcome.isSaved()) {
+                        User saved = outcome.getUser();
+                        registeredUserFilter.add(saved);
+                        invalidate(saved.getNumberIdentity(), saved.getEmail());
+                    }
+                });
+    }
+
+    // Recorrido completo: no pasa por la caché ni la llena
+    @Override
+    public Flux<User> exportUsers() {
+        return delegate.exportUsers();
+    }
+
+    // Cada combinación de filtros y cursor es distinta; cachear páginas no tendría aciertos y sí datos viejos
+    @Override
+    public Mono<UserPage> findUsers(UserFilter filter) {
+        return delegate.findUsers(filter);
+    }
+
+    // Consulta pública por documento; la carga pasa por IdentityLookupBatcher cuando está activo
+    @Override
+    public Mono<UserProfile> findProfileByNumberIdentity(String numberIdentity) {
+        return read(profileByIdentity, profileReads, numberIdentity,
+                key -> registeredUserFilter.lookupByNumberIdentity(key, delegate::findProfileByNumberIdentity),
+                profile -> profile.toBuilder().build());
+    }
+
+    // La revalidación del ETag lee la versión del perfil cacheado; si falla, carga el perfil completo, que es justo
+    // lo que la respuesta necesitará cuando la versión no coincida
+    @Override
+    public Mono<Long> findVersionByNumberIdentity(String numberIdentity) {
+        return findProfileByNumberIdentity(numberIdentity)
+                .mapNotNull(UserProfile::getVersion);
+    }
+
+    // Sin uso en el inicio de sesión, que lee solo las credenciales; no se cachea
+    @Override
+    public Mono<User> findUserByEmail(String email) {
+        return delegate.findUserByEmail(email);
+    }
+
+    // El lote va directo a la base en una consulta; consultar la caché clave por clave no ahorraría esa consulta
+    @Override
+    public Flux<User> findUsersByIdentitiesOrEmails(List<String> numberIdentities, List<String> emails) {
+        return delegate.findUsersByIdentitiesOrEmails(numberIdentities, emails);
+    }
+
+    // El inicio de sesión es la lectura más frecuente: se cachea la proyección, no el usuario completo
+    @Override
+    public Mono<UserCredentials> findCredentialsByEmail(String email) {
+        return read(credentialsByEmail, credentialsReads, email,
+                key -> registeredUserFilter.lookupByEmail(key, delegate::findCredentialsByEmail),
+                credentials -> credentials.toBuilder().build());
+    }
+
+    // El UPDATE devuelve el documento, así que ambas entradas se invalidan por clave aunque solo una esté cacheada
+    @Override
+    public Mono<Void> updatePassword(String email, String hashedPassword) {
+        return delegate.updatePasswordReturningIdentity(email, hashedPassword)
+                .doOnNext(numberIdentity -> invalidate(numberIdentity, null))
+                .then(Mono.fromRunnable(() -> invalidate(null, email)));
+    }
+
+    public Map<String, AsyncCache<String, ?>> caches() {
+        return Map.of(PROFILE_BY_IDENTITY, profileByIdentity, CREDENTIALS_BY_EMAIL, credentialsByEmail);
+    }
+
+    public void invalidateAll() {
+        profileByIdentity.synchronous().invalidateAll();
+        credentialsByEmail.synchronous().invalidateAll();
+        log.info("Caché de usuarios vaciada");
+    }
+
+    // Un vacío completa el futuro con null y Caffeine descarta la entrada; cancelar una suscripción no cancela
+    // la carga que comparten las demás. Se entrega una copia porque los modelos son mutables.
+    private static <V> Mono<V> read(AsyncCache<String, V> cache, ReadCounters counters, String key, Function<String, Mono<V>> loader,
+                                    UnaryOperator<V> copy) {
+        if (key == null) {
+            return Mono.empty();
+        }
+        return Mono.defer(() -> {
+            // La caché ya deduplica las cargas en curso; aquí solo se cuentan.
+            // asMap() no registra estadísticas, así que el vistazo no altera la tasa de aciertos
+            CompletableFuture<V> pending = cache.asMap().get(key);
+            if (pending != null && !pending.isDone()) {
+                counters.coalesced().increment();
+            }
+            return Mono.fromFuture(cache.get(key, (k, executor) -> {
+                counters.executed().increment();
+                return loader.apply(k).toFuture();
+            }), true);
+        }).map(copy);
+    }
+
+    private void invalidate(String numberIdentity, String email) {
+        if (numberIdentity != null) {
+            profileByIdentity.synchronous().invalidate(numberIdentity);
+        }
+        if (email != null) {
+            credentialsByEmail.synchronous().invalidate(email);
+        }
+    }
+
+    private static <V> AsyncCache<String, V> newCache(UserCacheProperties properties) {
+        return Caffeine.newBuilder()
+                .maximumSize(properties.maximumSize())
+                .expireAfterWrite(properties.expireAfterWrite())
+                .recordStats()
+                .buildAsync();
+    }
+
+    private record ReadCounters(Counter executed, Counter coalesced) {
+        static ReadCounters register(MeterRegistry meterRegistry, String name) {
+            return new ReadCounters(executions(meterRegistry, name, "ejecutada"), executions(meterRegistry, name, "coalescida"));
+        }
+
+        private static Counter executions(MeterRegistry meterRegistry, String name, String result) {
+            return Counter.builder(EXECUTIONS)
+                    .description("Consultas de usuario ejecutadas contra la base o unidas a una carga ya en curso")
+                    .tag("consulta", name)
+                    .tag("resultado", result)
+                    .register(meterRegistry);
+        }
+    }
+}
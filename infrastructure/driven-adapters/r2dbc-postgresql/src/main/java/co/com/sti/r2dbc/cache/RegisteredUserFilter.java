@@ -0,0 +1,220 @@
+package co.com.sti.r2dbc.cache;
+
+import co.com.sti.model.filter.BloomFilter;
+import co.com.sti.model.user.User;
+import co.com.sti.r2dbc.MyReactiveRepository;
+import co.com.sti.r2dbc.config.UserFilterProperties;
+import co.com.sti.r2dbc.entity.UserEntity;
+import co.com.sti.r2dbc.routing.Workload;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Instant;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+/**
+ * Filtros de Bloom con los emails y documentos de identidad registrados. Se construyen leyendo la tabla al
+ * arrancar, incorporan cada alta local al instante y las de otros nodos cada sync-interval, y se recrean
+ * periódicamente. Un alta hecha en otro nodo no está en este filtro hasta la siguiente sincronización, así que
+ * en las búsquedas su "seguro que no está" no es definitivo: la búsqueda se confirma igual contra la base y, si
+ * el usuario aparece, se cuenta como falso negativo y la clave se agrega al filtro. El registro no consulta el
+ * filtro; los duplicados los detectan las restricciones únicas de la tabla.
+ */
+@Slf4j
+@Component
+public class RegisteredUserFilter {
+
+    public static final String METRIC_PREFIX = "user.filter";
+
+    private final MyReactiveRepository repository;
+    private final UserFilterProperties properties;
+    private final Index emails;
+    private final Index identities;
+    private volatile boolean ready;
+    private Instant watermark = Instant.EPOCH;
+    private Disposable subscription;
+
+    public RegisteredUserFilter(MyReactiveRepository repository, UserFilterProperties properties, MeterRegistry meterRegistry) {
+        this.repository = repository;
+        this.properties = properties;
+        this.emails = new Index("email", meterRegistry);
+        this.identities = new Index("identidad", meterRegistry);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        if (!properties.enabled()) {
+            return;
+        }
+        // Construcción, sincronización y reconstrucción se ejecutan en serie para compartir la marca de agua
+        subscription = Flux.merge(
+                        Flux.interval(properties.syncInterval(), properties.syncInterval()).map(tick -> false),
+                        Flux.interval(properties.rebuildInterval(), properties.rebuildInterval()).map(tick -> true))
+                .startWith(true)
+                .onBackpressureDrop()
+                .concatMap(rebuild -> (rebuild || !ready ? rebuild() : sync())
+                        .onErrorResume(error -> {
+                            log.warn("No se pudo actualizar el filtro de usuarios: {}", error.getMessage());
+                            return Mono.empty();
+                        }))
+                .subscribe();
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (subscription != null) {
+            subscription.dispose();
+        }
+    }
+
+    public <T> Mono<T> lookupByEmail(String email, Function<String, Mono<T>> loader) {
+        return emails.lookup(email, loader);
+    }
+
+    public <T> Mono<T> lookupByNumberIdentity(String numberIdentity, Function<String, Mono<T>> loader) {
+        return identities.lookup(numberIdentity, loader);
+    }
+
+    public void add(User user) {
+        emails.put(user.getEmail());
+        identities.put(user.getNumberIdentity());
+    }
+
+    boolean isReady() {
+        return ready;
+    }
+
+    // Lee la tabla completa en orden de id hacia filtros nuevos dimensionados para el volumen actual y los publica
+    Mono<Void> rebuild() {
+        return Workload.BULK.route(repository.count())
+                .flatMap(count -> {
+                    long expected = Math.max(properties.expectedInsertions(), count * 2);
+                    emails.startBuilding(BloomFilter.create(expected, properties.falsePositiveRate()));
+                    identities.startBuilding(BloomFilter.create(expected, properties.falsePositiveRate()));
+                    Instant[] lastCreated = {Instant.EPOCH};
+                    return Workload.BULK.route(repository.findIdentifiersAfter(0))
+                            .doOnNext(entity -> {
+                                emails.building.put(entity.getEmail());
+                                identities.building.put(entity.getNumberIdentity());
+                                lastCreated[0] = latest(lastCreated[0], entity.getCreatedAt());
+                            })
+                            .then(Mono.fromRunnable(() -> {
+                                emails.publish();
+                                identities.publish();
+                                watermark = lastCreated[0];
+                                ready = true;
+                                log.info("Filtro de usuarios reconstruido: {} usuarios, {} bytes", count,
+                                        emails.filter.memoryBytes() + identities.filter.memoryBytes());
+                            }))
+                            .doOnError(error -> {
+                                emails.building = null;
+                                identities.building = null;
+                            });
+                })
+                .then();
+    }
+
+    // La marca de agua es el momento de alta y no el id: los ids se asignan al insertar pero se hacen visibles al
+    // confirmar, así que una transacción lenta puede publicar un id menor que otros ya leídos. Releer un intervalo de
+    // tiempo acota ese caso por la duración de la transacción, sin importar cuántas altas hubo entre medio.
+    Mono<Void> sync() {
+        return Workload.BULK.route(repository.findIdentifiersCreatedSince(watermark.minus(properties.syncOverlap())))
+                .doOnNext(this::addEntity)
+                .then();
+    }
+
+    private void addEntity(UserEntity entity) {
+        emails.put(entity.getEmail());
+        identities.put(entity.getNumberIdentity());
+        watermark = latest(watermark, entity.getCreatedAt());
+    }
+
+    private static Instant latest(Instant current, Instant candidate) {
+        return candidate != null && candidate.isAfter(current) ? candidate : current;
+    }
+
+    private final class Index {
+        private final LongAdder negatives = new LongAdder();
+        private final LongAdder falseNegatives = new LongAdder();
+        private final LongAdder falsePositives = new LongAdder();
+        private volatile BloomFilter filter;
+        // Filtro en construcción; las altas concurrentes se escriben también aquí para no perderlas al publicarlo
+        private volatile BloomFilter building;
+
+        Index(String type, MeterRegistry meterRegistry) {
+            this.filter = BloomFilter.create(properties.expectedInsertions(), properties.falsePositiveRate());
+            Gauge.builder(METRIC_PREFIX + ".entries", this, index -> index.filter.insertions())
+                    .tag("index", type).register(meterRegistry);
+            Gauge.builder(METRIC_PREFIX + ".memory", this, index -> index.filter.memoryBytes())
+                    .tag("index", type).baseUnit("bytes").register(meterRegistry);
+            Gauge.builder(METRIC_PREFIX + ".expected.fpp", this, index -> index.filter.expectedFalsePositiveRate())
+                    .tag("index", type).register(meterRegistry);
+            Gauge.builder(METRIC_PREFIX + ".observed.fpp", this, Index::observedFalsePositiveRate)
+                    .tag("index", type).register(meterRegistry);
+            FunctionCounter.builder(METRIC_PREFIX + ".negatives", negatives, LongAdder::sum)
+                    .tag("index", type).register(meterRegistry);
+            FunctionCounter.builder(METRIC_PREFIX + ".false-negatives", falseNegatives, LongAdder::sum)
+                    .tag("index", type).register(meterRegistry);
+            FunctionCounter.builder(METRIC_PREFIX + ".false-positives", falsePositives, LongAdder::sum)
+                    .tag("index", type).register(meterRegistry);
+        }
+
+        <T> Mono<T> lookup(String key, Function<String, Mono<T>> loader) {
+            if (!ready) {
+                return loader.apply(key);
+            }
+            if (!filter.mightContain(key)) {
+                negatives.increment();
+                // Puede ser un alta de otro nodo que aún no llegó por sincronización
+                return loader.apply(key)
+                        .doOnNext(found -> {
+                            falseNegatives.increment();
+                            put(key);
+                        });
+            }
+            return loader.apply(key)
+                    .doOnSuccess(found -> {
+                        if (found == null) {
+                            falsePositives.increment();
+                        }
+                    });
+        }
+
+        void put(String key) {
+            if (key == null) {
+                return;
+            }
+            // Primero el filtro en construcción: si publish() ya lo descartó, 'filter' apunta al publicado
+            BloomFilter pending = building;
+            if (pending != null) {
+                pending.put(key);
+            }
+            filter.put(key);
+        }
+
+        void startBuilding(BloomFilter next) {
+            building = next;
+        }
+
+        void publish() {
+            filter = building;
+            building = null;
+        }
+
+        // Falsos positivos sobre el total de búsquedas de claves inexistentes
+        double observedFalsePositiveRate() {
+            long absent = negatives.sum() - falseNegatives.sum() + falsePositives.sum();
+            return absent == 0 ? 0.0 : (double) falsePositives.sum() / absent;
+        }
+    }
+}
@@ -0,0 +1,47 @@
+package co.com.sti.r2dbc.cache;
+
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.endpoint.annotation.DeleteOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * /actuator/usercache: GET muestra tamaño y estadísticas de cada índice de la caché de usuarios, DELETE la vacía.
+ */
+@Component
+@Endpoint(id = "usercache")
+@RequiredArgsConstructor
+public class UserCacheEndpoint {
+
+    private final CachingUserRepositoryAdapter cachingUserRepository;
+
+    @ReadOperation
+    public Map<String, Object> stats() {
+        Map<String, Object> result = new TreeMap<>();
+        cachingUserRepository.caches().forEach((name, cache) -> {
+            CacheStats stats = cache.synchronous().stats();
+            Map<String, Object> view = new LinkedHashMap<>();
+            view.put("size", cache.synchronous().estimatedSize());
+            view.put("hitCount", stats.hitCount());
+            view.put("missCount", stats.missCount());
+            view.put("hitRate", stats.hitRate());
+            view.put("loadSuccessCount", stats.loadSuccessCount());
+            view.put("loadFailureCount", stats.loadFailureCount());
+            view.put("averageLoadPenaltyMillis", stats.averageLoadPenalty() / 1_000_000.0);
+            view.put("evictionCount", stats.evictionCount());
+            result.put(name, view);
+        });
+        return result;
+    }
+
+    @DeleteOperation
+    public void flush() {
+        cachingUserRepository.invalidateAll();
+    }
+}
@@ -0,0 +1,14 @@
+package co.com.sti.r2dbc.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+// Agrupación de búsquedas por documento en una sola consulta; la ventana es la espera máxima que se agrega a cada búsqueda
+@ConfigurationProperties(prefix = "adapters.r2dbc.identity-batch")
+public record IdentityBatchProperties(
+        @DefaultValue("false") boolean enabled,
+        @DefaultValue("2ms") Duration window,
+        @DefaultValue("100") int maxBatchSize) {
+}
@@ -0,0 +1,55 @@
+package co.com.sti.r2dbc.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import io.r2dbc.pool.ConnectionPool;
+import io.r2dbc.pool.ConnectionPoolConfiguration;
+import io.r2dbc.spi.Connection;
+import io.r2dbc.spi.R2dbcTimeoutException;
+import org.springframework.boot.actuate.metrics.r2dbc.ConnectionPoolMetrics;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+
+// Pool que publica sus tamaños (r2dbc.pool.acquired, idle, pending...) y cuánto tarda cada adquisición de conexión.
+// Los pools no son beans, así que los medidores se registran aquí y no con la autoconfiguración de Spring Boot
+public class MeteredConnectionPool extends ConnectionPool {
+
+    static final String ACQUIRE_METRIC = "r2dbc.pool.adquisicion";
+
+    private final Timer acquired;
+    private final Timer timedOut;
+    private final Timer failed;
+
+    public MeteredConnectionPool(ConnectionPoolConfiguration configuration, String name, MeterRegistry meterRegistry) {
+        super(configuration);
+        new ConnectionPoolMetrics(this, name, Tags.empty()).bindTo(meterRegistry);
+        this.acquired = acquireTimer(name, "exito", meterRegistry);
+        this.timedOut = acquireTimer(name, "agotado", meterRegistry);
+        this.failed = acquireTimer(name, "error", meterRegistry);
+    }
+
+    @Override
+    public Mono<Connection> create() {
+        return Mono.defer(() -> {
+            long start = System.nanoTime();
+            return super.create()
+                    .doOnSuccess(connection -> record(acquired, start))
+                    .doOnError(error -> record(error instanceof R2dbcTimeoutException ? timedOut : failed, start));
+        });
+    }
+
+    private static void record(Timer timer, long start) {
+        timer.record(Duration.ofNanos(System.nanoTime() - start));
+    }
+
+    private static Timer acquireTimer(String name, String result, MeterRegistry meterRegistry) {
+        return Timer.builder(ACQUIRE_METRIC)
+                .description("Tiempo hasta obtener una conexión del pool, incluida la espera en cola")
+                .tag("name", name)
+                .tag("resultado", result)
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+    }
+}
@@ -1,5 +1,8 @@
 package co.com.sti.r2dbc.config;
 
+import co.com.sti.r2dbc.routing.Workload;
+import co.com.sti.r2dbc.routing.WorkloadRoutingConnectionFactory;
+import io.micrometer.core.instrument.MeterRegistry;
 import io.r2dbc.pool.ConnectionPool;
 import io.r2dbc.pool.ConnectionPoolConfiguration;
 import io.r2dbc.postgresql.PostgresqlConnectionConfiguration;
@@ -7,18 +10,28 @@ import io.r2dbc.postgresql.PostgresqlConnectionFactory;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
-import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
 
 @Configuration
 public class PostgreSQLConnectionPool {
-    /* Change these values for your project */
-    public static final int INITIAL_SIZE = 12;
-    public static final int MAX_SIZE = 15;
-    public static final int MAX_IDLE_TIME = 30;
+    public static final String POOL_NAME = "api-postgres-connection-pool";
     public static final int DEFAULT_PORT = 5432;
 
 	@Bean
-	public ConnectionPool getConnectionConfig(PostgresqlConnectionProperties properties) {
+	public WorkloadRoutingConnectionFactory getConnectionConfig(PostgresqlConnectionProperties properties, MeterRegistry meterRegistry) {
+        ConnectionPool sharedPool = connectionPool(properties, POOL_NAME, properties.pool(), meterRegistry);
+        // Cada clase de carga con pool propio queda aislada: una ráfaga de registros o una exportación no agota el login
+        Map<Workload, ConnectionPool> dedicatedPools = new EnumMap<>(Workload.class);
+        properties.workloads().forEach((workload, pool) -> dedicatedPools.put(workload,
+                connectionPool(properties, POOL_NAME + "-" + workload.name().toLowerCase(Locale.ROOT), pool, meterRegistry)));
+
+		return new WorkloadRoutingConnectionFactory(sharedPool, dedicatedPools);
+	}
+
+    private static ConnectionPool connectionPool(PostgresqlConnectionProperties properties, String name,
+                                                 PostgresqlConnectionProperties.Pool pool, MeterRegistry meterRegistry) {
 		PostgresqlConnectionConfiguration dbConfiguration = PostgresqlConnectionConfiguration.builder()
                 .host(properties.host())
                 .port(properties.port())
@@ -26,17 +39,24 @@ public class PostgreSQLConnectionPool {
                 .schema(properties.schema())
                 .username(properties.username())
                 .password(properties.password())
+                .preparedStatementCacheQueries(pool.statementCacheSize())
                 .build();
 
-        ConnectionPoolConfiguration poolConfiguration = ConnectionPoolConfiguration.builder()
+        ConnectionPoolConfiguration.Builder poolConfiguration = ConnectionPoolConfiguration.builder()
                 .connectionFactory(new PostgresqlConnectionFactory(dbConfiguration))
-                .name("api-postgres-connection-pool")
-                .initialSize(INITIAL_SIZE)
-                .maxSize(MAX_SIZE)
-                .maxIdleTime(Duration.ofMinutes(MAX_IDLE_TIME))
-                .validationQuery("SELECT 1")
-                .build();
+                .name(name)
+                .initialSize(pool.initialSize())
+                .maxSize(pool.maxSize())
+                .maxIdleTime(pool.maxIdleTime())
+                .maxLifeTime(pool.maxLifeTime())
+                .maxAcquireTime(pool.maxAcquireTime())
+                .maxCreateConnectionTime(pool.maxCreateConnectionTime())
+                .validationDepth(pool.validationDepth());
+        // Sin consulta el pool valida con Connection.validate, que en LOCAL no hace ida y vuelta a la base de datos
+        if (pool.validationQuery() != null && !pool.validationQuery().isBlank()) {
+            poolConfiguration.validationQuery(pool.validationQuery());
+        }
 
-		return new ConnectionPool(poolConfiguration);
+		return new MeteredConnectionPool(poolConfiguration.build(), name, meterRegistry);
 	}
-}
\ No newline at end of file
+}
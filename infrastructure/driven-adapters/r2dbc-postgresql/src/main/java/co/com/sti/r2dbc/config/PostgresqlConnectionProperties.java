@@ -1,7 +1,13 @@
 package co.com.sti.r2dbc.config;
 
 // TODO: Load properties from the application.yaml file or from secrets manager
+ import co.com.sti.r2dbc.routing.Workload;
+ import io.r2dbc.spi.ValidationDepth;
  import org.springframework.boot.context.properties.ConfigurationProperties;
+ import org.springframework.boot.context.properties.bind.DefaultValue;
+
+ import java.time.Duration;
+ import java.util.Map;
 
  @ConfigurationProperties(prefix = "adapters.r2dbc")
 public record PostgresqlConnectionProperties(
@@ -10,5 +16,35 @@ public record PostgresqlConnectionProperties(
         String database,
         String schema,
         String username,
-        String password) {
+        String password,
+        @DefaultValue Pool pool,
+        // Pools dedicados por clase de carga; las clases que no aparecen usan el pool compartido
+        @DefaultValue Map<Workload, Pool> workloads) {
+
+    public PostgresqlConnectionProperties {
+        workloads = workloads == null ? Map.of() : workloads;
+    }
+
+    // Tamaño y ciclo de vida del pool; se dimensiona por nodo a partir de las métricas r2dbc.pool.*
+    public record Pool(
+            @DefaultValue("12") int initialSize,
+            @DefaultValue("15") int maxSize,
+            @DefaultValue("30m") Duration maxIdleTime,
+            @DefaultValue("1h") Duration maxLifeTime,
+            // Espera máxima por una conexión libre antes de fallar la consulta en vez de encolarla sin límite
+            @DefaultValue("5s") Duration maxAcquireTime,
+            @DefaultValue("5s") Duration maxCreateConnectionTime,
+            // Consulta de validación al adquirir; vacía valida solo el estado de la conexión con validationDepth
+            @DefaultValue("SELECT 1") String validationQuery,
+            @DefaultValue("LOCAL") ValidationDepth validationDepth,
+            // Sentencias preparadas cacheadas por conexión; -1 sin límite, 0 sin caché
+            @DefaultValue("-1") int statementCacheSize) {
+
+        // Se rechaza al enlazar la configuración en lugar de recortarlo en silencio al crear el pool
+        public Pool {
+            if (initialSize > maxSize) {
+                throw new IllegalArgumentException("initial-size (" + initialSize + ") no puede superar max-size (" + maxSize + ")");
+            }
+        }
+    }
 }
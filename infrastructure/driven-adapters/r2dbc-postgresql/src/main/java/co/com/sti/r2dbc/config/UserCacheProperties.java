@@ -0,0 +1,13 @@
+package co.com.sti.r2dbc.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+// Límites de la caché de usuarios; el TTL acota cuánto puede tardar un nodo en ver cambios hechos por otro
+@ConfigurationProperties(prefix = "adapters.r2dbc.user-cache")
+public record UserCacheProperties(
+        @DefaultValue("10000") long maximumSize,
+        @DefaultValue("5m") Duration expireAfterWrite) {
+}
@@ -0,0 +1,20 @@
+package co.com.sti.r2dbc.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+// Dimensionamiento y refresco de los filtros de Bloom de emails y documentos registrados
+@ConfigurationProperties(prefix = "adapters.r2dbc.user-filter")
+public record UserFilterProperties(
+        @DefaultValue("true") boolean enabled,
+        @DefaultValue("1000000") long expectedInsertions,
+        @DefaultValue("0.01") double falsePositiveRate,
+        // Cada cuánto se incorporan los usuarios registrados en otros nodos
+        @DefaultValue("2s") Duration syncInterval,
+        // Tiempo que se relee hacia atrás desde el último alta vista, por si una inserción confirmó tarde;
+        // debe superar la duración de la transacción de alta más larga
+        @DefaultValue("30s") Duration syncOverlap,
+        @DefaultValue("1h") Duration rebuildInterval) {
+}
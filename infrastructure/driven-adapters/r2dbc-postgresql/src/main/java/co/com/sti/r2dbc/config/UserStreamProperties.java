@@ -0,0 +1,10 @@
+package co.com.sti.r2dbc.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+// Filas que el cursor trae por ida a la base al recorrer la tabla completa; acota la memoria de la exportación
+@ConfigurationProperties(prefix = "adapters.r2dbc.user-stream")
+public record UserStreamProperties(
+        @DefaultValue("500") int fetchSize) {
+}
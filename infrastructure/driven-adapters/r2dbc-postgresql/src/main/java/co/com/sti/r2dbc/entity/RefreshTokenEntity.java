@@ -0,0 +1,40 @@
+package co.com.sti.r2dbc.entity;
+
+import lombok.*;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.relational.core.mapping.Column;
+import org.springframework.data.relational.core.mapping.Table;
+
+import java.time.Instant;
+
+@Table("refresh_token")
+@AllArgsConstructor
+@NoArgsConstructor
+@Getter
+@Setter
+@Builder
+public class RefreshTokenEntity {
+    @Id
+    private Long id;
+
+    @Column("token_hash")
+    private String tokenHash;
+
+    @Column("familia")
+    private String familyId;
+
+    @Column("familia_creada_en")
+    private Instant familyCreatedAt;
+
+    @Column("email")
+    private String email;
+
+    @Column("id_rol")
+    private Integer idRole;
+
+    @Column("expira_en")
+    private Instant expiresAt;
+
+    @Column("usado_en")
+    private Instant usedAt;
+}
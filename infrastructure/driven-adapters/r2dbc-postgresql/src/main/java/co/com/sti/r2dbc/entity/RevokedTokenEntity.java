@@ -0,0 +1,29 @@
+package co.com.sti.r2dbc.entity;
+
+import lombok.*;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.relational.core.mapping.Column;
+import org.springframework.data.relational.core.mapping.Table;
+
+import java.time.Instant;
+
+@Table("token_revocado")
+@AllArgsConstructor
+@NoArgsConstructor
+@Getter
+@Setter
+@Builder
+public class RevokedTokenEntity {
+    @Id
+    @Column("jti")
+    private String jti;
+
+    @Column("email")
+    private String email;
+
+    @Column("expira_en")
+    private Instant expiresAt;
+
+    @Column("revocado_en")
+    private Instant revokedAt;
+}
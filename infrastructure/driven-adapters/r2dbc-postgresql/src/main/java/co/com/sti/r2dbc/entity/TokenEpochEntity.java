@@ -0,0 +1,26 @@
+package co.com.sti.r2dbc.entity;
+
+import lombok.*;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.relational.core.mapping.Column;
+import org.springframework.data.relational.core.mapping.Table;
+
+import java.time.Instant;
+
+@Table("usuario_token_epoca")
+@AllArgsConstructor
+@NoArgsConstructor
+@Getter
+@Setter
+@Builder
+public class TokenEpochEntity {
+    @Id
+    @Column("email")
+    private String email;
+
+    @Column("invalido_hasta")
+    private Instant notBefore;
+
+    @Column("actualizado_en")
+    private Instant updatedAt;
+}
@@ -2,10 +2,12 @@ package co.com.sti.r2dbc.entity;
 
 import lombok.*;
 import org.springframework.data.annotation.Id;
+import org.springframework.data.annotation.ReadOnlyProperty;
 import org.springframework.data.relational.core.mapping.Column;
 import org.springframework.data.relational.core.mapping.Table;
 
 import java.math.BigDecimal;
+import java.time.Instant;
 import java.time.LocalDate;
 
 @Table("usuario")
@@ -47,4 +49,14 @@ public class UserEntity {
 
     @Column("salario_base")
     private BigDecimal salary;
+
+    // La incrementa un trigger; nunca se escribe desde la aplicación
+    @ReadOnlyProperty
+    @Column("version")
+    private Long version;
+
+    // Lo asigna la base al insertar; marca de agua del filtro de usuarios
+    @ReadOnlyProperty
+    @Column("creado_en")
+    private Instant createdAt;
 }
@@ -0,0 +1,33 @@
+package co.com.sti.r2dbc.helper;
+
+import co.com.sti.r2dbc.entity.UserEntity;
+import io.r2dbc.spi.Row;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+// Columnas públicas de usuario (todas menos password) y su lectura, compartidas por las consultas escritas a mano
+public final class UserRows {
+
+    public static final String PUBLIC_COLUMNS = "id, nombre, apellido, email, documento_identidad, fecha_nacimiento, "
+            + "telefono, direccion, id_rol, salario_base, version";
+
+    private UserRows() {
+    }
+
+    public static UserEntity toEntity(Row row) {
+        return UserEntity.builder()
+                .id(row.get("id", Long.class))
+                .name(row.get("nombre", String.class))
+                .lastName(row.get("apellido", String.class))
+                .email(row.get("email", String.class))
+                .numberIdentity(row.get("documento_identidad", String.class))
+                .birthDate(row.get("fecha_nacimiento", LocalDate.class))
+                .phoneNumber(row.get("telefono", String.class))
+                .address(row.get("direccion", String.class))
+                .idRole(row.get("id_rol", Long.class))
+                .salary(row.get("salario_base", BigDecimal.class))
+                .version(row.get("version", Long.class))
+                .build();
+    }
+}
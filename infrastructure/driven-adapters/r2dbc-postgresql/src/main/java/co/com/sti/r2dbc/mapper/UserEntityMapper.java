@@ -0,0 +1,28 @@
+package co.com.sti.r2dbc.mapper;
+
+import co.com.sti.model.user.User;
+import co.com.sti.model.user.UserCredentials;
+import co.com.sti.model.user.UserProfile;
+import co.com.sti.r2dbc.entity.UserEntity;
+import org.mapstruct.Mapping;
+import org.mapstruct.Mapper;
+
+@Mapper(componentModel = "spring")
+public interface UserEntityMapper {
+
+    // El id lo asigna la base al insertar
+    @Mapping(target = "id", ignore = true)
+    @Mapping(target = "createdAt", ignore = true)
+    UserEntity toData(User user);
+
+    User toModel(UserEntity userEntity);
+
+    UserCredentials toCredentials(UserEntity userEntity);
+
+    UserCredentials toCredentials(User user);
+
+    UserProfile toProfile(UserEntity userEntity);
+
+    UserProfile toProfile(User user);
+
+}
@@ -0,0 +1,100 @@
+package co.com.sti.r2dbc.query;
+
+import co.com.sti.model.user.User;
+import co.com.sti.model.user.UserFilter;
+import co.com.sti.model.user.UserPage;
+import co.com.sti.r2dbc.entity.UserEntity;
+import co.com.sti.r2dbc.helper.UserRows;
+import co.com.sti.r2dbc.mapper.UserEntityMapper;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Listado de usuarios con paginación por cursor (seek): cada página continúa con "id > último id visto" en lugar de
+ * OFFSET, así Postgres entra directo por el índice y nunca lee las filas de las páginas anteriores. Se pide una fila
+ * de más para saber si hay página siguiente sin un COUNT.
+ * <p>
+ * El costo por página solo es constante sin filtros o filtrando por rol, porque (id_rol, id) es un rango continuo
+ * ordenado por id. Con prefijo de nombre o rango de salario el orden sigue siendo por id y el índice del filtro no lo
+ * entrega ordenado: Postgres recorre por id descartando filas o lee todas las coincidencias del filtro y las ordena,
+ * así que el costo crece con las filas que no coinciden o con el total de coincidencias, no con el tamaño de la página.
+ */
+@Component
+public class UserPageQuery {
+
+    private final DatabaseClient databaseClient;
+    private final UserEntityMapper userEntityMapper;
+
+    public UserPageQuery(DatabaseClient databaseClient, UserEntityMapper userEntityMapper) {
+        this.databaseClient = databaseClient;
+        this.userEntityMapper = userEntityMapper;
+    }
+
+    public Mono<UserPage> findPage(UserFilter filter) {
+        Statement statement = statement(filter);
+        DatabaseClient.GenericExecuteSpec spec = databaseClient.sql(statement.sql());
+        for (int i = 0; i < statement.binds().size(); i++) {
+            spec = spec.bind(i, statement.binds().get(i));
+        }
+        return spec.map((row, metadata) -> UserRows.toEntity(row))
+                .all()
+                .collectList()
+                .map(rows -> toPage(rows, filter.getLimit()));
+    }
+
+    private UserPage toPage(List<UserEntity> rows, int limit) {
+        boolean hasMore = rows.size() > limit;
+        List<UserEntity> page = hasMore ? rows.subList(0, limit) : rows;
+        List<User> users = new ArrayList<>(page.size());
+        for (UserEntity row : page) {
+            users.add(userEntityMapper.toModel(row));
+        }
+        return new UserPage(users, hasMore ? page.get(page.size() - 1).getId() : null);
+    }
+
+    // Solo se agregan las condiciones de los filtros presentes, para que el planificador vea una consulta simple
+    static Statement statement(UserFilter filter) {
+        List<Object> binds = new ArrayList<>();
+        binds.add(filter.getAfterId() == null ? 0L : filter.getAfterId());
+        StringBuilder sql = new StringBuilder("SELECT ").append(UserRows.PUBLIC_COLUMNS)
+                .append(" FROM usuario WHERE id > $1");
+        if (filter.getIdRole() != null) {
+            binds.add(filter.getIdRole().longValue());
+            sql.append(" AND id_rol = $").append(binds.size());
+        }
+        // No es de costo constante: el OR sobre dos índices no conserva el orden por id (ver documentación de la clase)
+        if (filter.getNamePrefix() != null) {
+            binds.add(likePrefix(filter.getNamePrefix()));
+            int param = binds.size();
+            sql.append(" AND (lower(nombre) LIKE $").append(param).append(" OR lower(apellido) LIKE $").append(param).append(')');
+        }
+        // No es de costo constante: el cursor va por id y no por salario_base (ver documentación de la clase)
+        if (filter.getMinSalary() != null) {
+            binds.add(filter.getMinSalary());
+            sql.append(" AND salario_base >= $").append(binds.size());
+        }
+        if (filter.getMaxSalary() != null) {
+            binds.add(filter.getMaxSalary());
+            sql.append(" AND salario_base <= $").append(binds.size());
+        }
+        binds.add(filter.getLimit() + 1);
+        sql.append(" ORDER BY id LIMIT $").append(binds.size());
+        return new Statement(sql.toString(), binds);
+    }
+
+    // Los comodines que escriba el usuario se buscan literalmente; el único comodín es el % final del prefijo
+    static String likePrefix(String prefix) {
+        return prefix.toLowerCase(Locale.ROOT)
+                .replace("\\", "\\\\")
+                .replace("%", "\\%")
+                .replace("_", "\\_") + "%";
+    }
+
+    record Statement(String sql, List<Object> binds) {
+    }
+}
@@ -0,0 +1,25 @@
+package co.com.sti.r2dbc.routing;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+// Clase de carga de una operación de base de datos; decide de qué pool sale su conexión.
+// Las operaciones sin clase usan el pool compartido
+public enum Workload {
+    // Credenciales, re-hash de contraseña y refresh tokens: la ruta del inicio de sesión
+    LOGIN,
+    // Consultas de usuarios por clave, por lotes o paginadas
+    LOOKUP,
+    // Registro individual de usuarios y revocación de tokens
+    WRITE,
+    // Importación, exportación y limpiezas por lotes, que retienen la conexión por más tiempo
+    BULK;
+
+    public <T> Mono<T> route(Mono<T> operation) {
+        return operation.contextWrite(context -> context.put(Workload.class, this));
+    }
+
+    public <T> Flux<T> route(Flux<T> operation) {
+        return operation.contextWrite(context -> context.put(Workload.class, this));
+    }
+}
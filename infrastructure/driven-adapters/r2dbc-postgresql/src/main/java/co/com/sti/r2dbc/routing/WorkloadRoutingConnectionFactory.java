@@ -0,0 +1,38 @@
+package co.com.sti.r2dbc.routing;
+
+import io.r2dbc.pool.ConnectionPool;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.r2dbc.connection.lookup.AbstractRoutingConnectionFactory;
+import reactor.core.publisher.Mono;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+// Entrega cada conexión desde el pool de la clase de carga que viene en el contexto de Reactor.
+// Las clases sin pool propio, y las operaciones sin clase, comparten el pool por defecto
+@Slf4j
+public class WorkloadRoutingConnectionFactory extends AbstractRoutingConnectionFactory implements DisposableBean {
+
+    private final List<ConnectionPool> pools = new ArrayList<>();
+
+    public WorkloadRoutingConnectionFactory(ConnectionPool sharedPool, Map<Workload, ConnectionPool> dedicatedPools) {
+        setDefaultTargetConnectionFactory(sharedPool);
+        setTargetConnectionFactories(dedicatedPools);
+        setLenientFallback(true);
+        pools.add(sharedPool);
+        pools.addAll(dedicatedPools.values());
+    }
+
+    @Override
+    protected Mono<Object> determineCurrentLookupKey() {
+        return Mono.deferContextual(context -> Mono.justOrEmpty(context.getOrEmpty(Workload.class)));
+    }
+
+    @Override
+    public void destroy() {
+        log.info("Cerrando {} pools de conexiones", pools.size());
+        pools.forEach(ConnectionPool::dispose);
+    }
+}
@@ -1,39 +1,63 @@
 package co.com.sti.r2dbc;
 
+import co.com.sti.model.user.DuplicateUserException;
 import co.com.sti.model.user.User;
+import co.com.sti.model.user.UserProfile;
+import co.com.sti.r2dbc.batch.IdentityLookupBatcher;
+import co.com.sti.r2dbc.batch.UserBatchInserter;
+import co.com.sti.r2dbc.batch.UserStreamReader;
 import co.com.sti.r2dbc.entity.UserEntity;
+import co.com.sti.r2dbc.mapper.UserEntityMapper;
+import co.com.sti.r2dbc.query.UserPageQuery;
+import io.r2dbc.postgresql.api.ErrorDetails;
+import io.r2dbc.postgresql.api.PostgresqlException;
+import io.r2dbc.postgresql.message.backend.Field;
+import io.r2dbc.spi.R2dbcDataIntegrityViolationException;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
-import org.reactivecommons.utils.ObjectMapper;
+import org.mapstruct.factory.Mappers;
 import reactor.core.publisher.Mono;
 import reactor.test.StepVerifier;
 
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 @ExtendWith(MockitoExtension.class)
 class MyReactiveRepositoryAdapterTest {
 
-    @InjectMocks
     private MyReactiveRepositoryAdapter adapter;
 
     @Mock
     private MyReactiveRepository repository;
 
     @Mock
-    private ObjectMapper mapper;
+    private UserBatchInserter userBatchInserter;
+
+    @Mock
+    private UserStreamReader userStreamReader;
+
+    @Mock
+    private UserPageQuery userPageQuery;
+
+    @Mock
+    private IdentityLookupBatcher identityLookupBatcher;
 
     private User testUser;
     private UserEntity testUserEntity;
 
     @BeforeEach
     void setup() {
+        adapter = new MyReactiveRepositoryAdapter(repository, Mappers.getMapper(UserEntityMapper.class), userBatchInserter, userStreamReader, userPageQuery, identityLookupBatcher);
         // Initializes test data before each test.
         testUser = User.builder()
                 .name("testName")
@@ -52,54 +76,98 @@ class MyReactiveRepositoryAdapterTest {
     @Test
     @DisplayName("should save a user and complete successfully")
     void testSaveUser() {
-        when(mapper.map(any(User.class), eq(UserEntity.class))).thenReturn(testUserEntity);
         when(repository.save(any(UserEntity.class))).thenReturn(Mono.just(testUserEntity));
-        when(mapper.map(any(UserEntity.class), eq(User.class))).thenReturn(testUser);
 
         Mono<User> result = adapter.saveUser(testUser);
         StepVerifier.create(result)
-                .expectNext(testUser)
+                .assertNext(this::assertMapsTestUser)
                 .verifyComplete();
-        verify(repository).save(testUserEntity);
-        verify(mapper).map(any(User.class), eq(UserEntity.class));
-        verify(mapper).map(any(UserEntity.class), eq(User.class));
+        // El id lo asigna la base, el mapper no lo envía
+        verify(repository).save(argThat(entity -> entity.getId() == null
+                && testUser.getEmail().equals(entity.getEmail())
+                && testUser.getNumberIdentity().equals(entity.getNumberIdentity())));
     }
 
     @Test
-    @DisplayName("should find a user by number identity")
-    void testFindUserByNumberIdentity() {
-        when(repository.findByNumberIdentity(testUser.getNumberIdentity())).thenReturn(Mono.just(testUserEntity));
-        when(mapper.map(any(UserEntity.class), eq(User.class))).thenReturn(testUser);
+    @DisplayName("should translate each UNIQUE violation to the field that caused it")
+    void testSaveUser_DuplicateConstraints() {
+        when(repository.save(any(UserEntity.class))).thenReturn(
+                Mono.error(new DataIntegrityViolation(uniqueViolation("usuario_email_key"))),
+                Mono.error(new RuntimeException("envoltorio", new DataIntegrityViolation(uniqueViolation("usuario_documento_identidad_key")))));
+
+        StepVerifier.create(adapter.saveUser(testUser))
+                .expectErrorSatisfies(error -> assertEquals(DuplicateUserException.Field.EMAIL, ((DuplicateUserException) error).getField()))
+                .verify();
+        StepVerifier.create(adapter.saveUser(testUser))
+                .expectErrorSatisfies(error -> assertEquals(DuplicateUserException.Field.NUMBER_IDENTITY, ((DuplicateUserException) error).getField()))
+                .verify();
+    }
 
-        Mono<User> result = adapter.findUserByNumberIdentity(testUser.getNumberIdentity());
-        StepVerifier.create(result)
-                .expectNext(testUser)
+    @Test
+    @DisplayName("should propagate violations of other constraints unchanged")
+    void testSaveUser_OtherConstraint() {
+        DataIntegrityViolation violation = new DataIntegrityViolation(uniqueViolation("usuario_password_key"));
+        when(repository.save(any(UserEntity.class))).thenReturn(Mono.error(violation));
+
+        StepVerifier.create(adapter.saveUser(testUser))
+                .expectErrorSatisfies(error -> assertSame(violation, error))
+                .verify();
+    }
+
+    @Test
+    @DisplayName("should read the public profile by number identity when batching is disabled")
+    void testFindProfileByNumberIdentity() {
+        when(repository.findProfileByNumberIdentity(testUser.getNumberIdentity())).thenReturn(Mono.just(testUserEntity));
+
+        StepVerifier.create(adapter.findProfileByNumberIdentity(testUser.getNumberIdentity()))
+                .assertNext(profile -> assertEquals(testUser.getEmail(), profile.getEmail()))
+                .verifyComplete();
+        verify(identityLookupBatcher, never()).load(anyString());
+    }
+
+    @Test
+    @DisplayName("should route the profile lookup through the batcher when it is enabled")
+    void testFindProfileByNumberIdentity_Batched() {
+        UserProfile profile = UserProfile.builder().numberIdentity(testUser.getNumberIdentity()).build();
+        when(identityLookupBatcher.isEnabled()).thenReturn(true);
+        when(identityLookupBatcher.load(testUser.getNumberIdentity())).thenReturn(Mono.just(profile));
+
+        StepVerifier.create(adapter.findProfileByNumberIdentity(testUser.getNumberIdentity()))
+                .expectNext(profile)
                 .verifyComplete();
+        verify(repository, never()).findProfileByNumberIdentity(anyString());
     }
 
     @Test
     @DisplayName("should find a user by email")
     void testFindUserByEmail() {
         when(repository.findByEmail(testUser.getEmail())).thenReturn(Mono.just(testUserEntity));
-        when(mapper.map(any(UserEntity.class), eq(User.class))).thenReturn(testUser);
 
         Mono<User> result = adapter.findUserByEmail(testUser.getEmail());
         StepVerifier.create(result)
-                .expectNext(testUser)
+                .assertNext(this::assertMapsTestUser)
                 .verifyComplete();
     }
 
     @Test
-    @DisplayName("Debería no encontrar un usuario por número de identidad y retornar un Mono vacío")
-    void testFindUserByNumberIdentityNotFound() {
-        // Simular que el repositorio retorna un Mono vacío
-        when(repository.findByNumberIdentity(anyString())).thenReturn(Mono.empty());
-
-        Mono<User> result = adapter.findUserByNumberIdentity("99999");
-
-        // Verificar que el flujo se completa sin emitir ningún elemento
-        StepVerifier.create(result)
-                .expectNextCount(0)
+    @DisplayName("should map the login projection to credentials")
+    void testFindCredentialsByEmail() {
+        UserEntity projection = UserEntity.builder()
+                .name("testName")
+                .lastName("testLastName")
+                .email("test@example.com")
+                .password("hash")
+                .idRole(3L)
+                .build();
+        when(repository.findCredentialsByEmail("test@example.com")).thenReturn(Mono.just(projection));
+
+        StepVerifier.create(adapter.findCredentialsByEmail("test@example.com"))
+                .assertNext(credentials -> {
+                    assertEquals("testName", credentials.getName());
+                    assertEquals("testLastName", credentials.getLastName());
+                    assertEquals("hash", credentials.getPassword());
+                    assertEquals(3, credentials.getIdRole());
+                })
                 .verifyComplete();
     }
 
@@ -117,4 +185,40 @@ class MyReactiveRepositoryAdapterTest {
                 .verifyComplete();
     }
 
+    @Test
+    @DisplayName("should update the password hash by email")
+    void testUpdatePassword() {
+        when(repository.updatePasswordByEmail(testUser.getEmail(), "newHash")).thenReturn(Mono.just(testUser.getNumberIdentity()));
+
+        StepVerifier.create(adapter.updatePassword(testUser.getEmail(), "newHash"))
+                .verifyComplete();
+        verify(repository).updatePasswordByEmail(testUser.getEmail(), "newHash");
+    }
+
+    private void assertMapsTestUser(User user) {
+        assertEquals(testUser.getName(), user.getName());
+        assertEquals(testUser.getEmail(), user.getEmail());
+        assertEquals(testUser.getNumberIdentity(), user.getNumberIdentity());
+    }
+
+    private static ErrorDetails uniqueViolation(String constraint) {
+        return new ErrorDetails(List.of(
+                new Field(Field.FieldType.CODE, "23505"),
+                new Field(Field.FieldType.CONSTRAINT_NAME, constraint)));
+    }
+
+    // Equivalente a la excepción que lanza el driver de Postgres
+    private static final class DataIntegrityViolation extends R2dbcDataIntegrityViolationException implements PostgresqlException {
+        private final transient ErrorDetails errorDetails;
+
+        DataIntegrityViolation(ErrorDetails errorDetails) {
+            super("duplicate key value violates unique constraint");
+            this.errorDetails = errorDetails;
+        }
+
+        @Override
+        public ErrorDetails getErrorDetails() {
+            return errorDetails;
+        }
+    }
 }
@@ -0,0 +1,83 @@
+package co.com.sti.r2dbc;
+
+import co.com.sti.model.refreshtoken.RefreshToken;
+import co.com.sti.r2dbc.entity.RefreshTokenEntity;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.time.Instant;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class RefreshTokenRepositoryAdapterTest {
+
+    @InjectMocks
+    private RefreshTokenRepositoryAdapter adapter;
+
+    @Mock
+    private RefreshTokenReactiveRepository repository;
+
+    private final Instant expiresAt = Instant.parse("2030-01-01T00:00:00Z");
+
+    @Test
+    @DisplayName("should save a refresh token mapping every field")
+    void testSaveRefreshToken() {
+        RefreshToken refreshToken = RefreshToken.builder()
+                .tokenHash("hash").familyId("family").email("test@example.com").idRole(3).expiresAt(expiresAt)
+                .build();
+        when(repository.save(any(RefreshTokenEntity.class)))
+                .thenAnswer(invocation -> Mono.just(invocation.getArgument(0)));
+
+        StepVerifier.create(adapter.saveRefreshToken(refreshToken))
+                .assertNext(saved -> {
+                    assertEquals("hash", saved.getTokenHash());
+                    assertEquals("family", saved.getFamilyId());
+                    assertEquals(3, saved.getIdRole());
+                    assertEquals(expiresAt, saved.getExpiresAt());
+                })
+                .verifyComplete();
+    }
+
+    @Test
+    @DisplayName("should return the consumed refresh token")
+    void testConsumeRefreshToken() {
+        when(repository.consumeByTokenHash("hash")).thenReturn(Mono.just(RefreshTokenEntity.builder()
+                .id(1L).tokenHash("hash").familyId("family").usedAt(expiresAt).build()));
+
+        StepVerifier.create(adapter.consumeRefreshToken("hash"))
+                .assertNext(consumed -> assertEquals(expiresAt, consumed.getUsedAt()))
+                .verifyComplete();
+    }
+
+    @Test
+    @DisplayName("should revoke a family and report deleted batches as long")
+    void testRevokeFamilyAndDeleteExpired() {
+        when(repository.deleteByFamilyId("family")).thenReturn(Mono.just(2));
+        when(repository.deleteExpiredBatch(500)).thenReturn(Mono.just(500));
+
+        StepVerifier.create(adapter.revokeRefreshTokenFamily("family")).verifyComplete();
+        StepVerifier.create(adapter.deleteExpiredRefreshTokens(500)).expectNext(500L).verifyComplete();
+
+        verify(repository).deleteByFamilyId("family");
+    }
+
+    @Test
+    @DisplayName("should revoke every refresh token of a user")
+    void testRevokeByEmail() {
+        when(repository.deleteByEmail("test@example.com")).thenReturn(Mono.just(3));
+
+        StepVerifier.create(adapter.revokeRefreshTokensByEmail("test@example.com")).verifyComplete();
+
+        verify(repository).deleteByEmail("test@example.com");
+    }
+}
@@ -0,0 +1,78 @@
+package co.com.sti.r2dbc;
+
+import co.com.sti.model.revocation.RevokedToken;
+import co.com.sti.model.revocation.TokenEpoch;
+import co.com.sti.r2dbc.entity.RevokedTokenEntity;
+import co.com.sti.r2dbc.entity.TokenEpochEntity;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.time.Instant;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class TokenRevocationRepositoryAdapterTest {
+
+    @InjectMocks
+    private TokenRevocationRepositoryAdapter adapter;
+
+    @Mock
+    private RevokedTokenReactiveRepository revokedTokenRepository;
+
+    @Mock
+    private TokenEpochReactiveRepository tokenEpochRepository;
+
+    private final Instant instant = Instant.parse("2030-01-01T00:00:00Z");
+
+    @Test
+    @DisplayName("should insert a revoked token and map the database timestamp back")
+    void testSaveRevokedToken() {
+        when(revokedTokenRepository.insertRevokedToken("jti-1", "test@example.com", instant))
+                .thenReturn(Mono.just(new RevokedTokenEntity("jti-1", "test@example.com", instant, instant.minusSeconds(5))));
+
+        StepVerifier.create(adapter.saveRevokedToken(RevokedToken.builder()
+                        .jti("jti-1").email("test@example.com").expiresAt(instant).build()))
+                .assertNext(saved -> {
+                    assertEquals("jti-1", saved.getJti());
+                    assertEquals(instant.minusSeconds(5), saved.getRevokedAt());
+                })
+                .verifyComplete();
+    }
+
+    @Test
+    @DisplayName("should upsert a user epoch and read epochs updated since a watermark")
+    void testSaveAndFindEpochs() {
+        TokenEpochEntity entity = new TokenEpochEntity("test@example.com", instant, instant.plusSeconds(1));
+        when(tokenEpochRepository.upsertEpoch("test@example.com", instant)).thenReturn(Mono.just(entity));
+        when(tokenEpochRepository.findUpdatedSince(instant)).thenReturn(Flux.just(entity));
+
+        StepVerifier.create(adapter.saveTokenEpoch(TokenEpoch.builder().email("test@example.com").notBefore(instant).build()))
+                .assertNext(saved -> assertEquals(instant.plusSeconds(1), saved.getUpdatedAt()))
+                .verifyComplete();
+        StepVerifier.create(adapter.findTokenEpochsSince(instant))
+                .assertNext(found -> assertEquals(instant, found.getNotBefore()))
+                .verifyComplete();
+    }
+
+    @Test
+    @DisplayName("should read active revocations and report deleted batches as long")
+    void testFindRevokedAndDeleteExpired() {
+        when(revokedTokenRepository.findActiveRevokedSince(instant))
+                .thenReturn(Flux.just(new RevokedTokenEntity("jti-1", "test@example.com", instant, instant)));
+        when(revokedTokenRepository.deleteExpiredBatch(100)).thenReturn(Mono.just(42));
+
+        StepVerifier.create(adapter.findRevokedTokensSince(instant))
+                .assertNext(found -> assertEquals("jti-1", found.getJti()))
+                .verifyComplete();
+        StepVerifier.create(adapter.deleteExpiredRevokedTokens(100)).expectNext(42L).verifyComplete();
+    }
+}
@@ -0,0 +1,80 @@
+package co.com.sti.r2dbc.batch;
+
+import co.com.sti.model.user.UserProfile;
+import co.com.sti.r2dbc.config.IdentityBatchProperties;
+import co.com.sti.r2dbc.entity.UserEntity;
+import co.com.sti.r2dbc.mapper.UserEntityMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mapstruct.factory.Mappers;
+import reactor.core.publisher.Flux;
+import reactor.test.StepVerifier;
+import reactor.test.scheduler.VirtualTimeScheduler;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class IdentityLookupBatcherTest {
+
+    private final List<List<String>> queries = new ArrayList<>();
+    private VirtualTimeScheduler scheduler;
+    private SimpleMeterRegistry meterRegistry;
+
+    @BeforeEach
+    void setUp() {
+        scheduler = VirtualTimeScheduler.create();
+        meterRegistry = new SimpleMeterRegistry();
+    }
+
+    @Test
+    @DisplayName("should resolve lookups arriving within the window with one query and fan results back")
+    void load_WithinWindowSharesOneQuery() {
+        IdentityLookupBatcher batcher = batcher(10);
+
+        StepVerifier first = StepVerifier.create(batcher.load("1")).expectNextMatches(profile -> "uno@test.com".equals(profile.getEmail()))
+                .expectComplete().verifyLater();
+        StepVerifier missing = StepVerifier.create(batcher.load("404")).expectComplete().verifyLater();
+        List<UserProfile> twins = new ArrayList<>();
+        batcher.load("1").subscribe(twins::add);
+        assertTrue(queries.isEmpty());
+
+        scheduler.advanceTimeBy(Duration.ofMillis(2));
+
+        first.verify();
+        missing.verify();
+        assertEquals(List.of(List.of("1", "404")), queries);
+        assertEquals(1, twins.size());
+        assertEquals(3.0, meterRegistry.get(IdentityLookupBatcher.METRIC_PREFIX + ".tamano").summary().totalAmount());
+    }
+
+    @Test
+    @DisplayName("should dispatch immediately when the batch reaches its maximum size")
+    void load_FullBatchDoesNotWaitForTheWindow() {
+        IdentityLookupBatcher batcher = batcher(2);
+
+        StepVerifier first = StepVerifier.create(batcher.load("1")).expectNextCount(1).expectComplete().verifyLater();
+        StepVerifier second = StepVerifier.create(batcher.load("2")).expectComplete().verifyLater();
+
+        // Sin avanzar el reloj virtual: la ventana nunca vence, así que solo el lote lleno puede haberlas resuelto
+        first.verify(Duration.ofSeconds(1));
+        second.verify(Duration.ofSeconds(1));
+        assertEquals(List.of(List.of("1", "2")), queries);
+    }
+
+    private IdentityLookupBatcher batcher(int maxBatchSize) {
+        return new IdentityLookupBatcher(identities -> {
+            queries.add(Arrays.asList(identities));
+            return Flux.fromArray(identities)
+                    .filter("1"::equals)
+                    .map(id -> UserEntity.builder().numberIdentity(id).email("uno@test.com").build());
+        }, Mappers.getMapper(UserEntityMapper.class), new IdentityBatchProperties(true, Duration.ofMillis(2), maxBatchSize),
+                meterRegistry, scheduler);
+    }
+}
@@ -0,0 +1,50 @@
+package co.com.sti.r2dbc.batch;
+
+import co.com.sti.model.user.DuplicateUserException;
+import co.com.sti.model.user.User;
+import co.com.sti.model.user.UserSaveOutcome;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class UserBatchInserterTest {
+
+    @Test
+    @DisplayName("should number the parameters of every row consecutively")
+    void insertSql_MultiRowValues() {
+        String sql = UserBatchInserter.insertSql(2);
+
+        assertTrue(sql.contains("VALUES ($1, $2, $3, $4, $5, $6, $7, $8, $9, $10), ($11, $12, $13, $14, $15, $16, $17, $18, $19, $20)"));
+        assertTrue(sql.endsWith("ON CONFLICT DO NOTHING RETURNING email, documento_identidad"));
+    }
+
+    @Test
+    @DisplayName("should confirm each returned row once and attribute the skipped ones to the repeated field")
+    void classify_InsertedAndSkipped() {
+        User first = user("a@example.com", "1");
+        User sameEmailInBatch = user("a@example.com", "2");
+        User existingIdentity = user("b@example.com", "3");
+        User exactRepeat = user("a@example.com", "1");
+
+        List<UserSaveOutcome> outcomes = UserBatchInserter.classify(
+                List.of(first, sameEmailInBatch, existingIdentity, exactRepeat),
+                List.of("a@example.com\u00001"),
+                Set.of("a@example.com"));
+
+        assertTrue(outcomes.get(0).isSaved());
+        assertNull(outcomes.get(0).getDuplicate());
+        assertEquals(DuplicateUserException.Field.EMAIL, outcomes.get(1).getDuplicate());
+        assertEquals(DuplicateUserException.Field.NUMBER_IDENTITY, outcomes.get(2).getDuplicate());
+        assertEquals(DuplicateUserException.Field.EMAIL, outcomes.get(3).getDuplicate());
+    }
+
+    private static User user(String email, String numberIdentity) {
+        return User.builder().email(email).numberIdentity(numberIdentity).build();
+    }
+}
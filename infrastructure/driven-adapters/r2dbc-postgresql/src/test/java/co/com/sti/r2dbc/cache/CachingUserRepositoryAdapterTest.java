@@ -0,0 +1,186 @@
+package co.com.sti.r2dbc.cache;
+
+import co.com.sti.model.user.User;
+import co.com.sti.model.user.UserCredentials;
+import co.com.sti.model.user.UserProfile;
+import co.com.sti.r2dbc.MyReactiveRepository;
+import co.com.sti.r2dbc.MyReactiveRepositoryAdapter;
+import co.com.sti.r2dbc.config.UserCacheProperties;
+import co.com.sti.r2dbc.config.UserFilterProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class CachingUserRepositoryAdapterTest {
+
+    @Mock
+    private MyReactiveRepositoryAdapter delegate;
+
+    @Mock
+    private MyReactiveRepository repository;
+
+    private CachingUserRepositoryAdapter adapter;
+    private SimpleMeterRegistry meterRegistry;
+    private User testUser;
+    private UserCredentials testCredentials;
+    private UserProfile testProfile;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        // Filtro sin construir: deja pasar todas las búsquedas hacia el repositorio
+        RegisteredUserFilter filter = new RegisteredUserFilter(repository, filterProperties(), meterRegistry);
+        adapter = new CachingUserRepositoryAdapter(delegate, filter, new UserCacheProperties(100, Duration.ofMinutes(5)), meterRegistry);
+        testUser = User.builder()
+                .name("testName")
+                .numberIdentity("1234567890")
+                .email("test@example.com")
+                .password("hash")
+                .build();
+        testCredentials = UserCredentials.builder()
+                .email("test@example.com")
+                .password("hash")
+                .idRole(3)
+                .build();
+        testProfile = UserProfile.builder()
+                .numberIdentity("1234567890")
+                .email("test@example.com")
+                .version(4L)
+                .build();
+    }
+
+    @Test
+    @DisplayName("should serve repeated logins from the credentials cache with a defensive copy")
+    void findCredentialsByEmail_SecondLookupIsAHit() {
+        when(delegate.findCredentialsByEmail("test@example.com")).thenReturn(Mono.just(testCredentials));
+
+        UserCredentials first = adapter.findCredentialsByEmail("test@example.com").block();
+        UserCredentials second = adapter.findCredentialsByEmail("test@example.com").block();
+
+        assertEquals("hash", second.getPassword());
+        assertNotSame(first, second);
+        verify(delegate, times(1)).findCredentialsByEmail("test@example.com");
+        assertEquals(1.0, meterRegistry.get("cache.gets").tag("cache", CachingUserRepositoryAdapter.CREDENTIALS_BY_EMAIL)
+                .tag("result", "hit").functionCounter().count());
+    }
+
+    @Test
+    @DisplayName("should share a single load between concurrent misses on the same key")
+    void findProfileByNumberIdentity_ConcurrentMissesCoalesce() {
+        Sinks.One<UserProfile> pending = Sinks.one();
+        when(delegate.findProfileByNumberIdentity("1234567890")).thenReturn(pending.asMono());
+
+        StepVerifier first = StepVerifier.create(adapter.findProfileByNumberIdentity("1234567890")).expectNextCount(1).expectComplete().verifyLater();
+        StepVerifier second = StepVerifier.create(adapter.findProfileByNumberIdentity("1234567890")).expectNextCount(1).expectComplete().verifyLater();
+        pending.tryEmitValue(testProfile);
+
+        first.verify();
+        second.verify();
+        verify(delegate, times(1)).findProfileByNumberIdentity("1234567890");
+        assertEquals(1.0, meterRegistry.get(CachingUserRepositoryAdapter.EXECUTIONS).tag("consulta", CachingUserRepositoryAdapter.PROFILE_BY_IDENTITY)
+                .tag("resultado", "coalescida").counter().count());
+    }
+
+    @Test
+    @DisplayName("should not cache users that were not found")
+    void findCredentialsByEmail_EmptyResultIsNotCached() {
+        when(delegate.findCredentialsByEmail("nuevo@example.com")).thenReturn(Mono.empty(), Mono.just(testCredentials));
+
+        StepVerifier.create(adapter.findCredentialsByEmail("nuevo@example.com")).verifyComplete();
+        StepVerifier.create(adapter.findCredentialsByEmail("nuevo@example.com")).expectNextCount(1).verifyComplete();
+
+        verify(delegate, times(2)).findCredentialsByEmail("nuevo@example.com");
+    }
+
+    @Test
+    @DisplayName("should answer the ETag version from the cached profile and reuse that profile for the full response")
+    void findVersionByNumberIdentity_LoadsAndReusesTheProfile() {
+        when(delegate.findProfileByNumberIdentity("1234567890")).thenReturn(Mono.just(testProfile));
+
+        StepVerifier.create(adapter.findVersionByNumberIdentity("1234567890")).expectNext(4L).verifyComplete();
+        StepVerifier.create(adapter.findVersionByNumberIdentity("1234567890")).expectNext(4L).verifyComplete();
+        StepVerifier.create(adapter.findProfileByNumberIdentity("1234567890"))
+                .assertNext(profile -> assertEquals("test@example.com", profile.getEmail()))
+                .verifyComplete();
+
+        verify(delegate, times(1)).findProfileByNumberIdentity("1234567890");
+        verify(delegate, never()).findVersionByNumberIdentity(any());
+    }
+
+    @Test
+    @DisplayName("should invalidate both indexes when a user is saved or its password changes")
+    void saveUserAndUpdatePassword_Invalidate() {
+        when(delegate.findCredentialsByEmail("test@example.com")).thenReturn(Mono.just(testCredentials));
+        when(delegate.findProfileByNumberIdentity("1234567890")).thenReturn(Mono.just(testProfile));
+        when(delegate.saveUser(any(User.class))).thenReturn(Mono.just(testUser));
+        when(delegate.updatePasswordReturningIdentity("test@example.com", "nuevo-hash")).thenReturn(Mono.just("1234567890"));
+
+        adapter.findCredentialsByEmail("test@example.com").block();
+        adapter.findProfileByNumberIdentity("1234567890").block();
+        adapter.saveUser(testUser).block();
+        adapter.findCredentialsByEmail("test@example.com").block();
+        adapter.findProfileByNumberIdentity("1234567890").block();
+        adapter.updatePassword("test@example.com", "nuevo-hash").block();
+        adapter.findCredentialsByEmail("test@example.com").block();
+        adapter.findProfileByNumberIdentity("1234567890").block();
+
+        verify(delegate, times(3)).findCredentialsByEmail("test@example.com");
+        verify(delegate, times(3)).findProfileByNumberIdentity("1234567890");
+    }
+
+    @Test
+    @DisplayName("should invalidate the identity entry on password update even when the email entry is not cached")
+    void updatePassword_OnlyCachedByIdentity_InvalidatesIt() {
+        when(delegate.findProfileByNumberIdentity("1234567890")).thenReturn(Mono.just(testProfile));
+        when(delegate.updatePasswordReturningIdentity("test@example.com", "nuevo-hash")).thenReturn(Mono.just("1234567890"));
+
+        adapter.findProfileByNumberIdentity("1234567890").block();
+        adapter.updatePassword("test@example.com", "nuevo-hash").block();
+        adapter.findProfileByNumberIdentity("1234567890").block();
+
+        verify(delegate, times(2)).findProfileByNumberIdentity("1234567890");
+    }
+
+    @Test
+    @DisplayName("should expose stats through the actuator endpoint and flush on delete")
+    void endpoint_StatsAndFlush() {
+        UserCacheEndpoint endpoint = new UserCacheEndpoint(adapter);
+        when(delegate.findCredentialsByEmail("test@example.com")).thenReturn(Mono.just(testCredentials));
+        adapter.findCredentialsByEmail("test@example.com").block();
+        adapter.findCredentialsByEmail("test@example.com").block();
+
+        @SuppressWarnings("unchecked")
+        Map<String, Object> byEmail = (Map<String, Object>) endpoint.stats().get(CachingUserRepositoryAdapter.CREDENTIALS_BY_EMAIL);
+        assertEquals(1L, byEmail.get("size"));
+        assertEquals(1L, byEmail.get("hitCount"));
+        assertEquals(0.5, byEmail.get("hitRate"));
+
+        endpoint.flush();
+        adapter.findCredentialsByEmail("test@example.com").block();
+
+        verify(delegate, times(2)).findCredentialsByEmail("test@example.com");
+    }
+
+    static UserFilterProperties filterProperties() {
+        return new UserFilterProperties(true, 1000, 0.01, Duration.ofSeconds(2), Duration.ofSeconds(30), Duration.ofHours(1));
+    }
+}
@@ -0,0 +1,146 @@
+package co.com.sti.r2dbc.cache;
+
+import co.com.sti.model.user.User;
+import co.com.sti.r2dbc.MyReactiveRepository;
+import co.com.sti.r2dbc.entity.UserEntity;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class RegisteredUserFilterTest {
+
+    @Mock
+    private MyReactiveRepository repository;
+
+    private RegisteredUserFilter filter;
+    private SimpleMeterRegistry meterRegistry;
+    private final AtomicInteger databaseLookups = new AtomicInteger();
+    private final Function<String, Mono<User>> emptyLoader = key -> {
+        databaseLookups.incrementAndGet();
+        return Mono.empty();
+    };
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        filter = new RegisteredUserFilter(repository, CachingUserRepositoryAdapterTest.filterProperties(), meterRegistry);
+    }
+
+    @Test
+    @DisplayName("should query the database for every lookup until the first build completes")
+    void lookup_BeforeBuild_PassesThrough() {
+        StepVerifier.create(filter.lookupByEmail("desconocido@example.com", emptyLoader)).verifyComplete();
+
+        assertFalse(filter.isReady());
+        assertEquals(1, databaseLookups.get());
+    }
+
+    @Test
+    @DisplayName("should confirm filter negatives against the database and count them")
+    void lookup_AfterBuild_ConfirmsAbsentKeys() {
+        when(repository.count()).thenReturn(Mono.just(1L));
+        when(repository.findIdentifiersAfter(0)).thenReturn(Flux.just(entity(7L, "test@example.com", "123")));
+        StepVerifier.create(filter.rebuild()).verifyComplete();
+
+        StepVerifier.create(filter.lookupByEmail("desconocido@example.com", emptyLoader)).verifyComplete();
+        StepVerifier.create(filter.lookupByNumberIdentity("999", emptyLoader)).verifyComplete();
+        StepVerifier.create(filter.lookupByEmail("test@example.com", key -> Mono.just(User.builder().email(key).build())))
+                .expectNextCount(1)
+                .verifyComplete();
+
+        assertTrue(filter.isReady());
+        assertEquals(2, databaseLookups.get());
+        assertEquals(1.0, meterRegistry.get("user.filter.negatives").tag("index", "email").functionCounter().count());
+        assertEquals(0.0, meterRegistry.get("user.filter.false-negatives").tag("index", "email").functionCounter().count());
+        assertTrue(meterRegistry.get("user.filter.memory").tag("index", "email").gauge().value() > 0);
+    }
+
+    @Test
+    @DisplayName("should find a user registered on another node before the next sync and learn its key")
+    void lookup_RemoteRegistrationBeforeSync_FallsBackToTheDatabase() {
+        when(repository.count()).thenReturn(Mono.just(0L));
+        when(repository.findIdentifiersAfter(0)).thenReturn(Flux.empty());
+        StepVerifier.create(filter.rebuild()).verifyComplete();
+        AtomicInteger remoteLookups = new AtomicInteger();
+        Function<String, Mono<User>> remoteLoader = key -> {
+            remoteLookups.incrementAndGet();
+            return Mono.just(User.builder().email(key).build());
+        };
+
+        StepVerifier.create(filter.lookupByEmail("remoto@example.com", remoteLoader)).expectNextCount(1).verifyComplete();
+        StepVerifier.create(filter.lookupByEmail("remoto@example.com", remoteLoader)).expectNextCount(1).verifyComplete();
+
+        assertEquals(2, remoteLookups.get());
+        // Solo la primera búsqueda fue un falso negativo; la segunda ya encontró la clave en el filtro
+        assertEquals(1.0, meterRegistry.get("user.filter.false-negatives").tag("index", "email").functionCounter().count());
+        assertEquals(1.0, meterRegistry.get("user.filter.negatives").tag("index", "email").functionCounter().count());
+    }
+
+    @Test
+    @DisplayName("should add local registrations immediately and remote ones on the next sync")
+    void addAndSync_MakeNewUsersVisible() {
+        when(repository.count()).thenReturn(Mono.just(0L));
+        when(repository.findIdentifiersAfter(0)).thenReturn(Flux.empty());
+        when(repository.findIdentifiersCreatedSince(Instant.EPOCH.minus(Duration.ofSeconds(30))))
+                .thenReturn(Flux.just(entity(3L, "remoto@example.com", "456", Instant.now())));
+        StepVerifier.create(filter.rebuild()).verifyComplete();
+
+        filter.add(User.builder().email("local@example.com").numberIdentity("123").build());
+        StepVerifier.create(filter.sync()).verifyComplete();
+
+        StepVerifier.create(filter.lookupByEmail("local@example.com", emptyLoader)).verifyComplete();
+        StepVerifier.create(filter.lookupByNumberIdentity("456", emptyLoader)).verifyComplete();
+        assertEquals(2, databaseLookups.get());
+        // Ambas claves existían en el filtro pero la base no las devolvió: cuentan como falsos positivos medidos
+        assertEquals(1.0, meterRegistry.get("user.filter.observed.fpp").tag("index", "email").gauge().value());
+    }
+
+    @Test
+    @DisplayName("should pick up a user whose insert committed late with a lower id than users already synced")
+    void sync_LateCommittedInsert_IsPickedUpWithinTheTimeOverlap() {
+        Instant lastCreated = Instant.parse("2025-01-01T10:00:00Z");
+        when(repository.count()).thenReturn(Mono.just(1L));
+        when(repository.findIdentifiersAfter(0)).thenReturn(Flux.just(entity(5000L, "reciente@example.com", "123", lastCreated)));
+        StepVerifier.create(filter.rebuild()).verifyComplete();
+
+        // La fila 10 se insertó antes que la 5000 pero su transacción confirmó después de la reconstrucción
+        when(repository.findIdentifiersCreatedSince(lastCreated.minus(Duration.ofSeconds(30))))
+                .thenReturn(Flux.just(entity(10L, "tardio@example.com", "456", lastCreated.minusSeconds(5))));
+        StepVerifier.create(filter.sync()).verifyComplete();
+
+        StepVerifier.create(filter.lookupByEmail("tardio@example.com", emptyLoader)).verifyComplete();
+        assertEquals(1, databaseLookups.get());
+
+        // La marca de agua no retrocede por la fila tardía
+        StepVerifier.create(filter.sync()).verifyComplete();
+        verify(repository, times(2)).findIdentifiersCreatedSince(lastCreated.minus(Duration.ofSeconds(30)));
+    }
+
+    private static UserEntity entity(long id, String email, String numberIdentity) {
+        return entity(id, email, numberIdentity, null);
+    }
+
+    private static UserEntity entity(long id, String email, String numberIdentity, Instant createdAt) {
+        return UserEntity.builder().id(id).email(email).numberIdentity(numberIdentity).createdAt(createdAt).build();
+    }
+}
@@ -0,0 +1,81 @@
+package co.com.sti.r2dbc.config;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.r2dbc.pool.ConnectionPoolConfiguration;
+import io.r2dbc.spi.Connection;
+import io.r2dbc.spi.ConnectionFactory;
+import io.r2dbc.spi.R2dbcTimeoutException;
+import io.r2dbc.spi.ValidationDepth;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+
+class MeteredConnectionPoolTest {
+
+    private final ConnectionFactory connectionFactory = mock(ConnectionFactory.class);
+    private final Connection connection = mock(Connection.class);
+    private Mono<Connection> allocation;
+    private SimpleMeterRegistry meterRegistry;
+    private MeteredConnectionPool pool;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        doReturn(Mono.just(true)).when(connection).validate(ValidationDepth.LOCAL);
+        doReturn(Mono.empty()).when(connection).close();
+        // El pool toma el publisher de la fábrica una sola vez y lo vuelve a suscribir en cada asignación
+        doReturn(Mono.defer(() -> allocation)).when(connectionFactory).create();
+        pool = new MeteredConnectionPool(ConnectionPoolConfiguration.builder()
+                .connectionFactory(connectionFactory)
+                .maxSize(1)
+                .maxAcquireTime(Duration.ofMillis(100))
+                .validationDepth(ValidationDepth.LOCAL)
+                .build(), "test", meterRegistry);
+    }
+
+    @AfterEach
+    void tearDown() {
+        pool.dispose();
+    }
+
+    @Test
+    @DisplayName("should time every successful connection acquisition")
+    void create_RecordsAcquisition() {
+        allocation = Mono.just(connection);
+
+        StepVerifier.create(pool.create().flatMap(acquired -> Mono.from(acquired.close())))
+                .verifyComplete();
+
+        assertEquals(1, acquireCount("exito"));
+        assertEquals(0, acquireCount("agotado"));
+    }
+
+    @Test
+    @DisplayName("should record acquisitions that exceed the acquire timeout separately")
+    void create_RecordsTimeout() {
+        allocation = Mono.never();
+
+        StepVerifier.create(pool.create())
+                .expectError(R2dbcTimeoutException.class)
+                .verify(Duration.ofSeconds(5));
+
+        assertEquals(1, acquireCount("agotado"));
+        assertEquals(0, acquireCount("exito"));
+    }
+
+    private long acquireCount(String result) {
+        return meterRegistry.get(MeteredConnectionPool.ACQUIRE_METRIC)
+                .tag("name", "test")
+                .tag("resultado", result)
+                .timer().count();
+    }
+}
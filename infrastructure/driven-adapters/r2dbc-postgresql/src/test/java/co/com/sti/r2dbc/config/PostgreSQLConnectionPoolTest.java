@@ -1,12 +1,20 @@
 package co.com.sti.r2dbc.config;
 
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import co.com.sti.r2dbc.routing.Workload;
+import co.com.sti.r2dbc.routing.WorkloadRoutingConnectionFactory;
+import io.r2dbc.spi.ValidationDepth;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.Map;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
 
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.Mockito.when;
 
 class PostgreSQLConnectionPoolTest {
@@ -28,10 +36,32 @@ class PostgreSQLConnectionPoolTest {
         when(properties.schema()).thenReturn("schema");
         when(properties.username()).thenReturn("username");
         when(properties.password()).thenReturn("password");
+        when(properties.pool()).thenReturn(new PostgresqlConnectionProperties.Pool(12, 15, Duration.ofMinutes(30),
+                Duration.ofHours(1), Duration.ofSeconds(5), Duration.ofSeconds(5), "SELECT 1", ValidationDepth.LOCAL, -1));
+        when(properties.workloads()).thenReturn(Map.of());
     }
 
     @Test
     void getConnectionConfigSuccess() {
-        assertNotNull(connectionPool.getConnectionConfig(properties));
+        assertNotNull(connectionPool.getConnectionConfig(properties, new SimpleMeterRegistry()));
+    }
+
+    @Test
+    void getConnectionConfigWithWorkloadPools() {
+        when(properties.workloads()).thenReturn(Map.of(Workload.LOGIN, new PostgresqlConnectionProperties.Pool(2, 4,
+                Duration.ofMinutes(1), Duration.ofMinutes(10), Duration.ofMillis(500), Duration.ofSeconds(1), "", ValidationDepth.LOCAL, 0)));
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+        WorkloadRoutingConnectionFactory connectionFactory = connectionPool.getConnectionConfig(properties, meterRegistry);
+
+        assertNotNull(connectionFactory);
+        assertNotNull(meterRegistry.find("r2dbc.pool.max.allocated").tag("name", "api-postgres-connection-pool-login").gauge());
+        connectionFactory.destroy();
+    }
+
+    @Test
+    void poolRejectsInitialSizeAboveMaxSize() {
+        assertThrows(IllegalArgumentException.class, () -> new PostgresqlConnectionProperties.Pool(12, 4, Duration.ofMinutes(1),
+                Duration.ofMinutes(10), Duration.ofMillis(500), Duration.ofSeconds(1), "", ValidationDepth.LOCAL, 0));
     }
 }
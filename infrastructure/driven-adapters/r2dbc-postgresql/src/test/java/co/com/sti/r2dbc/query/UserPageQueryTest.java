@@ -0,0 +1,43 @@
+package co.com.sti.r2dbc.query;
+
+import co.com.sti.model.user.UserFilter;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class UserPageQueryTest {
+
+    @Test
+    @DisplayName("should seek past the cursor and fetch one extra row when no filters are given")
+    void statement_WithoutFilters() {
+        UserPageQuery.Statement statement = UserPageQuery.statement(UserFilter.builder().limit(20).build());
+
+        assertEquals("SELECT id, nombre, apellido, email, documento_identidad, fecha_nacimiento, telefono, direccion, "
+                + "id_rol, salario_base, version FROM usuario WHERE id > $1 ORDER BY id LIMIT $2", statement.sql());
+        assertEquals(List.of(0L, 21), statement.binds());
+    }
+
+    @Test
+    @DisplayName("should number only the present filters and escape LIKE wildcards in the name prefix")
+    void statement_WithAllFilters() {
+        UserFilter filter = UserFilter.builder()
+                .afterId(40L)
+                .idRole(3)
+                .namePrefix("Ana_M%")
+                .minSalary(new BigDecimal("1000000"))
+                .maxSalary(new BigDecimal("3000000"))
+                .limit(10)
+                .build();
+
+        UserPageQuery.Statement statement = UserPageQuery.statement(filter);
+
+        assertEquals(" FROM usuario WHERE id > $1 AND id_rol = $2 AND (lower(nombre) LIKE $3 OR lower(apellido) LIKE $3)"
+                        + " AND salario_base >= $4 AND salario_base <= $5 ORDER BY id LIMIT $6",
+                statement.sql().substring(statement.sql().indexOf(" FROM")));
+        assertEquals(List.of(40L, 3L, "ana\\_m\\%%", new BigDecimal("1000000"), new BigDecimal("3000000"), 11), statement.binds());
+    }
+}
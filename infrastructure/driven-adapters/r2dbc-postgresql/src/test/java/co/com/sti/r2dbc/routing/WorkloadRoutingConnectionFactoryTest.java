@@ -0,0 +1,60 @@
+package co.com.sti.r2dbc.routing;
+
+import io.r2dbc.pool.ConnectionPool;
+import io.r2dbc.spi.Connection;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.util.Map;
+
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+
+class WorkloadRoutingConnectionFactoryTest {
+
+    private final ConnectionPool sharedPool = mock(ConnectionPool.class);
+    private final ConnectionPool loginPool = mock(ConnectionPool.class);
+    private final Connection sharedConnection = mock(Connection.class);
+    private final Connection loginConnection = mock(Connection.class);
+    private WorkloadRoutingConnectionFactory connectionFactory;
+
+    @BeforeEach
+    void setUp() {
+        doReturn(Mono.just(sharedConnection)).when(sharedPool).create();
+        doReturn(Mono.just(loginConnection)).when(loginPool).create();
+        connectionFactory = new WorkloadRoutingConnectionFactory(sharedPool, Map.of(Workload.LOGIN, loginPool));
+        connectionFactory.afterPropertiesSet();
+    }
+
+    @Test
+    @DisplayName("should take connections for a routed workload from its dedicated pool")
+    void create_RoutesToDedicatedPool() {
+        StepVerifier.create(Workload.LOGIN.route(connectionFactory.create()))
+                .expectNext(loginConnection)
+                .verifyComplete();
+    }
+
+    @Test
+    @DisplayName("should fall back to the shared pool for unrouted operations and workloads without a pool")
+    void create_FallsBackToSharedPool() {
+        StepVerifier.create(connectionFactory.create())
+                .expectNext(sharedConnection)
+                .verifyComplete();
+        StepVerifier.create(Workload.BULK.route(connectionFactory.create()))
+                .expectNext(sharedConnection)
+                .verifyComplete();
+    }
+
+    @Test
+    @DisplayName("should dispose every pool on shutdown")
+    void destroy_DisposesAllPools() {
+        connectionFactory.destroy();
+
+        verify(sharedPool).dispose();
+        verify(loginPool).dispose();
+    }
+}
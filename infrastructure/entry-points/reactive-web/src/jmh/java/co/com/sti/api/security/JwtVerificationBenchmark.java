@@ -0,0 +1,76 @@
+package co.com.sti.api.security;
+
+import co.com.sti.api.config.JwtProperties;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtParser;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.time.Instant;
+import java.util.Date;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compara la verificación de un token HS256 propio con jjwt frente al verificador especializado.
+ * El throughput equivale a validaciones por segundo por núcleo y el profiler de GC
+ * (gc.alloc.rate.norm) reporta los bytes asignados por validación.
+ * Ejecutar con: ./gradlew :reactive-web:jmh -PjmhInclude=JwtVerificationBenchmark
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@State(Scope.Thread)
+@Threads(1)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class JwtVerificationBenchmark {
+
+    private static final String SECRET = "c3ByaW5nLWJvb3Qtand0LXRva2VuLWdlbmVyYXRpb24tc2VjcmV0LWtleS13aGF0ZXZlci15b3UtY2FuLXRoaW5rLW9mLXRvLW1ha2UtaXQtcmFuZG9tLWFzLXlvdS1saWtlLWFzLXRvLWJl";
+
+    private JwtParser parser;
+    private Hs256FastVerifier fastVerifier;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        JwtProperties properties = new JwtProperties();
+        properties.setSecret(SECRET);
+        JwtKeyManager jwtKeyManager = new JwtKeyManager(properties);
+        parser = jwtKeyManager.parser();
+        fastVerifier = new Hs256FastVerifier(jwtKeyManager);
+        // Mismo formato que JwtUtilsAuth.generate
+        token = jwtKeyManager.builder()
+                .claims(Map.of("email", "cliente@empresa.com", "idRole", 3))
+                .id(UUID.randomUUID().toString())
+                .subject("cliente@empresa.com")
+                .issuedAt(new Date())
+                .expiration(Date.from(Instant.now().plusSeconds(3600)))
+                .compact();
+    }
+
+    @Benchmark
+    public void jjwt(Blackhole blackhole) {
+        Claims claims = parser.parseSignedClaims(token).getPayload();
+        blackhole.consume(claims.get("email", String.class));
+        blackhole.consume(claims.get("idRole", Integer.class));
+    }
+
+    @Benchmark
+    public void fastPath(Blackhole blackhole) {
+        Hs256FastVerifier.VerifiedClaims claims = fastVerifier.verify(token);
+        blackhole.consume(claims.email());
+        blackhole.consume(claims.idRole());
+    }
+}
@@ -0,0 +1,75 @@
+package co.com.sti.api.security;
+
+import co.com.sti.api.config.PasswordHashingProperties;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compara el costo de verificar una contraseña con cada algoritmo y juego de parámetros.
+ * Con un solo hilo el throughput equivale a verificaciones por segundo por núcleo, y el profiler
+ * de GC (gc.alloc.rate.norm) reporta los bytes asignados por verificación.
+ * Ejecutar con: ./gradlew :reactive-web:jmh -PjmhInclude=PasswordHashingBenchmark
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@State(Scope.Thread)
+@Threads(1)
+@Fork(1)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 3, time = 10)
+public class PasswordHashingBenchmark {
+
+    private static final String PASSWORD = "1032456789";
+
+    // Formatos: bcrypt:<costo>, argon2:<memoriaKiB>:<iteraciones>:<paralelismo>, pbkdf2:<iteraciones>
+    @Param({"bcrypt:10", "bcrypt:12", "argon2:19456:2:1", "argon2:47104:1:1", "argon2:65536:3:4", "pbkdf2:600000"})
+    private String config;
+
+    private PasswordEncoder encoder;
+    private String hash;
+
+    @Setup
+    public void setUp() {
+        encoder = encoderFor(config);
+        hash = encoder.encode(PASSWORD);
+    }
+
+    @Benchmark
+    public boolean verify() {
+        return encoder.matches(PASSWORD, hash);
+    }
+
+    private static PasswordEncoder encoderFor(String spec) {
+        String[] parts = spec.split(":");
+        PasswordHashingProperties properties = new PasswordHashingProperties();
+        return switch (parts[0]) {
+            case PasswordEncoderFactory.BCRYPT -> new CalibratedBCryptPasswordEncoder(Integer.parseInt(parts[1]));
+            case PasswordEncoderFactory.ARGON2 -> {
+                PasswordHashingProperties.Argon2 argon2 = properties.getArgon2();
+                argon2.setMemoryKib(Integer.parseInt(parts[1]));
+                argon2.setIterations(Integer.parseInt(parts[2]));
+                argon2.setParallelism(Integer.parseInt(parts[3]));
+                yield PasswordEncoderFactory.argon2(argon2);
+            }
+            case PasswordEncoderFactory.PBKDF2 -> {
+                PasswordHashingProperties.Pbkdf2 pbkdf2 = properties.getPbkdf2();
+                pbkdf2.setIterations(Integer.parseInt(parts[1]));
+                yield PasswordEncoderFactory.pbkdf2(pbkdf2);
+            }
+            default -> throw new IllegalArgumentException("Configuración no soportada: " + spec);
+        };
+    }
+}
@@ -1,26 +1,60 @@
 package co.com.sti.api;
 
+import co.com.sti.api.admission.LoginAdmissionLimiter;
+import co.com.sti.api.config.JwtProperties;
+import co.com.sti.api.config.UserBatchLookupProperties;
+import co.com.sti.api.config.UserListingProperties;
 import co.com.sti.api.dto.CreateUserDTO;
 import co.com.sti.api.dto.LoginDto;
+import co.com.sti.api.dto.RefreshTokenDto;
+import co.com.sti.api.dto.UserBatchLookupRequestDTO;
+import co.com.sti.api.dto.UserBatchLookupResponseDTO;
+import co.com.sti.api.dto.UserImportResultDTO;
+import co.com.sti.api.dto.UserPageDTO;
+import co.com.sti.api.dto.UserProfileDTO;
+import co.com.sti.api.dto.UserSummaryDTO;
 import co.com.sti.usecase.authentication.IAuthenticationUseCase;
+import co.com.sti.usecase.authentication.password.IPasswordHasher;
+import co.com.sti.usecase.exportusers.IExportUsersUseCase;
 import co.com.sti.usecase.exceptios.InvalidUserDataException;
+import co.com.sti.usecase.listusers.IListUsersUseCase;
+import co.com.sti.model.user.UserFilter;
+import co.com.sti.usecase.refreshtoken.IRefreshTokenUseCase;
 import co.com.sti.api.mapper.UserDTOMapper;
+import co.com.sti.api.security.JwtKeyManager;
+import co.com.sti.api.security.TokenDetails;
+import co.com.sti.api.security.TokenRevocationRegistry;
+import co.com.sti.api.userexport.UserExportWriter;
+import co.com.sti.api.userimport.UserImportProcessor;
 import co.com.sti.usecase.resgisteruser.IRegisterUserUseCase;
+import co.com.sti.usecase.revocation.ITokenRevocationUseCase;
 import co.com.sti.usecase.searchuser.ISearchUserUseCase;
 import jakarta.validation.ConstraintViolation;
 import jakarta.validation.Validator;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.CacheControl;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
-import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.web.reactive.function.BodyExtractors;
+import org.springframework.web.reactive.function.BodyInserters;
+import org.springframework.security.core.Authentication;
 import org.springframework.stereotype.Component;
 import org.springframework.web.reactive.function.server.ServerRequest;
 import org.springframework.web.reactive.function.server.ServerResponse;
 import reactor.core.publisher.Mono;
 
+import java.math.BigDecimal;
+import java.time.Instant;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.Arrays;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Slf4j
@@ -30,9 +64,21 @@ public class Handler {
     private final IRegisterUserUseCase registerUserUseCase;
     private final ISearchUserUseCase searchUserUseCase;
     private final IAuthenticationUseCase authenticationUseCase;
+    private final IRefreshTokenUseCase refreshTokenUseCase;
+    private final ITokenRevocationUseCase tokenRevocationUseCase;
     private final UserDTOMapper userDTOMapper;
     private final Validator validator;
-    private final PasswordEncoder passwordEncoder;
+    private final IPasswordHasher passwordHasher;
+    private final LoginAdmissionLimiter loginAdmissionLimiter;
+    private final JwtKeyManager jwtKeyManager;
+    private final JwtProperties jwtProperties;
+    private final TokenRevocationRegistry tokenRevocationRegistry;
+    private final UserImportProcessor userImportProcessor;
+    private final IExportUsersUseCase exportUsersUseCase;
+    private final UserExportWriter userExportWriter;
+    private final IListUsersUseCase listUsersUseCase;
+    private final UserListingProperties userListingProperties;
+    private final UserBatchLookupProperties userBatchLookupProperties;
 
     public Mono<ServerResponse> registerUserEntryPoint(ServerRequest serverRequest) {
         return serverRequest.bodyToMono(CreateUserDTO.class)
@@ -47,7 +93,11 @@ public class Handler {
                     return Mono.just(dto);
                 })
                 .map(userDTOMapper::toModel)
-                .doOnNext(model -> model.setPassword(passwordEncoder.encode(model.getNumberIdentity())))
+                .flatMap(model -> passwordHasher.encode(model.getNumberIdentity())
+                        .map(hashedPassword -> {
+                            model.setPassword(hashedPassword);
+                            return model;
+                        }))
                 .flatMap(registerUserUseCase::registerUser)
                 .flatMap(savedUser -> {
                         log.info("Usuario registrado correctamente: {}", savedUser);
@@ -61,15 +111,81 @@ public class Handler {
                 );
     }
 
+    // Responde un resultado NDJSON por registro a medida que se guardan los lotes, sin esperar el archivo completo
+    public Mono<ServerResponse> importUsers(ServerRequest serverRequest) {
+        MediaType contentType = serverRequest.headers().contentType().orElse(null);
+        if (!UserImportProcessor.supports(contentType)) {
+            return Mono.error(new InvalidUserDataException("La importación acepta application/x-ndjson o text/csv"));
+        }
+        log.info("Importación de usuarios iniciada en formato {}", contentType);
+        return ServerResponse.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(userImportProcessor.process(serverRequest.body(BodyExtractors.toDataBuffers()), contentType), UserImportResultDTO.class);
+    }
+
+    public Mono<ServerResponse> listUsers(ServerRequest serverRequest) {
+        return Mono.fromCallable(() -> UserFilter.builder()
+                        .idRole(queryParam(serverRequest, "role", Integer::valueOf))
+                        .namePrefix(serverRequest.queryParam("name").orElse(null))
+                        .minSalary(queryParam(serverRequest, "minSalary", BigDecimal::new))
+                        .maxSalary(queryParam(serverRequest, "maxSalary", BigDecimal::new))
+                        .afterId(queryParam(serverRequest, "after", Long::valueOf))
+                        .limit(Math.min(userListingProperties.getMaxLimit(),
+                                serverRequest.queryParam("limit").map(Integer::valueOf).orElse(userListingProperties.getDefaultLimit())))
+                        .build())
+                .onErrorMap(NumberFormatException.class, e -> new InvalidUserDataException("Los filtros numéricos del listado no son válidos"))
+                .flatMap(listUsersUseCase::listUsers)
+                .flatMap(page -> ServerResponse.ok()
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .bodyValue(new UserPageDTO(page.getUsers().stream().map(UserSummaryDTO::from).toList(), page.getNextCursor())));
+    }
+
+    private static <T> T queryParam(ServerRequest serverRequest, String name, Function<String, T> parser) {
+        return serverRequest.queryParam(name).filter(value -> !value.isBlank()).map(parser).orElse(null);
+    }
+
+    // CSV si el cliente lo pide en Accept, NDJSON en otro caso; gzip solo si el cliente lo acepta
+    public Mono<ServerResponse> exportUsers(ServerRequest serverRequest) {
+        boolean csv = serverRequest.headers().accept().stream().anyMatch(UserExportWriter.TEXT_CSV::isCompatibleWith);
+        MediaType format = csv ? UserExportWriter.TEXT_CSV : MediaType.APPLICATION_NDJSON;
+        boolean gzip = serverRequest.headers().header(HttpHeaders.ACCEPT_ENCODING).stream()
+                .anyMatch(value -> value.toLowerCase().contains("gzip"));
+        log.info("Exportación de usuarios iniciada en formato {}{}", format, gzip ? " con gzip" : "");
+        return ServerResponse.ok()
+                .contentType(format)
+                .headers(headers -> {
+                    headers.setContentDisposition(ContentDisposition.attachment()
+                            .filename(csv ? "usuarios.csv" : "usuarios.ndjson").build());
+                    headers.add(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+                    if (gzip) {
+                        headers.set(HttpHeaders.CONTENT_ENCODING, "gzip");
+                    }
+                })
+                .body(BodyInserters.fromDataBuffers(userExportWriter.write(exportUsersUseCase.exportUsers(), format, gzip,
+                        serverRequest.exchange().getResponse().bufferFactory())));
+    }
+
+    // fields=name,email limita la respuesta a esos campos; sin fields se devuelven todos los públicos
     public Mono<ServerResponse> getUserByIdentificationEntryPoint(ServerRequest serverRequest) {
         String identification = serverRequest.pathVariable("identification");
-        return searchUserUseCase.getUserbyIdentification(identification)
+        Set<String> fields = serverRequest.queryParam("fields")
+                .map(value -> Arrays.stream(value.split(","))
+                        .map(String::trim)
+                        .filter(field -> !field.isEmpty())
+                        .collect(Collectors.toSet()))
+                .orElse(Set.of());
+        if (!UserProfileDTO.FIELDS.containsAll(fields)) {
+            return Mono.error(new InvalidUserDataException("Campos no válidos; se admiten: " + String.join(", ", UserProfileDTO.FIELDS)));
+        }
+        Mono<ServerResponse> fullResponse = Mono.defer(() -> searchUserUseCase.getUserProfile(identification)
                 .flatMap(foundedUser -> {
                     // Si se encuentra el usuario, devuelve un 200 OK con los datos
                     log.info("Usuario encontrado: {}", foundedUser.getName()+" "+foundedUser.getLastName());
-                    return ServerResponse.ok()
-                            .contentType(MediaType.APPLICATION_JSON)
-                            .bodyValue(foundedUser);
+                    ServerResponse.BodyBuilder response = ServerResponse.ok().contentType(MediaType.APPLICATION_JSON);
+                    if (foundedUser.getVersion() != null) {
+                        response.eTag(eTag(foundedUser.getVersion()));
+                    }
+                    return response.bodyValue(UserProfileDTO.from(foundedUser, fields));
                 })
                 .switchIfEmpty(
                         // Si el Mono está vacío (no se encontró el usuario), devuelve un 200 OK sin cuerpo
@@ -77,12 +193,49 @@ public class Handler {
                             log.warn("Usuario con identificación {} no encontrado. Devolviendo 200 OK con cuerpo vacío.", identification);
                             return ServerResponse.ok().build();
                         })
-                );
+                ));
+        List<String> ifNoneMatch = serverRequest.headers().asHttpHeaders().getIfNoneMatch();
+        if (ifNoneMatch.isEmpty()) {
+            return fullResponse;
+        }
+        // Revalidación: solo se consulta la versión; si el cliente ya la tiene, 304 sin leer ni serializar el usuario
+        return searchUserUseCase.getUserVersion(identification)
+                .map(this::eTag)
+                .filter(eTag -> ifNoneMatch.stream().anyMatch(candidate -> "*".equals(candidate) || eTag.equals(candidate.replaceFirst("^W/", ""))))
+                .flatMap(eTag -> ServerResponse.status(HttpStatus.NOT_MODIFIED).eTag(eTag).build())
+                .switchIfEmpty(fullResponse);
+    }
+
+    private String eTag(long version) {
+        return "\"" + version + "\"";
+    }
+
+    // Resuelve en una sola consulta lo que antes eran cientos de GET por documento; las claves sin usuario van en missing
+    public Mono<ServerResponse> getUsersByKeys(ServerRequest serverRequest) {
+        return serverRequest.bodyToMono(UserBatchLookupRequestDTO.class)
+                .switchIfEmpty(Mono.error(new InvalidUserDataException("La búsqueda por lote requiere documentos o emails")))
+                .flatMap(dto -> {
+                    List<String> numberIdentities = dto.numberIdentities() == null ? List.of() : dto.numberIdentities();
+                    List<String> emails = dto.emails() == null ? List.of() : dto.emails();
+                    if (numberIdentities.size() + emails.size() > userBatchLookupProperties.getMaxKeys()) {
+                        return Mono.error(new InvalidUserDataException(
+                                "La búsqueda por lote admite hasta " + userBatchLookupProperties.getMaxKeys() + " claves"));
+                    }
+                    return searchUserUseCase.getUsersByKeys(numberIdentities, emails);
+                })
+                .flatMap(lookup -> {
+                    Map<String, UserSummaryDTO> users = new LinkedHashMap<>();
+                    lookup.getFound().forEach((key, user) -> users.put(key, UserSummaryDTO.from(user)));
+                    log.info("Búsqueda por lote: {} encontrados, {} inexistentes", users.size(), lookup.getMissing().size());
+                    return ServerResponse.ok()
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .bodyValue(new UserBatchLookupResponseDTO(users, lookup.getMissing()));
+                });
     }
 
     public Mono<ServerResponse> login(ServerRequest request) {
         return request.bodyToMono(LoginDto.class)
-                .flatMap(loginDto -> authenticationUseCase.authenticate(loginDto.getEmail(), loginDto.getPassword())
+                .flatMap(loginDto -> loginAdmissionLimiter.admit(() -> authenticationUseCase.authenticate(loginDto.getEmail(), loginDto.getPassword()))
                         .doOnSuccess(authResponseDto -> {
                             log.info("Usuario autenticado: {}", authResponseDto.getEmail());
                             log.info("Nombres: {}", authResponseDto.getFirstName()+" "+authResponseDto.getLastName());
@@ -91,4 +244,48 @@ public class Handler {
                         })
                         .flatMap(authResponseDto -> ServerResponse.ok().bodyValue(authResponseDto)));
     }
+
+    // No pasa por el limitador de login: renovar cuesta una búsqueda indexada, no una verificación de contraseña
+    public Mono<ServerResponse> refresh(ServerRequest request) {
+        return request.bodyToMono(RefreshTokenDto.class)
+                .filter(dto -> dto.getRefreshToken() != null && !dto.getRefreshToken().isBlank())
+                .switchIfEmpty(Mono.error(new InvalidUserDataException("El refresh token es obligatorio")))
+                .flatMap(dto -> refreshTokenUseCase.refresh(dto.getRefreshToken()))
+                .doOnSuccess(authResponseDto -> log.info("Sesión renovada: {}", authResponseDto.getEmail()))
+                .flatMap(authResponseDto -> ServerResponse.ok().bodyValue(authResponseDto));
+    }
+
+    // La revocación se refleja al instante en este nodo; los demás la toman en su siguiente sincronización
+    public Mono<ServerResponse> logout(ServerRequest request) {
+        return request.principal()
+                .cast(Authentication.class)
+                .filter(authentication -> authentication.getDetails() instanceof TokenDetails)
+                .switchIfEmpty(Mono.error(new InvalidUserDataException("El token no puede revocarse")))
+                .flatMap(authentication -> {
+                    TokenDetails details = (TokenDetails) authentication.getDetails();
+                    return tokenRevocationUseCase.logout(details.jti(), details.sid(), authentication.getName(), Instant.ofEpochMilli(details.expiresAtMillis()));
+                })
+                .doOnNext(tokenRevocationRegistry::apply)
+                .then(Mono.defer(() -> ServerResponse.ok()
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .bodyValue(Map.of("message", "Sesión cerrada"))));
+    }
+
+    public Mono<ServerResponse> revokeUserSessions(ServerRequest request) {
+        String email = request.pathVariable("email");
+        return tokenRevocationUseCase.revokeAllForUser(email)
+                .doOnNext(tokenRevocationRegistry::apply)
+                .doOnNext(epoch -> log.info("Sesiones del usuario {} revocadas hasta {}", email, epoch.getNotBefore()))
+                .flatMap(epoch -> ServerResponse.ok()
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .bodyValue(Map.of("message", "Sesiones revocadas")));
+    }
+
+    public Mono<ServerResponse> jwks(ServerRequest serverRequest) {
+        // Las claves públicas cambian solo al rotar, por eso se permite cachearlas en clientes y proxies
+        return ServerResponse.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .cacheControl(CacheControl.maxAge(jwtProperties.getJwksMaxAge()).cachePublic())
+                .bodyValue(jwtKeyManager.jwks());
+    }
 }
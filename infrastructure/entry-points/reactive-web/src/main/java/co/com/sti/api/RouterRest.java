@@ -3,8 +3,17 @@ package co.com.sti.api;
 import co.com.sti.api.config.TaskPath;
 import co.com.sti.api.dto.CreateUserDTO;
 import co.com.sti.api.dto.LoginDto;
+import co.com.sti.api.dto.RefreshTokenDto;
+import co.com.sti.api.dto.UserBatchLookupRequestDTO;
+import co.com.sti.api.dto.UserBatchLookupResponseDTO;
+import co.com.sti.api.dto.UserImportResultDTO;
+import co.com.sti.api.dto.UserPageDTO;
+import co.com.sti.api.dto.UserProfileDTO;
+import co.com.sti.api.dto.UserSummaryDTO;
 import co.com.sti.usecase.authentication.dto.AuthResponseDto;
 import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.enums.ParameterIn;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.parameters.RequestBody;
@@ -14,9 +23,11 @@ import org.springdoc.core.annotations.RouterOperation;
 import org.springdoc.core.annotations.RouterOperations;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.web.bind.annotation.RequestMethod;
 import org.springframework.web.reactive.function.server.RouterFunction;
 import org.springframework.web.reactive.function.server.ServerResponse;
 
+import static org.springframework.web.reactive.function.server.RequestPredicates.DELETE;
 import static org.springframework.web.reactive.function.server.RequestPredicates.GET;
 import static org.springframework.web.reactive.function.server.RequestPredicates.POST;
 import static org.springframework.web.reactive.function.server.RouterFunctions.route;
@@ -29,6 +40,7 @@ public class RouterRest {
     @RouterOperations({
             @RouterOperation(
                     path = "/api/v1/usuarios",
+                    method = RequestMethod.POST,
                     beanClass = Handler.class,
                     beanMethod = "registerUserEntryPoint",
                     operation = @Operation(
@@ -56,6 +68,101 @@ public class RouterRest {
                             }
                     )
             ),
+            @RouterOperation(
+                    path = "/api/v1/usuarios",
+                    method = RequestMethod.GET,
+                    beanClass = Handler.class,
+                    beanMethod = "listUsers",
+                    operation = @Operation(
+                            operationId = "listUsers",
+                            summary = "Listar usuarios",
+                            description = "Lista usuarios en orden de registro con paginación por cursor. Para la página siguiente se envía nextCursor como after.",
+                            parameters = {
+                                    @Parameter(in = ParameterIn.QUERY, name = "role", description = "ID de rol"),
+                                    @Parameter(in = ParameterIn.QUERY, name = "name", description = "Prefijo del nombre o del apellido, sin distinguir mayúsculas"),
+                                    @Parameter(in = ParameterIn.QUERY, name = "minSalary", description = "Salario base mínimo"),
+                                    @Parameter(in = ParameterIn.QUERY, name = "maxSalary", description = "Salario base máximo"),
+                                    @Parameter(in = ParameterIn.QUERY, name = "after", description = "Cursor devuelto por la página anterior"),
+                                    @Parameter(in = ParameterIn.QUERY, name = "limit", description = "Usuarios por página")
+                            },
+                            responses = {
+                                    @ApiResponse(responseCode = "200", description = "Página de usuarios, sin contraseñas",
+                                            content = @Content(mediaType = "application/json",
+                                                    schema = @Schema(implementation = UserPageDTO.class))),
+                                    @ApiResponse(responseCode = "400", description = "Filtro o cursor inválido",
+                                            content = @Content(mediaType = "application/json",
+                                                    schema = @Schema(implementation = String.class)))
+                            }
+                    )
+            ),
+            @RouterOperation(
+                    path = "/api/v1/usuarios/importacion",
+                    beanClass = Handler.class,
+                    beanMethod = "importUsers",
+                    operation = @Operation(
+                            operationId = "importUsers",
+                            summary = "Importar usuarios en lote",
+                            description = "Recibe un flujo NDJSON (un CreateUserDTO por línea) o CSV (con cabecera de nombres de campo) y registra los usuarios válidos en lotes. Responde en NDJSON un resultado por registro a medida que se procesan.",
+                            requestBody = @RequestBody(
+                                    required = true,
+                                    description = "Usuarios a registrar en formato application/x-ndjson o text/csv",
+                                    content = @Content(schema = @Schema(implementation = CreateUserDTO.class))
+                            ),
+                            responses = {
+                                    @ApiResponse(responseCode = "200", description = "Resultados por registro: CREATED, INVALID, DUPLICATE o FAILED",
+                                            content = @Content(mediaType = "application/x-ndjson",
+                                                    schema = @Schema(implementation = UserImportResultDTO.class))),
+                                    @ApiResponse(responseCode = "400", description = "Tipo de contenido no soportado",
+                                            content = @Content(mediaType = "application/json",
+                                                    schema = @Schema(implementation = String.class)))
+                            }
+                    )
+            ),
+            @RouterOperation(
+                    path = "/api/v1/usuarios/exportacion",
+                    beanClass = Handler.class,
+                    beanMethod = "exportUsers",
+                    operation = @Operation(
+                            operationId = "exportUsers",
+                            summary = "Exportar el directorio de usuarios",
+                            description = "Solo ADMIN. Transmite todos los usuarios sin contraseña en NDJSON, o en CSV si Accept pide text/csv. Se comprime con gzip cuando Accept-Encoding lo incluye.",
+                            responses = {
+                                    @ApiResponse(responseCode = "200", description = "Un usuario por línea, en orden de registro",
+                                            content = {
+                                                    @Content(mediaType = "application/x-ndjson",
+                                                            schema = @Schema(implementation = UserSummaryDTO.class)),
+                                                    @Content(mediaType = "text/csv",
+                                                            schema = @Schema(implementation = String.class))
+                                            }),
+                                    @ApiResponse(responseCode = "403", description = "El usuario no es administrador",
+                                            content = @Content(mediaType = "application/json",
+                                                    schema = @Schema(implementation = String.class)))
+                            }
+                    )
+            ),
+            @RouterOperation(
+                    path = "/api/v1/usuarios/batch",
+                    beanClass = Handler.class,
+                    beanMethod = "getUsersByKeys",
+                    operation = @Operation(
+                            operationId = "getUsersByKeys",
+                            summary = "Buscar varios usuarios en una sola petición",
+                            description = "Recibe listas de números de identificación y de emails y los resuelve con una sola consulta. Devuelve los usuarios encontrados indexados por la clave pedida y las claves sin usuario.",
+                            requestBody = @RequestBody(
+                                    required = true,
+                                    description = "Documentos y emails a buscar",
+                                    content = @Content(schema = @Schema(implementation = UserBatchLookupRequestDTO.class))
+                            ),
+                            responses = {
+                                    @ApiResponse(responseCode = "200", description = "Resultado parcial: encontrados e inexistentes",
+                                            content = @Content(mediaType = "application/json",
+                                                    schema = @Schema(implementation = UserBatchLookupResponseDTO.class))),
+                                    @ApiResponse(responseCode = "400", description = "Cuerpo vacío o demasiadas claves",
+                                            content = @Content(mediaType = "application/json",
+                                                    schema = @Schema(implementation = String.class)))
+                            }
+                    )
+            ),
             @RouterOperation(
                     path = "/api/v1/usuarios/{identification}",
                     beanClass = Handler.class,
@@ -63,9 +170,17 @@ public class RouterRest {
                     operation = @Operation(
                             operationId = "getUserbyIdentification",
                             summary = "Buscar un usuario por número de identificación",
-                            description = "Busca un usuario por su número de identificación. Devuelve el usuario si lo encuentra, o una respuesta 200 OK con un cuerpo vacío si no.",
+                            description = "Busca un usuario por su número de identificación. Devuelve sus datos públicos si lo encuentra, o una respuesta 200 OK con un cuerpo vacío si no.",
+                            parameters = {
+                                    @Parameter(in = ParameterIn.QUERY, name = "fields", description = "Campos a devolver separados por coma, p. ej. name,email; por defecto todos"),
+                                    @Parameter(in = ParameterIn.HEADER, name = "If-None-Match", description = "ETag recibido en una consulta anterior; si el usuario no ha cambiado se responde 304")
+                            },
                             responses = {
                                     @ApiResponse(responseCode = "200", description = "Usuario encontrado y devuelto correctamente o no encontrado",
+                                            content = @Content(mediaType = "application/json",
+                                                    schema = @Schema(implementation = UserProfileDTO.class))),
+                                    @ApiResponse(responseCode = "304", description = "El usuario no ha cambiado desde el ETag indicado"),
+                                    @ApiResponse(responseCode = "400", description = "Campo no válido en fields",
                                             content = @Content(mediaType = "application/json",
                                                     schema = @Schema(implementation = String.class))),
                                     @ApiResponse(responseCode = "500", description = "Error interno del servidor",
@@ -96,11 +211,93 @@ public class RouterRest {
                                                     schema = @Schema(example = "{\"error\":\"Credenciales invalidas\"}")))
                             }
                     )
+            ),
+            @RouterOperation(
+                    path = "/api/v1/login/refresh",
+                    beanClass = Handler.class,
+                    beanMethod = "refresh",
+                    operation = @Operation(
+                            operationId = "refresh",
+                            summary = "Renovar sesión",
+                            description = "Canjea un refresh token vigente por un nuevo token JWT y un nuevo refresh token. El token presentado queda consumido.",
+                            requestBody = @RequestBody(
+                                    required = true,
+                                    description = "Refresh token entregado en el login o en la renovación anterior",
+                                    content = @Content(schema = @Schema(implementation = RefreshTokenDto.class))
+                            ),
+                            responses = {
+                                    @ApiResponse(responseCode = "200", description = "Sesión renovada. Retorna el nuevo token y refresh token.",
+                                            content = @Content(mediaType = "application/json",
+                                                    schema = @Schema(implementation = AuthResponseDto.class))),
+                                    @ApiResponse(responseCode = "401", description = "Refresh token inválido, expirado o reutilizado",
+                                            content = @Content(mediaType = "application/json",
+                                                    schema = @Schema(example = "{\"error\":\"No autorizado\"}")))
+                            }
+                    )
+            ),
+            @RouterOperation(
+                    path = "/api/v1/logout",
+                    beanClass = Handler.class,
+                    beanMethod = "logout",
+                    operation = @Operation(
+                            operationId = "logout",
+                            summary = "Cerrar sesión",
+                            description = "Revoca el token JWT con el que se hace la petición y los refresh tokens de su sesión; las sesiones en otros dispositivos siguen activas. La revocación llega a todos los nodos en pocos segundos.",
+                            responses = {
+                                    @ApiResponse(responseCode = "200", description = "Token revocado",
+                                            content = @Content(mediaType = "application/json",
+                                                    schema = @Schema(example = "{\"message\":\"Sesión cerrada\"}"))),
+                                    @ApiResponse(responseCode = "400", description = "El token no tiene identificador y no puede revocarse",
+                                            content = @Content(mediaType = "application/json",
+                                                    schema = @Schema(implementation = String.class)))
+                            }
+                    )
+            ),
+            @RouterOperation(
+                    path = "/api/v1/usuarios/{email}/sesiones",
+                    beanClass = Handler.class,
+                    beanMethod = "revokeUserSessions",
+                    operation = @Operation(
+                            operationId = "revokeUserSessions",
+                            summary = "Revocar las sesiones de un usuario",
+                            description = "Invalida todos los tokens JWT emitidos hasta ahora para el usuario y elimina sus refresh tokens. Solo para administradores.",
+                            responses = {
+                                    @ApiResponse(responseCode = "200", description = "Sesiones revocadas",
+                                            content = @Content(mediaType = "application/json",
+                                                    schema = @Schema(example = "{\"message\":\"Sesiones revocadas\"}"))),
+                                    @ApiResponse(responseCode = "403", description = "El usuario autenticado no es administrador",
+                                            content = @Content(mediaType = "application/json",
+                                                    schema = @Schema(implementation = String.class)))
+                            }
+                    )
+            ),
+            @RouterOperation(
+                    path = "/.well-known/jwks.json",
+                    beanClass = Handler.class,
+                    beanMethod = "jwks",
+                    operation = @Operation(
+                            operationId = "jwks",
+                            summary = "Claves públicas de firma",
+                            description = "Publica como JWK Set las claves públicas con las que se verifican los tokens ES256/EdDSA.",
+                            responses = {
+                                    @ApiResponse(responseCode = "200", description = "JWK Set con las claves públicas vigentes",
+                                            content = @Content(mediaType = "application/json",
+                                                    schema = @Schema(example = "{\"keys\":[]}")))
+                            }
+                    )
             )
     })
     public RouterFunction<ServerResponse> routerFunction(Handler handler, TaskPath taskPath) {
         return route(POST(taskPath.getTasks()), handler::registerUserEntryPoint)
+                .andRoute(GET(taskPath.getTasks()), handler::listUsers)
+                .andRoute(POST(taskPath.getTaskImport()), handler::importUsers)
+                .andRoute(GET(taskPath.getTaskExport()), handler::exportUsers)
+                .andRoute(POST(taskPath.getTaskBatchLookup()), handler::getUsersByKeys)
                 .andRoute(GET(taskPath.getTasksById()), handler::getUserByIdentificationEntryPoint)
-                .andRoute(POST(taskPath.getTaskAuth()), handler::login);
+                .andRoute(POST(taskPath.getTaskAuth()), handler::login)
+                .andRoute(POST(taskPath.getTaskRefresh()), handler::refresh)
+                .andRoute(POST(taskPath.getTaskLogout()), handler::logout)
+                .andRoute(DELETE(taskPath.getTaskRevokeSessions()), handler::revokeUserSessions)
+                .andRoute(GET(taskPath.getJwks()), handler::jwks);
     }
 }
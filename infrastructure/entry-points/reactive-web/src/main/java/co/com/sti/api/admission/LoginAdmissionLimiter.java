@@ -0,0 +1,164 @@
+package co.com.sti.api.admission;
+
+import co.com.sti.api.config.LoginAdmissionProperties;
+import co.com.sti.api.exceptions.ServiceUnavailableException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.MonoSink;
+
+import java.time.Duration;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Limita cuántas autenticaciones se procesan a la vez. Las que no tienen cupo esperan en una cola acotada
+ * y, si la cola está llena o la espera se agota, se rechazan de inmediato con 503 para que la latencia
+ * de los logins admitidos no crezca con la carga.
+ */
+@Component
+public class LoginAdmissionLimiter {
+
+    private static final String METRIC_NAME = "login.admission";
+    private static final String OUTCOME = "outcome";
+    private static final String SHED_MESSAGE = "El servicio de autenticación está saturado, intente de nuevo más tarde";
+
+    private final int maxConcurrent;
+    private final int maxQueued;
+    private final Duration maxQueueWait;
+    private final Duration retryAfter;
+
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final AtomicInteger queued = new AtomicInteger();
+    private final Queue<Ticket> waiting = new ConcurrentLinkedQueue<>();
+
+    private final Counter admittedCounter;
+    private final Counter queuedCounter;
+    private final Counter shedCounter;
+    private final Timer queueWaitTimer;
+
+    public LoginAdmissionLimiter(LoginAdmissionProperties properties, MeterRegistry meterRegistry) {
+        this.maxConcurrent = properties.getMaxConcurrent();
+        this.maxQueued = properties.getMaxQueued();
+        this.maxQueueWait = properties.getMaxQueueWait();
+        this.retryAfter = properties.getRetryAfter();
+        this.admittedCounter = meterRegistry.counter(METRIC_NAME, OUTCOME, "admitted");
+        this.queuedCounter = meterRegistry.counter(METRIC_NAME, OUTCOME, "queued");
+        this.shedCounter = meterRegistry.counter(METRIC_NAME, OUTCOME, "shed");
+        this.queueWaitTimer = meterRegistry.timer(METRIC_NAME + ".wait");
+        Gauge.builder(METRIC_NAME + ".in_flight", inFlight, AtomicInteger::get).register(meterRegistry);
+        Gauge.builder(METRIC_NAME + ".queued", queued, AtomicInteger::get).register(meterRegistry);
+    }
+
+    public <T> Mono<T> admit(Supplier<Mono<T>> action) {
+        return Mono.defer(() -> {
+            Ticket ticket = new Ticket();
+            return acquire(ticket)
+                    .then(Mono.defer(() -> ticket.start() ? action.get() : Mono.<T>empty()))
+                    // Único punto de limpieza: libera el cupo o saca el ticket de la cola, sin importar cómo termine
+                    .doFinally(signal -> finish(ticket));
+        });
+    }
+
+    private Mono<Void> acquire(Ticket ticket) {
+        if (tryAcquire()) {
+            ticket.grant();
+            admittedCounter.increment();
+            return Mono.empty();
+        }
+        if (queued.incrementAndGet() > maxQueued) {
+            queued.decrementAndGet();
+            return shed();
+        }
+        queuedCounter.increment();
+        long start = System.nanoTime();
+        return Mono.<Void>create(sink -> {
+                    ticket.sink = sink;
+                    waiting.add(ticket);
+                    drain();
+                })
+                .timeout(maxQueueWait, Mono.defer(this::shed))
+                .doOnSuccess(ignored -> {
+                    queueWaitTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+                    admittedCounter.increment();
+                });
+    }
+
+    private Mono<Void> shed() {
+        shedCounter.increment();
+        return Mono.error(new ServiceUnavailableException(SHED_MESSAGE, retryAfter));
+    }
+
+    private boolean tryAcquire() {
+        int current = inFlight.get();
+        while (current < maxConcurrent) {
+            if (inFlight.compareAndSet(current, current + 1)) {
+                return true;
+            }
+            current = inFlight.get();
+        }
+        return false;
+    }
+
+    private void release() {
+        inFlight.decrementAndGet();
+        drain();
+    }
+
+    // Entrega cupos libres a los que esperan. Se toma el cupo antes de sacar al siguiente de la cola,
+    // así una liberación concurrente con un encolamiento nunca deja a alguien esperando con cupo disponible.
+    private void drain() {
+        while (!waiting.isEmpty() && tryAcquire()) {
+            Ticket ticket = waiting.poll();
+            if (ticket == null) {
+                inFlight.decrementAndGet();
+                continue;
+            }
+            queued.decrementAndGet();
+            if (ticket.grant()) {
+                ticket.sink.success();
+            } else {
+                inFlight.decrementAndGet();
+            }
+        }
+    }
+
+    private void finish(Ticket ticket) {
+        int previous = ticket.finish();
+        if (previous == Ticket.WAITING) {
+            if (waiting.remove(ticket)) {
+                queued.decrementAndGet();
+            }
+        } else if (previous == Ticket.GRANTED || previous == Ticket.STARTED) {
+            release();
+        }
+    }
+
+    private static final class Ticket {
+        private static final int WAITING = 0;
+        private static final int GRANTED = 1;
+        private static final int STARTED = 2;
+        private static final int DONE = 3;
+
+        private final AtomicInteger state = new AtomicInteger(WAITING);
+        private volatile MonoSink<Void> sink;
+
+        private boolean grant() {
+            return state.compareAndSet(WAITING, GRANTED);
+        }
+
+        private boolean start() {
+            return state.compareAndSet(GRANTED, STARTED);
+        }
+
+        private int finish() {
+            return state.getAndSet(DONE);
+        }
+    }
+}
@@ -0,0 +1,25 @@
+package co.com.sti.api.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "http-cache")
+public class HttpCacheProperties {
+    // Cache-Control de toda respuesta que no coincida con una regla
+    private String defaultCacheControl = "no-store";
+    // Reglas por patrón de ruta para GET y HEAD; gana la primera que coincida
+    private List<Rule> rules = new ArrayList<>();
+
+    @Getter
+    @Setter
+    public static class Rule {
+        private String path;
+        private String cacheControl;
+    }
+}
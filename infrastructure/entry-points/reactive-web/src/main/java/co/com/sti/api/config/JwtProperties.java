@@ -0,0 +1,77 @@
+package co.com.sti.api.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "jwt")
+public class JwtProperties {
+    // Clave HMAC en Base64 sin kid; verifica los tokens emitidos antes de introducir el anillo de claves
+    private String secret;
+    // Vigencia del token en milisegundos
+    private Long expiration;
+    // Algoritmo de firma de los tokens nuevos: HS256, ES256 o EdDSA
+    private String algorithm = "HS256";
+    // kid con el que se firman los tokens nuevos
+    private String activeKid;
+    // Anillo de claves HMAC en Base64 por kid; todas verifican, solo la activa firma
+    private Map<String, String> keys = new LinkedHashMap<>();
+    // Pares de claves asimétricas por kid para ES256/EdDSA; las públicas se publican en el JWKS
+    private Map<String, AsymmetricKey> keyPairs = new LinkedHashMap<>();
+    // Solo desarrollo: sin key-pairs se firma con una clave generada al arrancar, distinta en cada nodo y en cada reinicio
+    private boolean allowEphemeralKeys = false;
+    // Tiempo que clientes y proxies pueden cachear el JWKS
+    private Duration jwksMaxAge = Duration.ofHours(1);
+    private TokenCache tokenCache = new TokenCache();
+    private RefreshToken refreshToken = new RefreshToken();
+    private Revocation revocation = new Revocation();
+
+    @Getter
+    @Setter
+    public static class AsymmetricKey {
+        // PKCS#8 en Base64 o PEM; se omite en claves retiradas que solo verifican
+        private String privateKey;
+        // X.509 SubjectPublicKeyInfo en Base64 o PEM
+        private String publicKey;
+    }
+
+    @Getter
+    @Setter
+    public static class RefreshToken {
+        // Vigencia de cada refresh token; se renueva en cada rotación
+        private Duration ttl = Duration.ofDays(30);
+        // Vida máxima de una familia desde el login; pasado este tiempo la rotación se rechaza y hay que autenticarse
+        private Duration maxLifetime = Duration.ofDays(90);
+        // Frecuencia y tamaño de lote de la purga de tokens vencidos
+        private Duration purgeInterval = Duration.ofHours(1);
+        private int purgeBatchSize = 1000;
+    }
+
+    @Getter
+    @Setter
+    public static class Revocation {
+        // Cada cuánto se consultan en base de datos las revocaciones hechas por otros nodos
+        private Duration syncInterval = Duration.ofSeconds(2);
+        // Margen hacia atrás en cada consulta para no perder transacciones que confirmaron tarde
+        private Duration syncOverlap = Duration.ofSeconds(5);
+        // Cada cuánto se descartan revocaciones vencidas, se recrean los filtros y se purga la tabla
+        private Duration rebuildInterval = Duration.ofMinutes(10);
+        // Dimensionamiento mínimo de cada filtro de Bloom
+        private long expectedInsertions = 100_000;
+        private double falsePositiveRate = 0.001;
+        private int purgeBatchSize = 1000;
+    }
+
+    @Getter
+    @Setter
+    public static class TokenCache {
+        // Máximo de tokens verificados que se mantienen en memoria
+        private long maximumSize = 10_000;
+    }
+}
@@ -0,0 +1,21 @@
+package co.com.sti.api.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "security.login-admission")
+public class LoginAdmissionProperties {
+    // Verificaciones de login simultáneas; por encima de los hilos de hashing solo se agrega espera
+    private int maxConcurrent = Runtime.getRuntime().availableProcessors() * 2;
+    // Logins que pueden esperar turno; el resto se rechaza de inmediato con 503
+    private int maxQueued = 100;
+    // Tiempo máximo en cola antes de rechazar la solicitud
+    private Duration maxQueueWait = Duration.ofSeconds(2);
+    // Valor del header Retry-After en las respuestas 503
+    private Duration retryAfter = Duration.ofSeconds(1);
+}
@@ -0,0 +1,45 @@
+package co.com.sti.api.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "security.password-hashing")
+public class PasswordHashingProperties {
+    // Por defecto un hilo por núcleo: el hashing es CPU-bound y más hilos solo agregan cambios de contexto
+    private int threads = Runtime.getRuntime().availableProcessors();
+    private int queueCapacity = 256;
+    // Algoritmo para los hashes nuevos: bcrypt, argon2 o pbkdf2. Los hashes existentes se siguen verificando por su prefijo
+    private String algorithm = "bcrypt";
+    // Tiempo objetivo de una verificación BCrypt; el costo se calibra al arrancar para acercarse a él
+    private Duration targetVerificationTime = Duration.ofMillis(50);
+    // Límites del costo calibrado, la calibración nunca baja del mínimo aunque el host sea lento
+    private int minBcryptStrength = 10;
+    private int maxBcryptStrength = 16;
+    // Si se define, se usa este costo y se omite la calibración
+    private Integer bcryptStrength;
+    private Argon2 argon2 = new Argon2();
+    private Pbkdf2 pbkdf2 = new Pbkdf2();
+
+    @Getter
+    @Setter
+    public static class Argon2 {
+        private int saltLength = 16;
+        private int hashLength = 32;
+        private int parallelism = 1;
+        // Memoria por verificación en KiB, se reserva completa en cada hash
+        private int memoryKib = 19456;
+        private int iterations = 2;
+    }
+
+    @Getter
+    @Setter
+    public static class Pbkdf2 {
+        private int saltLength = 16;
+        private int iterations = 600000;
+    }
+}
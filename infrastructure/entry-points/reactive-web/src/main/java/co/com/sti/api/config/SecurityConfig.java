@@ -1,11 +1,13 @@
 package co.com.sti.api.config;
 
 import co.com.sti.api.security.JwtValidator;
+import co.com.sti.api.security.PasswordEncoderFactory;
 import co.com.sti.model.role.Role;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.http.HttpMethod;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.security.authentication.ReactiveAuthenticationManager;
@@ -14,7 +16,6 @@ import org.springframework.security.config.annotation.method.configuration.Enabl
 import org.springframework.security.config.annotation.web.reactive.EnableWebFluxSecurity;
 import org.springframework.security.config.web.server.ServerHttpSecurity;
 import org.springframework.security.core.context.SecurityContext;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.server.SecurityWebFilterChain;
 import org.springframework.security.web.server.context.ServerSecurityContextRepository;
@@ -65,18 +66,24 @@ public class SecurityConfig {
                 .securityContextRepository(securityContextRepository)
                 .authorizeExchange(authorize -> authorize
                         .pathMatchers("/v3/api-docs/**", "/swagger-ui/**", "/swagger-resources/**", "/swagger-ui.html", "/webjars/**", "api/doc/**").permitAll()
-                        .pathMatchers("/api/v1/usuarios").hasAnyRole(Role.ADMIN.getName(), Role.ADVISOR.getName())
+                        // El endpoint de la caché permite vaciarla en todos los nodos: solo administradores
+                        .pathMatchers("/actuator/usercache/**").hasRole(Role.ADMIN.getName())
+                        .pathMatchers(HttpMethod.DELETE, "/api/v1/usuarios/*/sesiones").hasRole(Role.ADMIN.getName())
+                        .pathMatchers(HttpMethod.GET, "/api/v1/usuarios/exportacion").hasRole(Role.ADMIN.getName())
+                        .pathMatchers("/api/v1/usuarios", "/api/v1/usuarios/importacion").hasAnyRole(Role.ADMIN.getName(), Role.ADVISOR.getName())
                         .pathMatchers("/api/v1/usuarios/**").hasAnyRole(Role.ADMIN.getName(), Role.ADVISOR.getName(), Role.CLIENT.getName())
 //                        .pathMatchers("/api/v1/usuarios").permitAll()
                         .pathMatchers("/api/v1/login").permitAll()
+                        .pathMatchers(HttpMethod.POST, "/api/v1/login/refresh").permitAll()
+                        .pathMatchers(HttpMethod.GET, "/.well-known/jwks.json").permitAll()
                         .anyExchange().authenticated()
                 )
                 .build();
     }
 
     @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+    public PasswordEncoder passwordEncoder(PasswordHashingProperties properties) {
+        return PasswordEncoderFactory.create(properties);
     }
 
     @Bean
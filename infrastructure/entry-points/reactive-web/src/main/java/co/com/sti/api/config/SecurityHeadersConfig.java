@@ -1,15 +1,33 @@
 package co.com.sti.api.config;
 
 import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.server.PathContainer;
 import org.springframework.stereotype.Component;
 import org.springframework.web.server.ServerWebExchange;
 import org.springframework.web.server.WebFilter;
 import org.springframework.web.server.WebFilterChain;
+import org.springframework.web.util.pattern.PathPattern;
+import org.springframework.web.util.pattern.PathPatternParser;
 import reactor.core.publisher.Mono;
 
+import java.util.List;
+
 @Component
 public class SecurityHeadersConfig implements WebFilter {
 
+    private final TaskPath taskPath;
+    private final HttpCacheProperties httpCacheProperties;
+    private final List<CacheRule> cacheRules;
+
+    public SecurityHeadersConfig(TaskPath taskPath, HttpCacheProperties httpCacheProperties) {
+        this.taskPath = taskPath;
+        this.httpCacheProperties = httpCacheProperties;
+        this.cacheRules = httpCacheProperties.getRules().stream()
+                .map(rule -> new CacheRule(PathPatternParser.defaultInstance.parse(rule.getPath()), rule.getCacheControl()))
+                .toList();
+    }
+
     @Override
     public Mono<Void> filter(ServerWebExchange exchange, WebFilterChain chain) {
         HttpHeaders headers = exchange.getResponse().getHeaders();
@@ -17,9 +35,32 @@ public class SecurityHeadersConfig implements WebFilter {
         headers.set("Strict-Transport-Security", "max-age=31536000;");
         headers.set("X-Content-Type-Options", "nosniff");
         headers.set("Server", "");
-        headers.set("Cache-Control", "no-store");
-        headers.set("Pragma", "no-cache");
+        // El JWKS es público y estable: su handler define un Cache-Control de larga duración
+        if (!exchange.getRequest().getPath().value().equals(taskPath.getJwks())) {
+            String cacheControl = cacheControl(exchange);
+            headers.set("Cache-Control", cacheControl);
+            if (cacheControl.contains("no-store")) {
+                headers.set("Pragma", "no-cache");
+            }
+        }
         headers.set("Referrer-Policy", "strict-origin-when-cross-origin");
         return chain.filter(exchange);
     }
+
+    // Solo las lecturas pueden guardarse y revalidarse; cualquier otro método queda con el valor por defecto
+    private String cacheControl(ServerWebExchange exchange) {
+        HttpMethod method = exchange.getRequest().getMethod();
+        if (HttpMethod.GET.equals(method) || HttpMethod.HEAD.equals(method)) {
+            PathContainer path = exchange.getRequest().getPath().pathWithinApplication();
+            for (CacheRule rule : cacheRules) {
+                if (rule.pattern().matches(path)) {
+                    return rule.cacheControl();
+                }
+            }
+        }
+        return httpCacheProperties.getDefaultCacheControl();
+    }
+
+    private record CacheRule(PathPattern pattern, String cacheControl) {
+    }
 }
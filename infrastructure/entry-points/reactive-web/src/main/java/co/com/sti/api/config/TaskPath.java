@@ -10,5 +10,12 @@ import org.springframework.boot.context.properties.ConfigurationProperties;
 public class TaskPath {
     private String tasks;
     private String tasksById;
+    private String taskImport;
+    private String taskExport;
+    private String taskBatchLookup;
     private String taskAuth;
+    private String taskRefresh;
+    private String taskLogout;
+    private String taskRevokeSessions;
+    private String jwks;
 }
@@ -0,0 +1,13 @@
+package co.com.sti.api.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "user-batch-lookup")
+public class UserBatchLookupProperties {
+    // Documentos más emails por petición; acota el tamaño de los arreglos que se envían a ANY($1)
+    private int maxKeys = 200;
+}
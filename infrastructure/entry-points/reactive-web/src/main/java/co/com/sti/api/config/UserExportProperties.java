@@ -0,0 +1,13 @@
+package co.com.sti.api.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "user-export")
+public class UserExportProperties {
+    // Filas por escritura al socket; agrupar evita un write (y un bloque gzip) por usuario
+    private int rowsPerChunk = 200;
+}
@@ -0,0 +1,21 @@
+package co.com.sti.api.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "user-import")
+public class UserImportProperties {
+    // Usuarios por INSERT multi-fila; el máximo lo fija el límite de parámetros de Postgres
+    private int batchSize = 500;
+    // Un lote incompleto se envía al pasar este tiempo, para que un cliente lento vea resultados
+    private Duration maxBatchWait = Duration.ofMillis(250);
+    // Hashes en paralelo por importación; por defecto la mitad de los hilos de hashing, el resto queda para los logins
+    private int hashConcurrency = Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+    // Tamaño máximo de una línea NDJSON/CSV
+    private int maxLineLength = 16 * 1024;
+}
@@ -0,0 +1,15 @@
+package co.com.sti.api.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "user-listing")
+public class UserListingProperties {
+    // Usuarios por página cuando el cliente no envía limit
+    private int defaultLimit = 20;
+    // Tope de limit; un valor mayor se recorta en lugar de rechazarse
+    private int maxLimit = 100;
+}
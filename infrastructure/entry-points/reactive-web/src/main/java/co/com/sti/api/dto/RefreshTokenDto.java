@@ -0,0 +1,14 @@
+package co.com.sti.api.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Setter
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+public class RefreshTokenDto {
+    private String refreshToken;
+}
@@ -0,0 +1,9 @@
+package co.com.sti.api.dto;
+
+import java.util.List;
+
+// Claves a resolver en una sola petición; cualquiera de las dos listas puede omitirse
+public record UserBatchLookupRequestDTO(
+        List<String> numberIdentities,
+        List<String> emails) {
+}
@@ -0,0 +1,10 @@
+package co.com.sti.api.dto;
+
+import java.util.List;
+import java.util.Map;
+
+// users va indexado por la clave pedida (documento o email); missing lista las claves sin usuario
+public record UserBatchLookupResponseDTO(
+        Map<String, UserSummaryDTO> users,
+        List<String> missing) {
+}
@@ -0,0 +1,10 @@
+package co.com.sti.api.dto;
+
+// Resultado de un registro de la importación; line es la línea del archivo (1 = primera)
+public record UserImportResultDTO(
+        long line,
+        String status,
+        String email,
+        String numberIdentity,
+        String message) {
+}
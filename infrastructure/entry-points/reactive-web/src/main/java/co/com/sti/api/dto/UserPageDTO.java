@@ -0,0 +1,9 @@
+package co.com.sti.api.dto;
+
+import java.util.List;
+
+// Página del listado; nextCursor se envía como "after" para pedir la siguiente y es nulo en la última
+public record UserPageDTO(
+        List<UserSummaryDTO> users,
+        Long nextCursor) {
+}
@@ -0,0 +1,40 @@
+package co.com.sti.api.dto;
+
+import co.com.sti.model.user.UserProfile;
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Set;
+
+// Respuesta de la consulta por documento; los campos no pedidos en fields quedan nulos y no se serializan
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record UserProfileDTO(
+        String name,
+        String lastName,
+        String email,
+        String numberIdentity,
+        LocalDate birthDate,
+        String phoneNumber,
+        String address,
+        Integer idRole,
+        BigDecimal salary) {
+
+    public static final Set<String> FIELDS = Set.of("name", "lastName", "email", "numberIdentity", "birthDate",
+            "phoneNumber", "address", "idRole", "salary");
+
+    // Un conjunto vacío significa todos los campos
+    public static UserProfileDTO from(UserProfile profile, Set<String> fields) {
+        boolean all = fields.isEmpty();
+        return new UserProfileDTO(
+                all || fields.contains("name") ? profile.getName() : null,
+                all || fields.contains("lastName") ? profile.getLastName() : null,
+                all || fields.contains("email") ? profile.getEmail() : null,
+                all || fields.contains("numberIdentity") ? profile.getNumberIdentity() : null,
+                all || fields.contains("birthDate") ? profile.getBirthDate() : null,
+                all || fields.contains("phoneNumber") ? profile.getPhoneNumber() : null,
+                all || fields.contains("address") ? profile.getAddress() : null,
+                all || fields.contains("idRole") ? profile.getIdRole() : null,
+                all || fields.contains("salary") ? profile.getSalary() : null);
+    }
+}
@@ -0,0 +1,24 @@
+package co.com.sti.api.dto;
+
+import co.com.sti.model.user.User;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+// Usuario tal como sale en listados y exportaciones; mismos campos que CreateUserDTO para que pueda volver a importarse. Nunca lleva contraseña
+public record UserSummaryDTO(
+        String name,
+        String lastName,
+        String email,
+        String numberIdentity,
+        LocalDate birthDate,
+        String phoneNumber,
+        String address,
+        Integer idRole,
+        BigDecimal salary) {
+
+    public static UserSummaryDTO from(User user) {
+        return new UserSummaryDTO(user.getName(), user.getLastName(), user.getEmail(), user.getNumberIdentity(),
+                user.getBirthDate(), user.getPhoneNumber(), user.getAddress(), user.getIdRole(), user.getSalary());
+    }
+}
@@ -1,10 +1,12 @@
 package co.com.sti.api.exceptions;
 
+import co.com.sti.usecase.exceptios.InvalidRefreshTokenException;
 import co.com.sti.usecase.exceptios.InvalidUserDataException;
 import co.com.sti.usecase.exceptios.UserAlreadyExistsException;
 import co.com.sti.usecase.exceptios.UserNotExistsException;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.ControllerAdvice;
@@ -13,6 +15,7 @@ import reactor.core.publisher.Mono;
 
 import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.RejectedExecutionException;
 
 @Slf4j
 @ControllerAdvice
@@ -46,6 +49,37 @@ public class GlobalExceptionHandler {
         return Mono.just(ResponseEntity.status(HttpStatus.BAD_REQUEST).body(errorResponse));
     }
 
+    @ExceptionHandler(InvalidRefreshTokenException.class)
+    public Mono<ResponseEntity<Map<String, String>>> handleInvalidRefreshToken(InvalidRefreshTokenException ex) {
+        Map<String, String> errorResponse = new HashMap<>();
+        errorResponse.put("error", "No autorizado");
+        errorResponse.put("message", ex.getMessage());
+        log.warn(errorResponse.toString());
+        return Mono.just(ResponseEntity.status(HttpStatus.UNAUTHORIZED).body(errorResponse));
+    }
+
+    @ExceptionHandler(ServiceUnavailableException.class)
+    public Mono<ResponseEntity<Map<String, String>>> handleServiceUnavailable(ServiceUnavailableException ex) {
+        Map<String, String> errorResponse = new HashMap<>();
+        errorResponse.put("error", "Servicio no disponible");
+        errorResponse.put("message", ex.getMessage());
+        log.warn(errorResponse.toString());
+        return Mono.just(ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(Math.max(1, ex.getRetryAfter().toSeconds())))
+                .body(errorResponse));
+    }
+
+    // La cola del scheduler de hashing está llena: mismo tratamiento que el rechazo por admisión
+    @ExceptionHandler(RejectedExecutionException.class)
+    public Mono<ResponseEntity<Map<String, String>>> handleRejectedExecution(RejectedExecutionException ex) {
+        Map<String, String> errorResponse = new HashMap<>();
+        errorResponse.put("error", "Servicio no disponible");
+        errorResponse.put("message", "El servicio está saturado, intente de nuevo más tarde");
+        log.warn(errorResponse.toString());
+        return Mono.just(ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, "1")
+                .body(errorResponse));
+    }
 
     @ExceptionHandler(Exception.class)
     public Mono<ResponseEntity<Map<String, String>>> handleAllException(Exception ex) {
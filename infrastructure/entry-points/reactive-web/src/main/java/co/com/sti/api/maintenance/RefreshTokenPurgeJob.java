@@ -0,0 +1,52 @@
+package co.com.sti.api.maintenance;
+
+import co.com.sti.api.config.JwtProperties;
+import co.com.sti.usecase.refreshtoken.IRefreshTokenUseCase;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Elimina periódicamente los refresh tokens vencidos en lotes acotados, para no mantener locks largos
+ * ni competir con los logins. Los tokens usados se conservan hasta vencer para poder detectar su reutilización.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class RefreshTokenPurgeJob {
+
+    private final IRefreshTokenUseCase refreshTokenUseCase;
+    private final JwtProperties jwtProperties;
+    private Disposable subscription;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        JwtProperties.RefreshToken settings = jwtProperties.getRefreshToken();
+        subscription = Flux.interval(settings.getPurgeInterval())
+                .onBackpressureDrop()
+                .concatMap(tick -> refreshTokenUseCase.purgeExpired(settings.getPurgeBatchSize())
+                        .doOnNext(deleted -> {
+                            if (deleted > 0) {
+                                log.info("Refresh tokens vencidos eliminados: {}", deleted);
+                            }
+                        })
+                        .onErrorResume(error -> {
+                            log.warn("No se pudieron purgar los refresh tokens vencidos: {}", error.getMessage());
+                            return Mono.empty();
+                        }))
+                .subscribe();
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (subscription != null) {
+            subscription.dispose();
+        }
+    }
+}
@@ -0,0 +1,94 @@
+package co.com.sti.api.maintenance;
+
+import co.com.sti.api.config.JwtProperties;
+import co.com.sti.api.security.TokenRevocationRegistry;
+import co.com.sti.model.revocation.RevokedToken;
+import co.com.sti.model.revocation.TokenEpoch;
+import co.com.sti.usecase.revocation.ITokenRevocationUseCase;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import reactor.core.Disposable;
+import reactor.core.Disposables;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.time.Instant;
+
+/**
+ * Mantiene {@link TokenRevocationRegistry} al día con las revocaciones de todos los nodos. Cada pocos
+ * segundos lee lo registrado desde la última marca de agua (con un margen hacia atrás para transacciones
+ * que confirmaron tarde; aplicar dos veces la misma revocación no tiene efecto) y, con menor frecuencia,
+ * recrea los filtros y purga de la base las revocaciones de tokens ya vencidos.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class TokenRevocationSyncJob {
+
+    private final ITokenRevocationUseCase tokenRevocationUseCase;
+    private final TokenRevocationRegistry tokenRevocationRegistry;
+    private final JwtProperties jwtProperties;
+    private final Disposable.Composite subscriptions = Disposables.composite();
+    private Instant revokedTokensWatermark = Instant.EPOCH;
+    private Instant tokenEpochsWatermark = Instant.EPOCH;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        JwtProperties.Revocation settings = jwtProperties.getRevocation();
+        subscriptions.add(Flux.interval(Duration.ZERO, settings.getSyncInterval())
+                .onBackpressureDrop()
+                .concatMap(tick -> sync()
+                        .onErrorResume(error -> {
+                            log.warn("No se pudieron sincronizar las revocaciones de tokens: {}", error.getMessage());
+                            return Mono.empty();
+                        }))
+                .subscribe());
+        subscriptions.add(Flux.interval(settings.getRebuildInterval())
+                .onBackpressureDrop()
+                .concatMap(tick -> Mono.fromRunnable(tokenRevocationRegistry::rebuild)
+                        .then(tokenRevocationUseCase.purgeExpired(settings.getPurgeBatchSize()))
+                        .doOnNext(deleted -> {
+                            if (deleted > 0) {
+                                log.info("Revocaciones de tokens vencidos eliminadas: {}", deleted);
+                            }
+                        })
+                        .onErrorResume(error -> {
+                            log.warn("No se pudieron purgar las revocaciones vencidas: {}", error.getMessage());
+                            return Mono.empty();
+                        }))
+                .subscribe());
+    }
+
+    Mono<Void> sync() {
+        Duration overlap = jwtProperties.getRevocation().getSyncOverlap();
+        return tokenRevocationUseCase.revokedTokensSince(revokedTokensWatermark.minus(overlap))
+                .doOnNext(this::applyRevokedToken)
+                .thenMany(tokenRevocationUseCase.tokenEpochsSince(tokenEpochsWatermark.minus(overlap)))
+                .doOnNext(this::applyTokenEpoch)
+                .then();
+    }
+
+    private void applyRevokedToken(RevokedToken revokedToken) {
+        tokenRevocationRegistry.apply(revokedToken);
+        if (revokedToken.getRevokedAt() != null && revokedToken.getRevokedAt().isAfter(revokedTokensWatermark)) {
+            revokedTokensWatermark = revokedToken.getRevokedAt();
+        }
+    }
+
+    private void applyTokenEpoch(TokenEpoch tokenEpoch) {
+        tokenRevocationRegistry.apply(tokenEpoch);
+        if (tokenEpoch.getUpdatedAt() != null && tokenEpoch.getUpdatedAt().isAfter(tokenEpochsWatermark)) {
+            tokenEpochsWatermark = tokenEpoch.getUpdatedAt();
+        }
+    }
+
+    @PreDestroy
+    public void stop() {
+        subscriptions.dispose();
+    }
+}
@@ -3,11 +3,16 @@ package co.com.sti.api.mapper;
 import co.com.sti.api.dto.CreateUserDTO;
 import co.com.sti.model.user.User;
 import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
 
 @Mapper(componentModel = "spring")
 public interface UserDTOMapper {
 
     CreateUserDTO toResponse(User user);
+
+    // La contraseña la asigna el handler ya cifrada y la versión la controla la base al guardar
+    @Mapping(target = "password", ignore = true)
+    @Mapping(target = "version", ignore = true)
     User toModel(CreateUserDTO createUserDTO);
 
 }
@@ -0,0 +1,48 @@
+package co.com.sti.api.security;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.security.crypto.bcrypt.BCrypt;
+
+import java.time.Duration;
+
+@Slf4j
+public final class BCryptStrengthCalibrator {
+
+    private static final String SAMPLE_PASSWORD = "calibration-sample-password";
+    private static final int WARMUP_ROUNDS = 2;
+    private static final int MEASURED_ROUNDS = 3;
+
+    private BCryptStrengthCalibrator() {
+    }
+
+    /**
+     * Mide el tiempo de un hash con el costo mínimo en este host y extrapola el costo cuyo tiempo
+     * queda más cerca del objetivo sin superarlo. Cada punto de costo duplica el trabajo de BCrypt.
+     */
+    public static int calibrate(Duration target, int minStrength, int maxStrength) {
+        String salt = BCrypt.gensalt(minStrength);
+        for (int i = 0; i < WARMUP_ROUNDS; i++) {
+            BCrypt.hashpw(SAMPLE_PASSWORD, salt);
+        }
+        long bestNanos = Long.MAX_VALUE;
+        for (int i = 0; i < MEASURED_ROUNDS; i++) {
+            long start = System.nanoTime();
+            BCrypt.hashpw(SAMPLE_PASSWORD, salt);
+            bestNanos = Math.min(bestNanos, System.nanoTime() - start);
+        }
+        int strength = strengthFor(target.toNanos(), bestNanos, minStrength, maxStrength);
+        log.info("Costo BCrypt calibrado: {} (costo {} tomó {} ms, objetivo {} ms)",
+                strength, minStrength, Duration.ofNanos(bestNanos).toMillis(), target.toMillis());
+        return strength;
+    }
+
+    static int strengthFor(long targetNanos, long minStrengthNanos, int minStrength, int maxStrength) {
+        int strength = minStrength;
+        long estimated = Math.max(minStrengthNanos, 1L);
+        while (strength < maxStrength && estimated * 2 <= targetNanos) {
+            estimated *= 2;
+            strength++;
+        }
+        return strength;
+    }
+}
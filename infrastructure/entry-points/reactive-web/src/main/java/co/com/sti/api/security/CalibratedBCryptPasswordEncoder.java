@@ -0,0 +1,38 @@
+package co.com.sti.api.security;
+
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+public class CalibratedBCryptPasswordEncoder extends BCryptPasswordEncoder {
+
+    // Formato del hash: $2a$10$<salt+hash>, el costo son los dos dígitos tras la versión
+    private static final int COST_START = 4;
+    private static final int COST_END = 6;
+
+    private final int strength;
+
+    public CalibratedBCryptPasswordEncoder(int strength) {
+        super(strength);
+        this.strength = strength;
+    }
+
+    public int getStrength() {
+        return strength;
+    }
+
+    /**
+     * A diferencia de {@link BCryptPasswordEncoder}, pide re-hash cuando el costo almacenado es distinto
+     * al calibrado en cualquier dirección, para que bajar el costo en nodos más pequeños también tenga efecto.
+     */
+    @Override
+    public boolean upgradeEncoding(String encodedPassword) {
+        if (encodedPassword == null || encodedPassword.length() < COST_END + 1
+                || encodedPassword.charAt(0) != '$' || encodedPassword.charAt(COST_END) != '$') {
+            return false;
+        }
+        try {
+            return Integer.parseInt(encodedPassword.substring(COST_START, COST_END)) != strength;
+        } catch (NumberFormatException e) {
+            return false;
+        }
+    }
+}
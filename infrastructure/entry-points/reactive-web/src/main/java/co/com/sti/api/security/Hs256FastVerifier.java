@@ -0,0 +1,374 @@
+package co.com.sti.api.security;
+
+import javax.crypto.Mac;
+import javax.crypto.SecretKey;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.util.Arrays;
+import java.util.IdentityHashMap;
+import java.util.Map;
+
+/**
+ * Verificador especializado para los tokens HS256 que emite este servicio. Trabaja directamente sobre los
+ * caracteres del token con buffers y {@link Mac} reutilizados por hilo, compara la firma en tiempo constante y
+ * solo extrae email, idRole, jti, sid, iat y exp. Devuelve null ante cualquier cosa que no sea el formato esperado (otro
+ * algoritmo, claims desconocidas, escapes, token vencido o firma inválida) para que el llamador use jjwt,
+ * que produce el error exacto.
+ */
+public final class Hs256FastVerifier {
+
+    private static final int SIGNATURE_LENGTH = 32;
+    private static final byte[] ALG = ascii("alg");
+    private static final byte[] TYP = ascii("typ");
+    private static final byte[] KID = ascii("kid");
+    private static final byte[] HS256 = ascii("HS256");
+    private static final byte[] JWT = ascii("JWT");
+    private static final byte[] EMAIL = ascii("email");
+    private static final byte[] ID_ROLE = ascii("idRole");
+    private static final byte[] SUB = ascii("sub");
+    private static final byte[] JTI = ascii("jti");
+    private static final byte[] SID = ascii("sid");
+    private static final byte[] IAT = ascii("iat");
+    private static final byte[] EXP = ascii("exp");
+    private static final byte[] BASE64_URL = new byte[128];
+
+    static {
+        Arrays.fill(BASE64_URL, (byte) -1);
+        String alphabet = "ABCDEFGHIJKLMNOPQRSTUVWXYZabcdefghijklmnopqrstuvwxyz0123456789-_";
+        for (int i = 0; i < alphabet.length(); i++) {
+            BASE64_URL[alphabet.charAt(i)] = (byte) i;
+        }
+    }
+
+    private final JwtKeyManager jwtKeyManager;
+    private final ThreadLocal<Scratch> scratch = ThreadLocal.withInitial(Scratch::new);
+
+    public Hs256FastVerifier(JwtKeyManager jwtKeyManager) {
+        this.jwtKeyManager = jwtKeyManager;
+    }
+
+    // jti y sid son null en tokens emitidos antes de incluirlos; issuedAtMillis es 0 si el token no trae iat
+    public record VerifiedClaims(String email, Integer idRole, String jti, String sid, long issuedAtMillis, long expiresAtMillis) {
+    }
+
+    public VerifiedClaims verify(String token) {
+        int firstDot = token.indexOf('.');
+        int secondDot = firstDot < 0 ? -1 : token.indexOf('.', firstDot + 1);
+        if (secondDot < 0 || token.indexOf('.', secondDot + 1) >= 0) {
+            return null;
+        }
+        Scratch s = scratch.get();
+        s.reset();
+
+        int headerLength = decode(token, 0, firstDot, s.ensureDecoded(firstDot));
+        if (headerLength < 0 || !scanHeader(s.decoded, headerLength, s)) {
+            return null;
+        }
+        Mac mac = s.macFor(jwtKeyManager);
+        if (mac == null) {
+            return null;
+        }
+
+        // Firma: HMAC sobre "header.payload" en ASCII y comparación en tiempo constante
+        byte[] signingInput = s.ensureAscii(secondDot);
+        for (int i = 0; i < secondDot; i++) {
+            char c = token.charAt(i);
+            if (c > 127) {
+                return null;
+            }
+            signingInput[i] = (byte) c;
+        }
+        mac.update(signingInput, 0, secondDot);
+        try {
+            mac.doFinal(s.expected, 0);
+        } catch (GeneralSecurityException e) {
+            return null;
+        }
+        if (decode(token, secondDot + 1, token.length(), s.signature) != SIGNATURE_LENGTH
+                || !constantTimeEquals(s.expected, s.signature)) {
+            return null;
+        }
+
+        int payloadLength = decode(token, firstDot + 1, secondDot, s.ensureDecoded(secondDot - firstDot));
+        if (payloadLength < 0 || !scanPayload(s.decoded, payloadLength, s)) {
+            return null;
+        }
+        if (s.emailStart < 0 || s.idRole == null || s.exp < 0
+                || s.exp * 1000 <= System.currentTimeMillis()) {
+            return null;
+        }
+        String email = new String(s.decoded, s.emailStart, s.emailEnd - s.emailStart, StandardCharsets.UTF_8);
+        String jti = s.jtiStart < 0 ? null : new String(s.decoded, s.jtiStart, s.jtiEnd - s.jtiStart, StandardCharsets.US_ASCII);
+        String sid = s.sidStart < 0 ? null : new String(s.decoded, s.sidStart, s.sidEnd - s.sidStart, StandardCharsets.US_ASCII);
+        return new VerifiedClaims(email, s.idRole, jti, sid, Math.max(0, s.iat) * 1000, s.exp * 1000);
+    }
+
+    private static boolean scanHeader(byte[] json, int length, Scratch s) {
+        int i = skipWhitespace(json, 0, length);
+        if (i >= length || json[i++] != '{') {
+            return false;
+        }
+        boolean algOk = false;
+        while (true) {
+            i = skipWhitespace(json, i, length);
+            int keyStart = i + 1;
+            int keyEnd = stringEnd(json, i, length);
+            if (keyEnd < 0) {
+                return false;
+            }
+            i = skipWhitespace(json, keyEnd + 1, length);
+            if (i >= length || json[i++] != ':') {
+                return false;
+            }
+            i = skipWhitespace(json, i, length);
+            int valueStart = i + 1;
+            int valueEnd = stringEnd(json, i, length);
+            if (valueEnd < 0) {
+                return false;
+            }
+            if (matches(json, keyStart, keyEnd, ALG)) {
+                algOk = matches(json, valueStart, valueEnd, HS256);
+            } else if (matches(json, keyStart, keyEnd, KID)) {
+                s.kidStart = valueStart;
+                s.kidEnd = valueEnd;
+            } else if (!matches(json, keyStart, keyEnd, TYP) || !matches(json, valueStart, valueEnd, JWT)) {
+                return false;
+            }
+            i = skipWhitespace(json, valueEnd + 1, length);
+            if (i >= length) {
+                return false;
+            }
+            if (json[i] == '}') {
+                return algOk && skipWhitespace(json, i + 1, length) == length;
+            }
+            if (json[i++] != ',') {
+                return false;
+            }
+        }
+    }
+
+    private static boolean scanPayload(byte[] json, int length, Scratch s) {
+        int i = skipWhitespace(json, 0, length);
+        if (i >= length || json[i++] != '{') {
+            return false;
+        }
+        while (true) {
+            i = skipWhitespace(json, i, length);
+            int keyStart = i + 1;
+            int keyEnd = stringEnd(json, i, length);
+            if (keyEnd < 0) {
+                return false;
+            }
+            i = skipWhitespace(json, keyEnd + 1, length);
+            if (i >= length || json[i++] != ':') {
+                return false;
+            }
+            i = skipWhitespace(json, i, length);
+            int valueEnd;
+            if (i < length && json[i] == '"') {
+                valueEnd = stringEnd(json, i, length);
+                if (valueEnd < 0) {
+                    return false;
+                }
+                if (matches(json, keyStart, keyEnd, EMAIL)) {
+                    s.emailStart = i + 1;
+                    s.emailEnd = valueEnd;
+                } else if (matches(json, keyStart, keyEnd, JTI)) {
+                    s.jtiStart = i + 1;
+                    s.jtiEnd = valueEnd;
+                } else if (matches(json, keyStart, keyEnd, SID)) {
+                    s.sidStart = i + 1;
+                    s.sidEnd = valueEnd;
+                } else if (!matches(json, keyStart, keyEnd, SUB)) {
+                    return false;
+                }
+                valueEnd++;
+            } else {
+                long number = 0;
+                valueEnd = i;
+                while (valueEnd < length && json[valueEnd] >= '0' && json[valueEnd] <= '9' && valueEnd - i < 18) {
+                    number = number * 10 + (json[valueEnd++] - '0');
+                }
+                if (valueEnd == i) {
+                    return false;
+                }
+                if (matches(json, keyStart, keyEnd, ID_ROLE)) {
+                    if (number > Integer.MAX_VALUE) {
+                        return false;
+                    }
+                    s.idRole = (int) number;
+                } else if (matches(json, keyStart, keyEnd, EXP)) {
+                    s.exp = number;
+                } else if (matches(json, keyStart, keyEnd, IAT)) {
+                    s.iat = number;
+                } else {
+                    return false;
+                }
+            }
+            i = skipWhitespace(json, valueEnd, length);
+            if (i >= length) {
+                return false;
+            }
+            if (json[i] == '}') {
+                return skipWhitespace(json, i + 1, length) == length;
+            }
+            if (json[i++] != ',') {
+                return false;
+            }
+        }
+    }
+
+    // Índice de la comilla de cierre de un string sin escapes que empieza en 'quote'; -1 si no cumple
+    private static int stringEnd(byte[] json, int quote, int length) {
+        if (quote >= length || json[quote] != '"') {
+            return -1;
+        }
+        for (int i = quote + 1; i < length; i++) {
+            byte b = json[i];
+            if (b == '"') {
+                return i;
+            }
+            if (b == '\\' || (b >= 0 && b < 0x20)) {
+                return -1;
+            }
+        }
+        return -1;
+    }
+
+    private static int skipWhitespace(byte[] json, int from, int length) {
+        int i = from;
+        while (i < length && (json[i] == ' ' || json[i] == '\t' || json[i] == '\n' || json[i] == '\r')) {
+            i++;
+        }
+        return i;
+    }
+
+    private static boolean matches(byte[] json, int start, int end, byte[] literal) {
+        return Arrays.equals(json, start, end, literal, 0, literal.length);
+    }
+
+    // Decodifica Base64URL sin relleno en 'out'; -1 si hay caracteres inválidos o bits sobrantes
+    private static int decode(String source, int from, int to, byte[] out) {
+        if ((to - from) % 4 == 1) {
+            return -1;
+        }
+        int accumulator = 0;
+        int bits = 0;
+        int written = 0;
+        for (int i = from; i < to; i++) {
+            char c = source.charAt(i);
+            int value = c < 128 ? BASE64_URL[c] : -1;
+            if (value < 0) {
+                return -1;
+            }
+            accumulator = (accumulator << 6) | value;
+            bits += 6;
+            if (bits >= 8) {
+                bits -= 8;
+                if (written == out.length) {
+                    return -1;
+                }
+                out[written++] = (byte) (accumulator >> bits);
+                accumulator &= (1 << bits) - 1;
+            }
+        }
+        return accumulator == 0 ? written : -1;
+    }
+
+    private static boolean constantTimeEquals(byte[] a, byte[] b) {
+        int diff = 0;
+        for (int i = 0; i < SIGNATURE_LENGTH; i++) {
+            diff |= a[i] ^ b[i];
+        }
+        return diff == 0;
+    }
+
+    private static byte[] ascii(String value) {
+        return value.getBytes(StandardCharsets.US_ASCII);
+    }
+
+    /**
+     * Buffers y Mac de un hilo; se reutilizan entre validaciones para no asignar memoria en el camino feliz.
+     */
+    private static final class Scratch {
+        private final Map<SecretKey, Mac> macs = new IdentityHashMap<>();
+        private final byte[] expected = new byte[SIGNATURE_LENGTH];
+        // Un byte extra detecta firmas más largas que HS256
+        private final byte[] signature = new byte[SIGNATURE_LENGTH + 1];
+        private byte[] decoded = new byte[512];
+        private byte[] ascii = new byte[1024];
+        private byte[] lastKid;
+        private boolean lastKidPresent;
+        private Mac lastMac;
+        private int kidStart;
+        private int kidEnd;
+        private int emailStart;
+        private int emailEnd;
+        private int jtiStart;
+        private int jtiEnd;
+        private int sidStart;
+        private int sidEnd;
+        private Integer idRole;
+        private long iat;
+        private long exp;
+
+        void reset() {
+            kidStart = -1;
+            kidEnd = -1;
+            emailStart = -1;
+            emailEnd = -1;
+            jtiStart = -1;
+            jtiEnd = -1;
+            sidStart = -1;
+            sidEnd = -1;
+            idRole = null;
+            iat = -1;
+            exp = -1;
+        }
+
+        byte[] ensureDecoded(int encodedLength) {
+            int needed = encodedLength * 3 / 4 + 1;
+            if (decoded.length < needed) {
+                decoded = new byte[needed];
+            }
+            return decoded;
+        }
+
+        byte[] ensureAscii(int length) {
+            if (ascii.length < length) {
+                ascii = new byte[length];
+            }
+            return ascii;
+        }
+
+        // Reutiliza el Mac del último kid visto por este hilo; solo busca la clave cuando el kid cambia.
+        // Se invoca justo después de leer el header, mientras 'decoded' aún contiene el kid.
+        Mac macFor(JwtKeyManager jwtKeyManager) {
+            boolean kidPresent = kidStart >= 0;
+            if (lastMac != null && kidPresent == lastKidPresent
+                    && (!kidPresent || Arrays.equals(decoded, kidStart, kidEnd, lastKid, 0, lastKid.length))) {
+                return lastMac;
+            }
+            byte[] kid = kidPresent ? Arrays.copyOfRange(decoded, kidStart, kidEnd) : null;
+            SecretKey key = jwtKeyManager.hmacKey(kid != null ? new String(kid, StandardCharsets.UTF_8) : null);
+            if (key == null) {
+                return null;
+            }
+            Mac mac = macs.computeIfAbsent(key, Scratch::newMac);
+            lastKid = kid;
+            lastKidPresent = kidPresent;
+            lastMac = mac;
+            return mac;
+        }
+
+        private static Mac newMac(SecretKey key) {
+            try {
+                Mac mac = Mac.getInstance("HmacSHA256");
+                mac.init(key);
+                return mac;
+            } catch (GeneralSecurityException e) {
+                throw new IllegalStateException("No se pudo inicializar HmacSHA256", e);
+            }
+        }
+    }
+}
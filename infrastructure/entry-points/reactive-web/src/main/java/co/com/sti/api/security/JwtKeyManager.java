@@ -0,0 +1,212 @@
+package co.com.sti.api.security;
+
+import co.com.sti.api.config.JwtProperties;
+import io.jsonwebtoken.JwtBuilder;
+import io.jsonwebtoken.JwtParser;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.LocatorAdapter;
+import io.jsonwebtoken.MalformedJwtException;
+import io.jsonwebtoken.ProtectedHeader;
+import io.jsonwebtoken.io.Decoders;
+import io.jsonwebtoken.security.Jwk;
+import io.jsonwebtoken.security.Jwks;
+import io.jsonwebtoken.security.Keys;
+import io.jsonwebtoken.security.SecureDigestAlgorithm;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import javax.crypto.SecretKey;
+import java.security.Key;
+import java.security.KeyFactory;
+import java.security.KeyPair;
+import java.security.PrivateKey;
+import java.security.PublicKey;
+import java.security.spec.PKCS8EncodedKeySpec;
+import java.security.spec.X509EncodedKeySpec;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Decodifica y valida una sola vez el material de las claves JWT y expone un parser y un builder ya configurados.
+ * Las claves forman un anillo identificado por kid: todas verifican y solo la activa firma, así una clave nueva
+ * puede desplegarse primero como verificadora y activarse después sin invalidar los tokens vigentes.
+ * El anillo se carga solo al arrancar y no se recarga en caliente: cada paso de la rotación es un reinicio escalonado.
+ * Con ES256 o EdDSA las claves públicas del anillo se publican como JWKS para que otros servicios verifiquen localmente.
+ */
+@Slf4j
+@Component
+public class JwtKeyManager {
+
+    public static final String DEFAULT_KID = "default";
+    public static final String EPHEMERAL_KID = "ephemeral";
+    public static final String HS256 = "HS256";
+    public static final String ES256 = "ES256";
+    public static final String EDDSA = "EdDSA";
+
+    private final Map<String, Key> keys;
+    private final String activeKid;
+    private final Key signingKey;
+    private final SecureDigestAlgorithm<Key, ?> signatureAlgorithm;
+    private final Key legacyKey;
+    private final JwtParser parser;
+    private final Map<String, Object> jwks;
+
+    public JwtKeyManager(JwtProperties properties) {
+        String algorithm = properties.getAlgorithm();
+        this.signatureAlgorithm = signatureAlgorithm(algorithm);
+
+        Map<String, Key> ring = new LinkedHashMap<>();
+        properties.getKeys().forEach((kid, secret) -> ring.put(kid, decodeSecret(kid, secret)));
+        if (properties.getSecret() != null && !properties.getSecret().isBlank()) {
+            ring.putIfAbsent(DEFAULT_KID, decodeSecret(DEFAULT_KID, properties.getSecret()));
+        }
+
+        Map<String, PublicKey> publicKeys = new LinkedHashMap<>();
+        Map<String, PrivateKey> privateKeys = new LinkedHashMap<>();
+        if (!HS256.equals(algorithm)) {
+            String keyType = ES256.equals(algorithm) ? "EC" : "Ed25519";
+            properties.getKeyPairs().forEach((kid, pair) -> {
+                if (ring.containsKey(kid)) {
+                    throw new IllegalStateException("kid JWT duplicado: " + kid);
+                }
+                publicKeys.put(kid, decodePublic(kid, keyType, pair.getPublicKey()));
+                if (pair.getPrivateKey() != null && !pair.getPrivateKey().isBlank()) {
+                    privateKeys.put(kid, decodePrivate(kid, keyType, pair.getPrivateKey()));
+                }
+            });
+            if (privateKeys.isEmpty()) {
+                // Con varios nodos cada uno firmaría con su propia clave y un reinicio invalidaría todas las sesiones
+                if (!properties.isAllowEphemeralKeys()) {
+                    throw new IllegalStateException("No hay claves " + algorithm
+                            + " configuradas en jwt.key-pairs; las claves efímeras requieren jwt.allow-ephemeral-keys=true");
+                }
+                KeyPair generated = ES256.equals(algorithm)
+                        ? Jwts.SIG.ES256.keyPair().build()
+                        : Jwks.CRV.Ed25519.keyPair().build();
+                publicKeys.put(EPHEMERAL_KID, generated.getPublic());
+                privateKeys.put(EPHEMERAL_KID, generated.getPrivate());
+                log.warn("No hay claves {} configuradas en jwt.key-pairs; se generó una clave efímera, solo apta para desarrollo", algorithm);
+            }
+            ring.putAll(publicKeys);
+        }
+        if (ring.isEmpty()) {
+            throw new IllegalStateException("No hay claves JWT configuradas (jwt.secret o jwt.keys)");
+        }
+
+        this.keys = Collections.unmodifiableMap(ring);
+        Map<String, ? extends Key> signers = HS256.equals(algorithm) ? ring : privateKeys;
+        this.activeKid = properties.getActiveKid() != null ? properties.getActiveKid() : signers.keySet().iterator().next();
+        this.signingKey = signers.get(activeKid);
+        if (signingKey == null) {
+            throw new IllegalStateException("El kid activo no tiene una clave de firma " + algorithm + ": " + activeKid);
+        }
+        // Los tokens sin kid son anteriores al anillo y siempre fueron HMAC
+        this.legacyKey = ring.containsKey(DEFAULT_KID) || !(signingKey instanceof SecretKey)
+                ? ring.get(DEFAULT_KID)
+                : signingKey;
+        // El parser es inmutable y thread-safe: se construye una vez y se comparte entre todas las solicitudes
+        this.parser = Jwts.parser()
+                .keyLocator(new KeyRingLocator())
+                .build();
+        this.jwks = buildJwks(publicKeys, algorithm);
+        log.info("Anillo de claves JWT cargado: algoritmo={}, kids={}, activo={}", algorithm, keys.keySet(), activeKid);
+    }
+
+    public JwtParser parser() {
+        return parser;
+    }
+
+    public JwtBuilder builder() {
+        return Jwts.builder()
+                .header().keyId(activeKid).and()
+                .signWith(signingKey, signatureAlgorithm);
+    }
+
+    /**
+     * Clave HMAC del kid indicado, o la heredada si el token no trae kid; null si el kid no es una clave HMAC.
+     */
+    public SecretKey hmacKey(String kid) {
+        Key key = kid == null ? legacyKey : keys.get(kid);
+        return key instanceof SecretKey secretKey ? secretKey : null;
+    }
+
+    /**
+     * JWK Set con las claves públicas del anillo; las claves HMAC nunca se publican.
+     */
+    public Map<String, Object> jwks() {
+        return jwks;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static SecureDigestAlgorithm<Key, ?> signatureAlgorithm(String algorithm) {
+        SecureDigestAlgorithm<?, ?> selected = switch (algorithm) {
+            case HS256 -> Jwts.SIG.HS256;
+            case ES256 -> Jwts.SIG.ES256;
+            case EDDSA -> Jwts.SIG.EdDSA;
+            default -> throw new IllegalStateException("Algoritmo JWT no soportado: " + algorithm);
+        };
+        return (SecureDigestAlgorithm<Key, ?>) selected;
+    }
+
+    private static Map<String, Object> buildJwks(Map<String, PublicKey> publicKeys, String algorithm) {
+        List<Map<String, Object>> jwkList = new ArrayList<>();
+        publicKeys.forEach((kid, publicKey) -> {
+            Jwk<?> jwk = Jwks.builder().key(publicKey).id(kid).algorithm(algorithm).build();
+            Map<String, Object> entry = new LinkedHashMap<>(jwk);
+            entry.put("use", "sig");
+            jwkList.add(Collections.unmodifiableMap(entry));
+        });
+        return Map.of("keys", List.copyOf(jwkList));
+    }
+
+    private static SecretKey decodeSecret(String kid, String secret) {
+        try {
+            return Keys.hmacShaKeyFor(Decoders.BASE64.decode(secret));
+        } catch (RuntimeException e) {
+            throw new IllegalStateException("Clave JWT inválida para el kid '" + kid + "': " + e.getMessage(), e);
+        }
+    }
+
+    private static PublicKey decodePublic(String kid, String keyType, String encoded) {
+        try {
+            return KeyFactory.getInstance(keyType).generatePublic(new X509EncodedKeySpec(der(encoded)));
+        } catch (Exception e) {
+            throw new IllegalStateException("Clave pública JWT inválida para el kid '" + kid + "': " + e.getMessage(), e);
+        }
+    }
+
+    private static PrivateKey decodePrivate(String kid, String keyType, String encoded) {
+        try {
+            return KeyFactory.getInstance(keyType).generatePrivate(new PKCS8EncodedKeySpec(der(encoded)));
+        } catch (Exception e) {
+            throw new IllegalStateException("Clave privada JWT inválida para el kid '" + kid + "': " + e.getMessage(), e);
+        }
+    }
+
+    // Acepta tanto Base64 plano como PEM con cabeceras BEGIN/END
+    private static byte[] der(String encoded) {
+        String base64 = encoded.replaceAll("-----[A-Z ]+-----", "").replaceAll("\\s", "");
+        return Decoders.BASE64.decode(base64);
+    }
+
+    private final class KeyRingLocator extends LocatorAdapter<Key> {
+        @Override
+        protected Key locate(ProtectedHeader header) {
+            String kid = header.getKeyId();
+            if (kid == null) {
+                if (legacyKey == null) {
+                    throw new MalformedJwtException("El token no indica kid");
+                }
+                return legacyKey;
+            }
+            Key key = keys.get(kid);
+            if (key == null) {
+                throw new MalformedJwtException("kid desconocido: " + kid);
+            }
+            return key;
+        }
+    }
+}
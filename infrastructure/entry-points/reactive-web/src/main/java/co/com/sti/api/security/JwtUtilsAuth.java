@@ -1,54 +1,36 @@
 package co.com.sti.api.security;
 
-import io.jsonwebtoken.Jwts;
-import io.jsonwebtoken.SignatureAlgorithm;
-import io.jsonwebtoken.io.Decoders;
-import io.jsonwebtoken.security.Keys;
+import co.com.sti.api.config.JwtProperties;
 import co.com.sti.usecase.authentication.jwt.IJwtUtilsAuth;
 import lombok.RequiredArgsConstructor;
-import org.springframework.beans.factory.annotation.Value;
-import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Component;
 
-import java.security.Key;
 import java.util.*;
 
 @Component
 @RequiredArgsConstructor
 public class JwtUtilsAuth implements IJwtUtilsAuth {
 
-    private final PasswordEncoder passwordEncoder;
-
-    @Value("${jwt.secret}")
-    private String jwtSecret;
-
-    @Value("${jwt.expiration}")
-    private Long jwtExpiration;
+    private final JwtKeyManager jwtKeyManager;
+    private final JwtProperties jwtProperties;
 
     @Override
-    public String generate(String email, Integer idRole) {
+    public String generate(String email, Integer idRole, String sessionId) {
         Map<String, Object> claims = new HashMap<>();
         // Se añaden los claims al token.
         claims.put("email", email);
         claims.put("idRole", idRole);
-
-        return Jwts.builder()
-                .setClaims(claims)
-                .setSubject(email)
-                .setIssuedAt(new Date(System.currentTimeMillis()))
-                .setExpiration(new Date(System.currentTimeMillis() + jwtExpiration)) // 20 minutos
-                .signWith(getSigningKey(), SignatureAlgorithm.HS256)
+        // Familia de refresh tokens de la sesión: el logout la revoca sin tocar otros dispositivos
+        claims.put("sid", sessionId);
+
+        long now = System.currentTimeMillis();
+        return jwtKeyManager.builder()
+                .claims(claims)
+                .id(UUID.randomUUID().toString())
+                .subject(email)
+                .issuedAt(new Date(now))
+                .expiration(new Date(now + jwtProperties.getExpiration())) // 20 minutos
                 .compact();
     }
 
-    @Override
-    public Boolean passwordMatch(String password, String hashedPassword) {
-        return passwordEncoder.matches(password,  hashedPassword);
-    }
-
-    private Key getSigningKey() {
-        byte[] keyBytes = Decoders.BASE64.decode(this.jwtSecret);
-        return Keys.hmacShaKeyFor(keyBytes);
-    }
-
 }
@@ -1,37 +1,89 @@
 package co.com.sti.api.security;
 
+import co.com.sti.api.config.JwtProperties;
 import co.com.sti.api.exceptions.ForbiddenException;
 import co.com.sti.api.exceptions.UnauthorizedException;
 import co.com.sti.model.role.Role;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.github.benmanes.caffeine.cache.Ticker;
 import io.jsonwebtoken.Claims;
 import io.jsonwebtoken.ExpiredJwtException;
 import io.jsonwebtoken.JwtException;
-import io.jsonwebtoken.Jwts;
-import io.jsonwebtoken.io.Decoders;
-import io.jsonwebtoken.security.Keys;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.stereotype.Component;
 import reactor.core.publisher.Mono;
 
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
 import java.util.Collections;
+import java.util.Date;
 import java.util.List;
+import java.util.concurrent.TimeUnit;
 
 @Slf4j
 @Component
 public class JwtValidator {
 
-    @Value("${jwt.secret}")
-    private String jwtSecret;
+    public static final String CACHE_NAME = "jwt.verified-tokens";
 
+    private final JwtKeyManager jwtKeyManager;
+    private final Hs256FastVerifier fastVerifier;
+    private final TokenRevocationRegistry tokenRevocationRegistry;
+    // Autenticaciones ya verificadas, indexadas por el SHA-256 del token para no retener el token completo
+    private final Cache<String, VerifiedToken> verifiedTokens;
+
+    @Autowired
+    public JwtValidator(JwtKeyManager jwtKeyManager, JwtProperties jwtProperties, TokenRevocationRegistry tokenRevocationRegistry,
+                        MeterRegistry meterRegistry) {
+        this(jwtKeyManager, jwtProperties, tokenRevocationRegistry, meterRegistry, Ticker.systemTicker());
+    }
+
+    JwtValidator(JwtKeyManager jwtKeyManager, JwtProperties jwtProperties, TokenRevocationRegistry tokenRevocationRegistry,
+                 MeterRegistry meterRegistry, Ticker ticker) {
+        this.jwtKeyManager = jwtKeyManager;
+        this.fastVerifier = new Hs256FastVerifier(jwtKeyManager);
+        this.tokenRevocationRegistry = tokenRevocationRegistry;
+        this.verifiedTokens = Caffeine.newBuilder()
+                .maximumSize(jwtProperties.getTokenCache().getMaximumSize())
+                .expireAfter(new UntilTokenExpiration())
+                .ticker(ticker)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, verifiedTokens, CACHE_NAME);
+    }
+
+    // El hash y la consulta a la caché se hacen al suscribirse y no al armar el Mono, como el resto de la validación
     public Mono<Authentication> validateToken(String token) {
+        return Mono.defer(() -> {
+            String cacheKey = digest(token);
+            VerifiedToken cached = verifiedTokens.getIfPresent(cacheKey);
+            // La revocación se comprueba también sobre autenticaciones cacheadas: un token puede revocarse después de verificarlo
+            if (cached != null) {
+                return notRevoked(cached.authentication());
+            }
+            return verify(cacheKey, token);
+        });
+    }
+
+    private Mono<Authentication> verify(String cacheKey, String token) {
         return Mono.fromCallable(() -> {
-                    Claims claims = Jwts.parser()
-                            .verifyWith(Keys.hmacShaKeyFor(Decoders.BASE64.decode(jwtSecret)))
-                            .build()
+                    // Camino rápido para nuestros propios tokens HS256; cualquier otro caso lo resuelve jjwt
+                    Hs256FastVerifier.VerifiedClaims verified = fastVerifier.verify(token);
+                    if (verified != null) {
+                        return authenticate(cacheKey, token, verified.email(), verified.idRole(),
+                                new TokenDetails(verified.jti(), verified.sid(), verified.issuedAtMillis(), verified.expiresAtMillis()));
+                    }
+                    Claims claims = jwtKeyManager.parser()
                             .parseSignedClaims(token) //aqui lanza error
                             .getPayload();
                     // 1. Extraer el email y el id de rol del token
@@ -45,17 +97,16 @@ public class JwtValidator {
                         throw new ForbiddenException("El token no contiene las claims de email y/o idRole.");
                     }
 
-                    // 3. Convertir el id de rol en una lista de autoridades
-                    List<SimpleGrantedAuthority> authorities = Collections.singletonList(
-                            new SimpleGrantedAuthority("ROLE_" + Role.getById(idRole).getName())
-                    );
-
-                    return new UsernamePasswordAuthenticationToken(email, token, authorities);
+                    Date issuedAt = claims.getIssuedAt();
+                    Date expiration = claims.getExpiration();
+                    return authenticate(cacheKey, token, email, idRole, expiration == null ? null
+                            : new TokenDetails(claims.getId(), claims.get("sid", String.class), issuedAt != null ? issuedAt.getTime() : 0, expiration.getTime()));
 
                 })
                 .cast(Authentication.class)
                 .onErrorResume(err -> { //revisar aqui
                     return switch (err) {
+                        case UnauthorizedException unauthorizedException -> Mono.error(unauthorizedException);
                         case ExpiredJwtException expiredJwtException ->
                                 Mono.error(new UnauthorizedException("Token expirado"));
                         case JwtException jwtException ->
@@ -66,7 +117,63 @@ public class JwtValidator {
                             // Manejar cualquier otra excepción no controlada
                                 Mono.error(new ForbiddenException("Error desconocido en la validación del token"));
                     };
-                });
+                })
+                .flatMap(this::notRevoked);
+    }
+
+    private Mono<Authentication> notRevoked(Authentication authentication) {
+        if (authentication.getDetails() instanceof TokenDetails details
+                && tokenRevocationRegistry.isRevoked(details.jti(), authentication.getName(), details.issuedAtMillis())) {
+            return Mono.error(new UnauthorizedException("Token revocado"));
+        }
+        return Mono.just(authentication);
+    }
+
+    private Authentication authenticate(String cacheKey, String token, String email, Integer idRole, TokenDetails details) {
+        // 3. Convertir el id de rol en una lista de autoridades
+        List<SimpleGrantedAuthority> authorities = Collections.singletonList(
+                new SimpleGrantedAuthority("ROLE_" + Role.getById(idRole).getName())
+        );
+
+        UsernamePasswordAuthenticationToken authentication = new UsernamePasswordAuthenticationToken(email, token, authorities);
+        // Un token sin exp no se cachea ni puede revocarse: no habría un límite para la vida de la entrada
+        if (details != null) {
+            authentication.setDetails(details);
+            verifiedTokens.put(cacheKey, new VerifiedToken(authentication, details.expiresAtMillis()));
+        }
+        return authentication;
+    }
+
+    private static String digest(String token) {
+        try {
+            byte[] hash = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.US_ASCII));
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(hash);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 no disponible", e);
+        }
+    }
+
+    private record VerifiedToken(Authentication authentication, long expiresAtMillis) {
+    }
+
+    /**
+     * La entrada vive exactamente hasta el exp del token; lecturas y reemplazos no la extienden.
+     */
+    private static final class UntilTokenExpiration implements Expiry<String, VerifiedToken> {
+        @Override
+        public long expireAfterCreate(String key, VerifiedToken value, long currentTime) {
+            return TimeUnit.MILLISECONDS.toNanos(Math.max(0, value.expiresAtMillis() - System.currentTimeMillis()));
+        }
+
+        @Override
+        public long expireAfterUpdate(String key, VerifiedToken value, long currentTime, long currentDuration) {
+            return expireAfterCreate(key, value, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(String key, VerifiedToken value, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
     }
 
 }
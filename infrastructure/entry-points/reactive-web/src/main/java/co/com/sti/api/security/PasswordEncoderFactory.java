@@ -0,0 +1,64 @@
+package co.com.sti.api.security;
+
+import co.com.sti.api.config.PasswordHashingProperties;
+import org.springframework.security.crypto.argon2.Argon2PasswordEncoder;
+import org.springframework.security.crypto.password.DelegatingPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.security.crypto.password.Pbkdf2PasswordEncoder;
+
+import java.util.HashMap;
+import java.util.Map;
+
+public final class PasswordEncoderFactory {
+
+    public static final String BCRYPT = "bcrypt";
+    public static final String ARGON2 = "argon2";
+    public static final String PBKDF2 = "pbkdf2";
+
+    private PasswordEncoderFactory() {
+    }
+
+    /**
+     * Construye un encoder que guarda cada hash con el prefijo {id} de su algoritmo. Los hashes nuevos usan
+     * el algoritmo configurado y los que no tienen prefijo (los BCrypt anteriores) se verifican con BCrypt,
+     * así que cambiar de algoritmo no invalida contraseñas existentes: se migran al re-hash del login.
+     */
+    public static PasswordEncoder create(PasswordHashingProperties properties) {
+        String algorithm = properties.getAlgorithm();
+        PasswordEncoder bcrypt = bcrypt(properties, BCRYPT.equals(algorithm));
+        Map<String, PasswordEncoder> encoders = new HashMap<>();
+        encoders.put(BCRYPT, bcrypt);
+        encoders.put(ARGON2, argon2(properties.getArgon2()));
+        encoders.put(PBKDF2, pbkdf2(properties.getPbkdf2()));
+        if (!encoders.containsKey(algorithm)) {
+            throw new IllegalArgumentException("Algoritmo de hashing no soportado: " + algorithm);
+        }
+        DelegatingPasswordEncoder delegating = new DelegatingPasswordEncoder(algorithm, encoders);
+        delegating.setDefaultPasswordEncoderForMatches(bcrypt);
+        return delegating;
+    }
+
+    public static Argon2PasswordEncoder argon2(PasswordHashingProperties.Argon2 argon2) {
+        return new Argon2PasswordEncoder(argon2.getSaltLength(), argon2.getHashLength(),
+                argon2.getParallelism(), argon2.getMemoryKib(), argon2.getIterations());
+    }
+
+    public static Pbkdf2PasswordEncoder pbkdf2(PasswordHashingProperties.Pbkdf2 pbkdf2) {
+        return new Pbkdf2PasswordEncoder("", pbkdf2.getSaltLength(), pbkdf2.getIterations(),
+                Pbkdf2PasswordEncoder.SecretKeyFactoryAlgorithm.PBKDF2WithHmacSHA256);
+    }
+
+    // Solo se calibra cuando BCrypt es el algoritmo activo; si no, BCrypt únicamente verifica hashes antiguos
+    private static CalibratedBCryptPasswordEncoder bcrypt(PasswordHashingProperties properties, boolean active) {
+        if (properties.getBcryptStrength() != null) {
+            return new CalibratedBCryptPasswordEncoder(properties.getBcryptStrength());
+        }
+        if (!active) {
+            return new CalibratedBCryptPasswordEncoder(properties.getMinBcryptStrength());
+        }
+        return new CalibratedBCryptPasswordEncoder(BCryptStrengthCalibrator.calibrate(
+                properties.getTargetVerificationTime(),
+                properties.getMinBcryptStrength(),
+                properties.getMaxBcryptStrength()));
+    }
+}
@@ -0,0 +1,38 @@
+package co.com.sti.api.security;
+
+import co.com.sti.usecase.authentication.password.IPasswordHasher;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+
+@Component
+public class PasswordHasher implements IPasswordHasher {
+
+    private final PasswordEncoder passwordEncoder;
+    private final Scheduler scheduler;
+
+    public PasswordHasher(PasswordEncoder passwordEncoder,
+                          @Qualifier("passwordHashingScheduler") Scheduler scheduler) {
+        this.passwordEncoder = passwordEncoder;
+        this.scheduler = scheduler;
+    }
+
+    @Override
+    public Mono<String> encode(String rawPassword) {
+        return Mono.fromCallable(() -> passwordEncoder.encode(rawPassword))
+                .subscribeOn(scheduler);
+    }
+
+    @Override
+    public Mono<Boolean> matches(String rawPassword, String hashedPassword) {
+        return Mono.fromCallable(() -> passwordEncoder.matches(rawPassword, hashedPassword))
+                .subscribeOn(scheduler);
+    }
+
+    @Override
+    public boolean needsRehash(String hashedPassword) {
+        return passwordEncoder.upgradeEncoding(hashedPassword);
+    }
+}
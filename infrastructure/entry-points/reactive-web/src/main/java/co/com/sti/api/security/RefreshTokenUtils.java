@@ -0,0 +1,53 @@
+package co.com.sti.api.security;
+
+import co.com.sti.api.config.JwtProperties;
+import co.com.sti.usecase.authentication.refresh.IRefreshTokenUtils;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.util.Base64;
+import java.util.HexFormat;
+
+@Component
+@RequiredArgsConstructor
+public class RefreshTokenUtils implements IRefreshTokenUtils {
+
+    private static final int TOKEN_BYTES = 32;
+
+    private final SecureRandom secureRandom = new SecureRandom();
+    private final JwtProperties jwtProperties;
+
+    // Token opaco de 256 bits aleatorios; no contiene información del usuario
+    @Override
+    public String generate() {
+        byte[] bytes = new byte[TOKEN_BYTES];
+        secureRandom.nextBytes(bytes);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+    }
+
+    // Al tener alta entropía basta un SHA-256 sin sal, lo que permite buscarlo por índice
+    @Override
+    public String hash(String refreshToken) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(refreshToken.getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 no disponible", e);
+        }
+    }
+
+    @Override
+    public Duration timeToLive() {
+        return jwtProperties.getRefreshToken().getTtl();
+    }
+
+    @Override
+    public Duration maxLifetime() {
+        return jwtProperties.getRefreshToken().getMaxLifetime();
+    }
+}
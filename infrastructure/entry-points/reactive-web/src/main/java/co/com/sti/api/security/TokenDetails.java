@@ -0,0 +1,8 @@
+package co.com.sti.api.security;
+
+/**
+ * Datos del token que viajan como detalles de la autenticación; permiten revocarlo sin volver a parsearlo.
+ * jti y sid son null en tokens emitidos antes de incluirlos; sid es la familia de refresh tokens de la sesión.
+ */
+public record TokenDetails(String jti, String sid, long issuedAtMillis, long expiresAtMillis) {
+}
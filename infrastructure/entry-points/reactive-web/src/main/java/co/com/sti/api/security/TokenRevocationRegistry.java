@@ -0,0 +1,132 @@
+package co.com.sti.api.security;
+
+import co.com.sti.api.config.JwtProperties;
+import co.com.sti.model.filter.BloomFilter;
+import co.com.sti.model.revocation.RevokedToken;
+import co.com.sti.model.revocation.TokenEpoch;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongPredicate;
+
+/**
+ * Copia en memoria de las revocaciones persistidas: jti revocados y épocas por usuario ("todo token emitido
+ * hasta X es inválido"). Cada conjunto va detrás de un filtro de Bloom, así que la consulta de
+ * {@link JwtValidator} no toma locks ni accede a la base y, para la inmensa mayoría de tokens, se resuelve
+ * con unos pocos bits. Solo cuando el filtro responde "puede que esté" se consulta el mapa exacto.
+ */
+@Component
+public class TokenRevocationRegistry {
+
+    public static final String METRIC_PREFIX = "jwt.revocation";
+
+    private final long tokenLifetimeMillis;
+    // jti -> instante de expiración del token revocado
+    private final Mirror revokedTokens;
+    // email -> época en milisegundos; se rechazan los tokens con iat menor o igual
+    private final Mirror userEpochs;
+
+    public TokenRevocationRegistry(JwtProperties jwtProperties, MeterRegistry meterRegistry) {
+        JwtProperties.Revocation settings = jwtProperties.getRevocation();
+        this.tokenLifetimeMillis = jwtProperties.getExpiration() != null ? jwtProperties.getExpiration() : 0;
+        this.revokedTokens = new Mirror("jti", settings, meterRegistry);
+        this.userEpochs = new Mirror("usuario", settings, meterRegistry);
+    }
+
+    public boolean isRevoked(String jti, String email, long issuedAtMillis) {
+        if (jti != null && revokedTokens.probe(jti) != null) {
+            return true;
+        }
+        if (email == null) {
+            return false;
+        }
+        Long notBefore = userEpochs.probe(email);
+        return notBefore != null && issuedAtMillis <= notBefore;
+    }
+
+    public void apply(RevokedToken revokedToken) {
+        revokedTokens.put(revokedToken.getJti(), revokedToken.getExpiresAt().toEpochMilli());
+    }
+
+    public void apply(TokenEpoch tokenEpoch) {
+        userEpochs.put(tokenEpoch.getEmail(), tokenEpoch.getNotBefore().toEpochMilli());
+    }
+
+    // Un filtro de Bloom no permite borrar: se olvidan las revocaciones que ya no pueden afectar a ningún
+    // token vigente y se recrean los filtros a la medida del contenido actual
+    public void rebuild() {
+        long now = System.currentTimeMillis();
+        revokedTokens.rebuild(expiresAt -> expiresAt > now);
+        userEpochs.rebuild(notBefore -> notBefore + tokenLifetimeMillis > now);
+    }
+
+    private static final class Mirror {
+        private final long expectedInsertions;
+        private final double falsePositiveRate;
+        private final Map<String, Long> entries = new ConcurrentHashMap<>();
+        private final LongAdder probes = new LongAdder();
+        private final LongAdder present = new LongAdder();
+        private final LongAdder falsePositives = new LongAdder();
+        private volatile BloomFilter filter;
+
+        Mirror(String type, JwtProperties.Revocation settings, MeterRegistry meterRegistry) {
+            this.expectedInsertions = settings.getExpectedInsertions();
+            this.falsePositiveRate = settings.getFalsePositiveRate();
+            this.filter = BloomFilter.create(expectedInsertions, falsePositiveRate);
+
+            Gauge.builder(METRIC_PREFIX + ".entries", entries, Map::size)
+                    .tag("type", type).register(meterRegistry);
+            Gauge.builder(METRIC_PREFIX + ".filter.bits", this, m -> m.filter.bitSize())
+                    .tag("type", type).register(meterRegistry);
+            Gauge.builder(METRIC_PREFIX + ".filter.memory", this, m -> m.filter.memoryBytes())
+                    .tag("type", type).baseUnit("bytes").register(meterRegistry);
+            Gauge.builder(METRIC_PREFIX + ".filter.expected.fpp", this, m -> m.filter.expectedFalsePositiveRate())
+                    .tag("type", type).register(meterRegistry);
+            Gauge.builder(METRIC_PREFIX + ".filter.observed.fpp", this, Mirror::observedFalsePositiveRate)
+                    .tag("type", type).register(meterRegistry);
+            FunctionCounter.builder(METRIC_PREFIX + ".probes", probes, LongAdder::sum)
+                    .tag("type", type).register(meterRegistry);
+            FunctionCounter.builder(METRIC_PREFIX + ".filter.false-positives", falsePositives, LongAdder::sum)
+                    .tag("type", type).register(meterRegistry);
+        }
+
+        Long probe(String key) {
+            probes.increment();
+            if (!filter.mightContain(key)) {
+                return null;
+            }
+            Long value = entries.get(key);
+            if (value == null) {
+                falsePositives.increment();
+            } else {
+                present.increment();
+            }
+            return value;
+        }
+
+        // Primero el mapa y después el filtro vigente: una consulta que vea el bit encontrará la entrada
+        void put(String key, long value) {
+            entries.merge(key, value, Math::max);
+            filter.put(key);
+        }
+
+        void rebuild(LongPredicate keep) {
+            entries.values().removeIf(value -> !keep.test(value));
+            BloomFilter rebuilt = BloomFilter.create(Math.max(expectedInsertions, entries.size() * 2L), falsePositiveRate);
+            entries.keySet().forEach(rebuilt::put);
+            filter = rebuilt;
+            // Las altas concurrentes con la reconstrucción pudieron escribir en el filtro anterior
+            entries.keySet().forEach(rebuilt::put);
+        }
+
+        double observedFalsePositiveRate() {
+            long negatives = probes.sum() - present.sum();
+            return negatives == 0 ? 0.0 : (double) falsePositives.sum() / negatives;
+        }
+    }
+}
@@ -0,0 +1,140 @@
+package co.com.sti.api.userexport;
+
+import co.com.sti.api.config.UserExportProperties;
+import co.com.sti.api.dto.UserSummaryDTO;
+import co.com.sti.model.user.User;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferFactory;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Convierte el flujo de usuarios en bloques de bytes NDJSON o CSV, opcionalmente comprimidos con gzip.
+ * Cada bloque agrupa unas pocas filas y solo se pide el siguiente cuando el cliente consumió el anterior,
+ * así la memoria por exportación se mantiene constante sin importar cuántos usuarios haya.
+ */
+@Component
+public class UserExportWriter {
+
+    public static final MediaType TEXT_CSV = MediaType.parseMediaType("text/csv");
+
+    static final String CSV_HEADER = "name,lastName,email,numberIdentity,birthDate,phoneNumber,address,idRole,salary\n";
+
+    private final ObjectMapper objectMapper;
+    private final UserExportProperties properties;
+
+    public UserExportWriter(ObjectMapper objectMapper, UserExportProperties properties) {
+        this.objectMapper = objectMapper;
+        this.properties = properties;
+    }
+
+    public Flux<DataBuffer> write(Flux<User> users, MediaType format, boolean gzip, DataBufferFactory bufferFactory) {
+        boolean csv = TEXT_CSV.isCompatibleWith(format);
+        Flux<byte[]> chunks = users
+                .map(UserSummaryDTO::from)
+                .buffer(properties.getRowsPerChunk())
+                .map(rows -> csv ? csvChunk(rows) : ndjsonChunk(rows));
+        if (csv) {
+            chunks = Flux.just(CSV_HEADER.getBytes(StandardCharsets.UTF_8)).concatWith(chunks);
+        }
+        if (gzip) {
+            Flux<byte[]> plain = chunks;
+            // Un compresor por respuesta; se libera también si el cliente corta la descarga
+            chunks = Flux.using(GzipChunker::new,
+                    chunker -> plain.map(chunker::compress).concatWith(Mono.fromCallable(chunker::finish)),
+                    GzipChunker::close);
+        }
+        return chunks.map(bufferFactory::wrap);
+    }
+
+    private byte[] ndjsonChunk(List<UserSummaryDTO> rows) {
+        StringBuilder chunk = new StringBuilder(rows.size() * 256);
+        for (UserSummaryDTO row : rows) {
+            try {
+                chunk.append(objectMapper.writeValueAsString(row)).append('\n');
+            } catch (JsonProcessingException e) {
+                throw new IllegalStateException("No se pudo serializar el usuario " + row.email(), e);
+            }
+        }
+        return chunk.toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static byte[] csvChunk(List<UserSummaryDTO> rows) {
+        StringBuilder chunk = new StringBuilder(rows.size() * 160);
+        for (UserSummaryDTO row : rows) {
+            chunk.append(csvField(row.name())).append(',')
+                    .append(csvField(row.lastName())).append(',')
+                    .append(csvField(row.email())).append(',')
+                    .append(csvField(row.numberIdentity())).append(',')
+                    .append(csvField(row.birthDate())).append(',')
+                    .append(csvField(row.phoneNumber())).append(',')
+                    .append(csvField(row.address())).append(',')
+                    .append(csvField(row.idRole())).append(',')
+                    .append(csvField(row.salary() == null ? null : row.salary().toPlainString()))
+                    .append('\n');
+        }
+        return chunk.toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    // Comillas solo cuando el valor las necesita, duplicando las internas (RFC 4180)
+    static String csvField(Object value) {
+        if (value == null) {
+            return "";
+        }
+        String text = value.toString();
+        if (text.indexOf(',') < 0 && text.indexOf('"') < 0 && text.indexOf('\n') < 0 && text.indexOf('\r') < 0) {
+            return text;
+        }
+        return '"' + text.replace("\"", "\"\"") + '"';
+    }
+
+    // Comprime bloque a bloque con SYNC_FLUSH: cada bloque sale completo al cliente sin esperar al final del archivo
+    private static final class GzipChunker {
+        private final ByteArrayOutputStream sink = new ByteArrayOutputStream(8 * 1024);
+        private final GZIPOutputStream gzip;
+
+        GzipChunker() throws IOException {
+            this.gzip = new GZIPOutputStream(sink, 8 * 1024, true);
+        }
+
+        byte[] compress(byte[] chunk) {
+            try {
+                gzip.write(chunk);
+                gzip.flush();
+                return drain();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        byte[] finish() throws IOException {
+            gzip.finish();
+            return drain();
+        }
+
+        void close() {
+            try {
+                gzip.close();
+            } catch (IOException ignored) {
+                // El flujo ya terminó o se canceló; no hay nada más que liberar
+            }
+        }
+
+        private byte[] drain() {
+            byte[] compressed = sink.toByteArray();
+            sink.reset();
+            return compressed;
+        }
+    }
+}
@@ -0,0 +1,222 @@
+package co.com.sti.api.userimport;
+
+import co.com.sti.api.config.UserImportProperties;
+import co.com.sti.api.dto.CreateUserDTO;
+import co.com.sti.api.dto.UserImportResultDTO;
+import co.com.sti.api.mapper.UserDTOMapper;
+import co.com.sti.model.user.User;
+import co.com.sti.usecase.authentication.password.IPasswordHasher;
+import co.com.sti.usecase.importusers.IImportUsersUseCase;
+import co.com.sti.usecase.importusers.UserImportResult;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.ResolvableType;
+import org.springframework.core.codec.StringDecoder;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.util.function.Tuple2;
+import reactor.util.retry.Retry;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.stream.Collectors;
+
+/**
+ * Importa usuarios desde un cuerpo NDJSON o CSV sin cargarlo completo en memoria. Cada línea se valida por separado,
+ * las contraseñas se hashean en paralelo con un cupo acotado y los válidos se guardan en lotes con un solo INSERT.
+ * La demanda del cliente que lee los resultados se propaga hasta la lectura del cuerpo, así que nunca hay más de
+ * un lote y unos pocos hashes en vuelo por importación.
+ */
+@Slf4j
+@Component
+public class UserImportProcessor {
+
+    public static final MediaType TEXT_CSV = MediaType.parseMediaType("text/csv");
+
+    private static final ResolvableType STRING_TYPE = ResolvableType.forClass(String.class);
+    private static final String FAILED = "FAILED";
+
+    private final IImportUsersUseCase importUsersUseCase;
+    private final IPasswordHasher passwordHasher;
+    private final UserDTOMapper userDTOMapper;
+    private final Validator validator;
+    private final ObjectMapper objectMapper;
+    private final UserImportProperties properties;
+    private final StringDecoder lineDecoder;
+
+    public UserImportProcessor(IImportUsersUseCase importUsersUseCase, IPasswordHasher passwordHasher, UserDTOMapper userDTOMapper,
+                               Validator validator, ObjectMapper objectMapper, UserImportProperties properties) {
+        this.importUsersUseCase = importUsersUseCase;
+        this.passwordHasher = passwordHasher;
+        this.userDTOMapper = userDTOMapper;
+        this.validator = validator;
+        this.objectMapper = objectMapper;
+        this.properties = properties;
+        this.lineDecoder = StringDecoder.allMimeTypes();
+        this.lineDecoder.setMaxInMemorySize(properties.getMaxLineLength());
+    }
+
+    public static boolean supports(MediaType contentType) {
+        return contentType != null && (TEXT_CSV.isCompatibleWith(contentType) || MediaType.APPLICATION_NDJSON.isCompatibleWith(contentType));
+    }
+
+    public Flux<UserImportResultDTO> process(Flux<DataBuffer> body, MediaType contentType) {
+        Flux<Tuple2<Long, String>> lines = lineDecoder.decode(body, STRING_TYPE, contentType, Map.of()).index();
+        Flux<ImportLine> records = TEXT_CSV.isCompatibleWith(contentType) ? fromCsv(lines) : fromNdjson(lines);
+        // Sin prefetch extra: solo se lee del cuerpo lo que el hashing puede absorber
+        return records
+                .flatMapSequential(this::hashPassword, properties.getHashConcurrency(), 1)
+                .bufferTimeout(properties.getBatchSize(), properties.getMaxBatchWait(), true)
+                .concatMap(this::save, 0);
+    }
+
+    private Flux<ImportLine> fromNdjson(Flux<Tuple2<Long, String>> lines) {
+        return lines
+                .filter(line -> !line.getT2().isBlank())
+                .map(line -> {
+                    long number = line.getT1() + 1;
+                    try {
+                        return toImportLine(number, objectMapper.readValue(line.getT2(), CreateUserDTO.class));
+                    } catch (Exception e) {
+                        return ImportLine.invalid(number, "Registro con formato inválido");
+                    }
+                });
+    }
+
+    // La primera línea es la cabecera con los nombres de los campos de CreateUserDTO, en cualquier orden
+    private Flux<ImportLine> fromCsv(Flux<Tuple2<Long, String>> lines) {
+        return lines.switchOnFirst((first, all) -> {
+            if (!first.hasValue()) {
+                return all.thenMany(Flux.empty());
+            }
+            String[] header = parseCsvLine(first.get().getT2()).toArray(String[]::new);
+            return all.skip(1)
+                    .filter(line -> !line.getT2().isBlank())
+                    .map(line -> {
+                        long number = line.getT1() + 1;
+                        List<String> values = parseCsvLine(line.getT2());
+                        if (values.size() != header.length) {
+                            return ImportLine.invalid(number, "El registro tiene " + values.size() + " columnas y la cabecera " + header.length);
+                        }
+                        Map<String, String> fields = new HashMap<>();
+                        for (int i = 0; i < header.length; i++) {
+                            String value = values.get(i).trim();
+                            fields.put(header[i].trim(), value.isEmpty() ? null : value);
+                        }
+                        try {
+                            return toImportLine(number, objectMapper.convertValue(fields, CreateUserDTO.class));
+                        } catch (IllegalArgumentException e) {
+                            return ImportLine.invalid(number, "Registro con formato inválido");
+                        }
+                    });
+        });
+    }
+
+    private ImportLine toImportLine(long number, CreateUserDTO dto) {
+        Set<ConstraintViolation<CreateUserDTO>> violations = validator.validate(dto);
+        if (!violations.isEmpty()) {
+            return ImportLine.invalid(number, violations.stream()
+                    .map(ConstraintViolation::getMessage)
+                    .collect(Collectors.joining(", ")));
+        }
+        return new ImportLine(number, userDTOMapper.toModel(dto), null);
+    }
+
+    // Igual que el registro individual, la contraseña inicial es el documento. Si la cola de hashing está llena
+    // (picos de login) se reintenta con espera en lugar de fallar el registro
+    private Mono<ImportLine> hashPassword(ImportLine line) {
+        if (line.error() != null) {
+            return Mono.just(line);
+        }
+        return passwordHasher.encode(line.user().getNumberIdentity())
+                .retryWhen(Retry.backoff(10, Duration.ofMillis(50))
+                        .maxBackoff(Duration.ofSeconds(1))
+                        .filter(RejectedExecutionException.class::isInstance))
+                .map(hashedPassword -> {
+                    line.user().setPassword(hashedPassword);
+                    return line;
+                });
+    }
+
+    // Un fallo del lote completo (p. ej. la base no responde) se informa en cada registro y la importación sigue,
+    // así el cliente puede reenviar solo esas líneas
+    private Flux<UserImportResultDTO> save(List<ImportLine> batch) {
+        List<User> users = batch.stream().filter(line -> line.error() == null).map(ImportLine::user).toList();
+        Mono<List<UserImportResult>> saved = users.isEmpty()
+                ? Mono.just(List.of())
+                : importUsersUseCase.importUsers(users).collectList();
+        return saved
+                .map(results -> {
+                    Iterator<UserImportResult> result = results.iterator();
+                    List<UserImportResultDTO> response = new ArrayList<>(batch.size());
+                    for (ImportLine line : batch) {
+                        response.add(line.error() != null ? line.toInvalidResult() : toResult(line.number(), result.next()));
+                    }
+                    return response;
+                })
+                .onErrorResume(error -> {
+                    log.error("No se pudo guardar un lote de {} usuarios importados", users.size(), error);
+                    return Mono.just(batch.stream()
+                            .map(line -> line.error() != null ? line.toInvalidResult()
+                                    : new UserImportResultDTO(line.number(), FAILED, line.user().getEmail(), line.user().getNumberIdentity(),
+                                    "Error interno al guardar el registro, puede reenviarse"))
+                            .toList());
+                })
+                .flatMapIterable(response -> response);
+    }
+
+    private static UserImportResultDTO toResult(long number, UserImportResult result) {
+        return new UserImportResultDTO(number, result.getStatus().name(), result.getEmail(), result.getNumberIdentity(), result.getMessage());
+    }
+
+    // Separa por comas respetando campos entre comillas dobles; "" dentro de comillas es una comilla literal
+    static List<String> parseCsvLine(String line) {
+        List<String> values = new ArrayList<>();
+        StringBuilder current = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    current.append('"');
+                    i++;
+                } else if (c == '"') {
+                    quoted = false;
+                } else {
+                    current.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                values.add(current.toString());
+                current.setLength(0);
+            } else {
+                current.append(c);
+            }
+        }
+        values.add(current.toString());
+        return values;
+    }
+
+    private record ImportLine(long number, User user, String error) {
+
+        static ImportLine invalid(long number, String error) {
+            return new ImportLine(number, null, error);
+        }
+
+        UserImportResultDTO toInvalidResult() {
+            return new UserImportResultDTO(number, UserImportResult.Status.INVALID.name(), null, null, error);
+        }
+    }
+}
@@ -1,21 +1,45 @@
 package co.com.sti.api;
 
+import co.com.sti.api.config.JwtProperties;
 import co.com.sti.api.config.SecurityConfig;
+import co.com.sti.api.config.LoginAdmissionProperties;
 import co.com.sti.api.config.TaskPath;
+import co.com.sti.api.config.UserBatchLookupProperties;
+import co.com.sti.api.config.UserExportProperties;
+import co.com.sti.api.config.UserListingProperties;
+import co.com.sti.api.admission.LoginAdmissionLimiter;
 import co.com.sti.api.dto.CreateUserDTO;
 import co.com.sti.api.dto.LoginDto;
+import co.com.sti.api.dto.UserImportResultDTO;
+import co.com.sti.api.dto.UserProfileDTO;
 import co.com.sti.api.exceptions.GlobalExceptionHandler;
+import co.com.sti.api.exceptions.ServiceUnavailableException;
 import co.com.sti.api.mapper.UserDTOMapper;
+import co.com.sti.api.security.JwtKeyManager;
+import co.com.sti.api.security.TokenRevocationRegistry;
+import co.com.sti.api.userexport.UserExportWriter;
+import co.com.sti.api.userimport.UserImportProcessor;
 import co.com.sti.api.security.JwtValidator;
+import co.com.sti.model.revocation.TokenEpoch;
 import co.com.sti.model.user.User;
+import co.com.sti.model.user.UserPage;
+import co.com.sti.model.user.UserProfile;
 import co.com.sti.usecase.authentication.IAuthenticationUseCase;
+import co.com.sti.usecase.refreshtoken.IRefreshTokenUseCase;
+import co.com.sti.usecase.revocation.ITokenRevocationUseCase;
+import co.com.sti.usecase.authentication.password.IPasswordHasher;
+import co.com.sti.usecase.exportusers.IExportUsersUseCase;
+import co.com.sti.usecase.listusers.IListUsersUseCase;
 import co.com.sti.usecase.authentication.dto.AuthResponseDto;
+import co.com.sti.usecase.exceptios.InvalidRefreshTokenException;
 import co.com.sti.usecase.exceptios.InvalidUserDataException;
 import co.com.sti.usecase.resgisteruser.IRegisterUserUseCase;
 import co.com.sti.usecase.exceptios.UserAlreadyExistsException;
 import co.com.sti.usecase.searchuser.ISearchUserUseCase;
+import co.com.sti.usecase.searchuser.UserBatchLookup;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import jakarta.validation.ConstraintViolation;
 import jakarta.validation.Validator;
 import org.junit.jupiter.api.DisplayName;
@@ -27,23 +51,33 @@ import org.springframework.boot.test.context.TestConfiguration;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.Import;
+import org.springframework.http.CacheControl;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.security.authentication.ReactiveAuthenticationManager;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
-import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.security.web.server.context.ServerSecurityContextRepository;
 import org.springframework.test.web.reactive.server.WebTestClient;
 import org.springframework.web.server.ResponseStatusException;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
+import java.time.Duration;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 @WebFluxTest(excludeAutoConfiguration = ReactiveSecurityAutoConfiguration.class)
@@ -72,7 +106,25 @@ class RouterRestTest {
     private ObjectMapper objectMapper;
 
     @Autowired
-    private PasswordEncoder passwordEncoder;
+    private IPasswordHasher passwordHasher;
+
+    @Autowired
+    private IRefreshTokenUseCase refreshTokenUseCase;
+
+    @Autowired
+    private ITokenRevocationUseCase tokenRevocationUseCase;
+
+    @Autowired
+    private TokenRevocationRegistry tokenRevocationRegistry;
+
+    @Autowired
+    private UserImportProcessor userImportProcessor;
+
+    @Autowired
+    private IExportUsersUseCase exportUsersUseCase;
+
+    @Autowired
+    private IListUsersUseCase listUsersUseCase;
 
     @Configuration
     static class TestRouter {
@@ -91,6 +143,53 @@ class RouterRestTest {
             return mock(IAuthenticationUseCase.class);
         }
 
+        @Bean
+        IRefreshTokenUseCase refreshTokenUseCase() {
+            return mock(IRefreshTokenUseCase.class);
+        }
+
+        @Bean
+        ITokenRevocationUseCase tokenRevocationUseCase() {
+            return mock(ITokenRevocationUseCase.class);
+        }
+
+        @Bean
+        TokenRevocationRegistry tokenRevocationRegistry(JwtProperties jwtProperties) {
+            return new TokenRevocationRegistry(jwtProperties, new SimpleMeterRegistry());
+        }
+
+        @Bean
+        UserImportProcessor userImportProcessor() {
+            return mock(UserImportProcessor.class);
+        }
+
+        @Bean
+        IExportUsersUseCase exportUsersUseCase() {
+            return mock(IExportUsersUseCase.class);
+        }
+
+        @Bean
+        UserExportWriter userExportWriter(ObjectMapper objectMapper) {
+            return new UserExportWriter(objectMapper, new UserExportProperties());
+        }
+
+        @Bean
+        IListUsersUseCase listUsersUseCase() {
+            return mock(IListUsersUseCase.class);
+        }
+
+        @Bean
+        UserListingProperties userListingProperties() {
+            return new UserListingProperties();
+        }
+
+        @Bean
+        UserBatchLookupProperties userBatchLookupProperties() {
+            UserBatchLookupProperties properties = new UserBatchLookupProperties();
+            properties.setMaxKeys(3);
+            return properties;
+        }
+
         @Bean
         UserDTOMapper userDTOMapper() {
             return mock(UserDTOMapper.class);
@@ -102,8 +201,10 @@ class RouterRestTest {
         }
 
         @Bean
-        PasswordEncoder passwordEncoder() {
-            return mock(PasswordEncoder.class);
+        IPasswordHasher passwordHasher() {
+            IPasswordHasher hasherMock = mock(IPasswordHasher.class);
+            when(hasherMock.encode(any())).thenReturn(Mono.just("hashedPassword"));
+            return hasherMock;
         }
 
         // 4. Mockeamos los beans de seguridad necesarios
@@ -135,12 +236,37 @@ class RouterRestTest {
             return mock(JwtValidator.class);
         }
 
+        @Bean
+        LoginAdmissionLimiter loginAdmissionLimiter() {
+            return new LoginAdmissionLimiter(new LoginAdmissionProperties(), new SimpleMeterRegistry());
+        }
+
+        @Bean
+        JwtProperties jwtProperties() {
+            JwtProperties properties = new JwtProperties();
+            properties.setAlgorithm(JwtKeyManager.ES256);
+            properties.setAllowEphemeralKeys(true);
+            return properties;
+        }
+
+        @Bean
+        JwtKeyManager jwtKeyManager(JwtProperties jwtProperties) {
+            return new JwtKeyManager(jwtProperties);
+        }
+
         @Bean
         TaskPath taskPath() {
             TaskPath taskPathMock = mock(TaskPath.class);
             when(taskPathMock.getTasks()).thenReturn("/api/v1/usuarios");
             when(taskPathMock.getTasksById()).thenReturn("/api/v1/usuarios/{identification}");
+            when(taskPathMock.getTaskImport()).thenReturn("/api/v1/usuarios/importacion");
+            when(taskPathMock.getTaskExport()).thenReturn("/api/v1/usuarios/exportacion");
+            when(taskPathMock.getTaskBatchLookup()).thenReturn("/api/v1/usuarios/batch");
             when(taskPathMock.getTaskAuth()).thenReturn("/api/v1/login");
+            when(taskPathMock.getTaskRefresh()).thenReturn("/api/v1/login/refresh");
+            when(taskPathMock.getTaskLogout()).thenReturn("/api/v1/logout");
+            when(taskPathMock.getTaskRevokeSessions()).thenReturn("/api/v1/usuarios/{email}/sesiones");
+            when(taskPathMock.getJwks()).thenReturn("/.well-known/jwks.json");
             return taskPathMock;
         }
     }
@@ -265,11 +391,11 @@ class RouterRestTest {
     @DisplayName("should return 200 OK with user data for a valid GET request to /api/v1/usuarios/{identification}")
     void testListenGETUseCaseFound() throws JsonProcessingException {
         String identification = "1234567890";
-        User foundUser = new User(); // Mock a found user
+        UserProfile foundUser = new UserProfile(); // Mock a found user
         foundUser.setNumberIdentity(identification);
-        String expectedJson = objectMapper.writeValueAsString(foundUser);
+        String expectedJson = objectMapper.writeValueAsString(UserProfileDTO.from(foundUser, Set.of()));
 
-        when(searchUserUseCase.getUserbyIdentification(identification))
+        when(searchUserUseCase.getUserProfile(identification))
                 .thenReturn(Mono.just(foundUser));
 
         webTestClient.get()
@@ -286,7 +412,7 @@ class RouterRestTest {
     void testListenGETUseCaseNotFound() {
         String identification = "9999999999";
 
-        when(searchUserUseCase.getUserbyIdentification(identification))
+        when(searchUserUseCase.getUserProfile(identification))
                 .thenReturn(Mono.empty());
 
         webTestClient.get()
@@ -302,7 +428,7 @@ class RouterRestTest {
     @DisplayName("should return 200 OK and an auth token for a valid login")
     void testLogin_Success() {
         LoginDto loginDto = new LoginDto("test@test.com", "password123");
-        AuthResponseDto authResponseDto = new AuthResponseDto("test@test.com", "John", "Doe", "USER", "fake_token");
+        AuthResponseDto authResponseDto = new AuthResponseDto("test@test.com", "John", "Doe", "USER", "fake_token", "fake_refresh_token");
 
         when(authenticationUseCase.authenticate(loginDto.getEmail(), loginDto.getPassword()))
                 .thenReturn(Mono.just(authResponseDto));
@@ -335,4 +461,276 @@ class RouterRestTest {
                 .expectStatus().isBadRequest();
     }
 
+    @Test
+    @DisplayName("should return 503 Service Unavailable with Retry-After when the login is shed")
+    void testLogin_Shed() {
+        LoginDto loginDto = new LoginDto("shed@test.com", "password123");
+
+        when(authenticationUseCase.authenticate(loginDto.getEmail(), loginDto.getPassword()))
+                .thenReturn(Mono.error(new ServiceUnavailableException("Saturado", Duration.ofSeconds(2))));
+
+        webTestClient.post()
+                .uri("/api/v1/login")
+                .accept(MediaType.APPLICATION_JSON)
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(loginDto)
+                .exchange()
+                .expectStatus().isEqualTo(HttpStatus.SERVICE_UNAVAILABLE)
+                .expectHeader().valueEquals("Retry-After", "2");
+    }
+
+    @Test
+    @DisplayName("should publish the public signing keys as a JWK Set")
+    void testJwks() {
+        webTestClient.get()
+                .uri("/.well-known/jwks.json")
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().cacheControl(CacheControl.maxAge(Duration.ofHours(1)).cachePublic())
+                .expectBody()
+                .jsonPath("$.keys[0].kid").isEqualTo(JwtKeyManager.EPHEMERAL_KID)
+                .jsonPath("$.keys[0].kty").isEqualTo("EC")
+                .jsonPath("$.keys[0].alg").isEqualTo("ES256")
+                .jsonPath("$.keys[0].d").doesNotExist();
+    }
+
+    @Test
+    @DisplayName("should return new tokens for a valid refresh token")
+    void testRefresh_Success() {
+        AuthResponseDto response = AuthResponseDto.builder()
+                .email("test@test.com").role("CLIENTE").token("access-token").refreshToken("new-refresh-token")
+                .build();
+        when(refreshTokenUseCase.refresh("old-refresh-token")).thenReturn(Mono.just(response));
+
+        webTestClient.post()
+                .uri("/api/v1/login/refresh")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue("{\"refreshToken\":\"old-refresh-token\"}")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.token").isEqualTo("access-token")
+                .jsonPath("$.refreshToken").isEqualTo("new-refresh-token");
+    }
+
+    @Test
+    @DisplayName("should return 401 when the refresh token was already used")
+    void testRefresh_Reused() {
+        when(refreshTokenUseCase.refresh("reused-token"))
+                .thenReturn(Mono.error(new InvalidRefreshTokenException("Refresh token reutilizado, la sesión fue revocada")));
+
+        webTestClient.post()
+                .uri("/api/v1/login/refresh")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue("{\"refreshToken\":\"reused-token\"}")
+                .exchange()
+                .expectStatus().isUnauthorized()
+                .expectBody()
+                .jsonPath("$.message").isEqualTo("Refresh token reutilizado, la sesión fue revocada");
+    }
+
+    @Test
+    @DisplayName("should revoke every session of a user and mirror the epoch locally")
+    void testRevokeUserSessions() {
+        Instant notBefore = Instant.now().truncatedTo(ChronoUnit.SECONDS);
+        when(tokenRevocationUseCase.revokeAllForUser("revocado@test.com"))
+                .thenReturn(Mono.just(TokenEpoch.builder().email("revocado@test.com").notBefore(notBefore).build()));
+
+        webTestClient.delete()
+                .uri("/api/v1/usuarios/revocado@test.com/sesiones")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.message").isEqualTo("Sesiones revocadas");
+
+        assertTrue(tokenRevocationRegistry.isRevoked(null, "revocado@test.com", notBefore.toEpochMilli()));
+    }
+
+    @Test
+    @DisplayName("should stream one NDJSON result per imported record")
+    void testImportUsers_Ndjson() {
+        when(userImportProcessor.process(any(), any())).thenReturn(Flux.just(
+                new UserImportResultDTO(1, "CREATED", "a@test.com", "1", "Usuario registrado exitosamente"),
+                new UserImportResultDTO(2, "INVALID", null, null, "Registro con formato inválido")));
+
+        webTestClient.post()
+                .uri("/api/v1/usuarios/importacion")
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .bodyValue("{\"email\":\"a@test.com\"}\n{\n")
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON)
+                .expectBodyList(UserImportResultDTO.class)
+                .hasSize(2);
+    }
+
+    @Test
+    @DisplayName("should reject imports that are neither NDJSON nor CSV")
+    void testImportUsers_UnsupportedContentType() {
+        webTestClient.post()
+                .uri("/api/v1/usuarios/importacion")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue("[]")
+                .exchange()
+                .expectStatus().isBadRequest();
+    }
+
+    @Test
+    @DisplayName("should export users as an NDJSON attachment without password hashes")
+    void testExportUsers_Ndjson() {
+        when(exportUsersUseCase.exportUsers()).thenReturn(Flux.just(
+                User.builder().name("Ana").email("ana@test.com").numberIdentity("1").build(),
+                User.builder().name("Luis").email("luis@test.com").numberIdentity("2").build()));
+
+        String body = webTestClient.get()
+                .uri("/api/v1/usuarios/exportacion")
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON)
+                .expectHeader().valueMatches("Content-Disposition", "attachment; filename=\"usuarios.ndjson\"")
+                .expectHeader().doesNotExist("Content-Encoding")
+                .expectBody(String.class)
+                .returnResult()
+                .getResponseBody();
+
+        assertTrue(body.contains("\"email\":\"ana@test.com\"") && body.contains("\"email\":\"luis@test.com\""));
+        assertFalse(body.contains("password"));
+    }
+
+    @Test
+    @DisplayName("should list a filtered page and cap the requested limit")
+    void testListUsers_FiltersAndCursor() {
+        when(listUsersUseCase.listUsers(any())).thenReturn(Mono.just(new UserPage(
+                List.of(User.builder().name("Ana").email("ana@test.com").password("hash").build()), 57L)));
+
+        webTestClient.get()
+                .uri("/api/v1/usuarios?role=3&name=an&minSalary=1000000&after=40&limit=500")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.users[0].email").isEqualTo("ana@test.com")
+                .jsonPath("$.users[0].password").doesNotExist()
+                .jsonPath("$.nextCursor").isEqualTo(57);
+
+        verify(listUsersUseCase).listUsers(argThat(filter -> filter.getIdRole() == 3 && "an".equals(filter.getNamePrefix())
+                && filter.getAfterId() == 40L && filter.getMaxSalary() == null && filter.getLimit() == 100));
+    }
+
+    @Test
+    @DisplayName("should return 400 when a numeric listing filter is malformed")
+    void testListUsers_InvalidFilter() {
+        webTestClient.get()
+                .uri("/api/v1/usuarios?minSalary=mucho")
+                .exchange()
+                .expectStatus().isBadRequest();
+    }
+
+    @Test
+    @DisplayName("should return only the requested public fields of a user")
+    void testGetUserByIdentification_SelectedFields() {
+        when(searchUserUseCase.getUserProfile("555")).thenReturn(Mono.just(UserProfile.builder()
+                .name("Ana").lastName("Pérez").email("ana@test.com").numberIdentity("555").build()));
+
+        webTestClient.get()
+                .uri("/api/v1/usuarios/555?fields=name,email")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.name").isEqualTo("Ana")
+                .jsonPath("$.email").isEqualTo("ana@test.com")
+                .jsonPath("$.lastName").doesNotExist()
+                .jsonPath("$.password").doesNotExist();
+    }
+
+    @Test
+    @DisplayName("should reject unknown fields in the lookup field selection")
+    void testGetUserByIdentification_UnknownField() {
+        webTestClient.get()
+                .uri("/api/v1/usuarios/555?fields=name,password")
+                .exchange()
+                .expectStatus().isBadRequest();
+    }
+
+    @Test
+    @DisplayName("should tag a found user with its row version as ETag")
+    void testGetUserByIdentification_ETag() {
+        when(searchUserUseCase.getUserProfile("777")).thenReturn(Mono.just(UserProfile.builder()
+                .name("Ana").numberIdentity("777").version(4L).build()));
+
+        webTestClient.get()
+                .uri("/api/v1/usuarios/777")
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().valueEquals("ETag", "\"4\"")
+                .expectBody().jsonPath("$.name").isEqualTo("Ana");
+    }
+
+    @Test
+    @DisplayName("should answer 304 without loading the profile when the ETag still matches")
+    void testGetUserByIdentification_NotModified() {
+        when(searchUserUseCase.getUserVersion("778")).thenReturn(Mono.just(4L));
+
+        webTestClient.get()
+                .uri("/api/v1/usuarios/778")
+                .header("If-None-Match", "W/\"4\"")
+                .exchange()
+                .expectStatus().isNotModified()
+                .expectHeader().valueEquals("ETag", "\"4\"")
+                .expectBody().isEmpty();
+
+        verify(searchUserUseCase, never()).getUserProfile("778");
+    }
+
+    @Test
+    @DisplayName("should return the full profile when the ETag is stale")
+    void testGetUserByIdentification_StaleETag() {
+        when(searchUserUseCase.getUserVersion("779")).thenReturn(Mono.just(5L));
+        when(searchUserUseCase.getUserProfile("779")).thenReturn(Mono.just(UserProfile.builder()
+                .name("Ana").numberIdentity("779").version(5L).build()));
+
+        webTestClient.get()
+                .uri("/api/v1/usuarios/779")
+                .header("If-None-Match", "\"4\"")
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().valueEquals("ETag", "\"5\"");
+    }
+
+    @Test
+    @DisplayName("should resolve a batch of keys into a map plus the missing keys")
+    void testGetUsersByKeys_PartialResult() {
+        when(searchUserUseCase.getUsersByKeys(List.of("111", "999"), List.of("dos@test.com"))).thenReturn(Mono.just(new UserBatchLookup(
+                Map.of("111", User.builder().name("Ana").numberIdentity("111").password("hash").build()), List.of("999", "dos@test.com"))));
+
+        webTestClient.post()
+                .uri("/api/v1/usuarios/batch")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue("{\"numberIdentities\":[\"111\",\"999\"],\"emails\":[\"dos@test.com\"]}")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.users['111'].name").isEqualTo("Ana")
+                .jsonPath("$.users['111'].password").doesNotExist()
+                .jsonPath("$.missing.length()").isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("should reject a batch lookup with more keys than allowed")
+    void testGetUsersByKeys_TooManyKeys() {
+        webTestClient.post()
+                .uri("/api/v1/usuarios/batch")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue("{\"numberIdentities\":[\"1\",\"2\",\"3\"],\"emails\":[\"a@test.com\"]}")
+                .exchange()
+                .expectStatus().isBadRequest();
+    }
+
+    @Test
+    @DisplayName("should return 400 on logout when the request carries no revocable token")
+    void testLogout_WithoutTokenDetails() {
+        webTestClient.post()
+                .uri("/api/v1/logout")
+                .exchange()
+                .expectStatus().isBadRequest();
+    }
 }
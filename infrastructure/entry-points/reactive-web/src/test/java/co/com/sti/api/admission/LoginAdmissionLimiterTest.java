@@ -0,0 +1,111 @@
+package co.com.sti.api.admission;
+
+import co.com.sti.api.config.LoginAdmissionProperties;
+import co.com.sti.api.exceptions.ServiceUnavailableException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import reactor.core.Disposable;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class LoginAdmissionLimiterTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private LoginAdmissionLimiter limiter;
+
+    @BeforeEach
+    void setUp() {
+        LoginAdmissionProperties properties = new LoginAdmissionProperties();
+        properties.setMaxConcurrent(1);
+        properties.setMaxQueued(1);
+        properties.setMaxQueueWait(Duration.ofSeconds(5));
+        properties.setRetryAfter(Duration.ofSeconds(3));
+        meterRegistry = new SimpleMeterRegistry();
+        limiter = new LoginAdmissionLimiter(properties, meterRegistry);
+    }
+
+    @Test
+    @DisplayName("should run the action immediately while there is capacity")
+    void admit_WithCapacity_RunsAction() {
+        StepVerifier.create(limiter.admit(() -> Mono.just("ok")))
+                .expectNext("ok")
+                .verifyComplete();
+
+        assertEquals(1.0, counter("admitted"));
+        assertEquals(0.0, gauge("login.admission.in_flight"));
+    }
+
+    @Test
+    @DisplayName("should queue when saturated, admit on release and shed once the queue is full")
+    void admit_Saturated_QueuesThenSheds() {
+        Sinks.One<String> first = Sinks.one();
+        Disposable running = limiter.admit(first::asMono).subscribe();
+
+        Mono<String> queued = limiter.admit(() -> Mono.just("queued"));
+        StepVerifier.create(queued)
+                .then(() -> {
+                    assertEquals(1.0, gauge("login.admission.queued"));
+                    StepVerifier.create(limiter.admit(() -> Mono.just("shed")))
+                            .expectErrorSatisfies(error -> {
+                                ServiceUnavailableException exception = (ServiceUnavailableException) error;
+                                assertEquals(Duration.ofSeconds(3), exception.getRetryAfter());
+                            })
+                            .verify();
+                    first.tryEmitValue("done");
+                })
+                .expectNext("queued")
+                .verifyComplete();
+
+        running.dispose();
+        assertEquals(1.0, counter("shed"));
+        assertEquals(1.0, counter("queued"));
+        assertEquals(0.0, gauge("login.admission.in_flight"));
+        assertEquals(0.0, gauge("login.admission.queued"));
+    }
+
+    @Test
+    @DisplayName("should shed a queued request when the maximum queue wait elapses")
+    void admit_QueueWaitElapsed_Sheds() {
+        LoginAdmissionProperties properties = new LoginAdmissionProperties();
+        properties.setMaxConcurrent(1);
+        properties.setMaxQueued(1);
+        properties.setMaxQueueWait(Duration.ofMillis(50));
+        limiter = new LoginAdmissionLimiter(properties, meterRegistry);
+        Disposable running = limiter.admit(() -> Mono.never()).subscribe();
+
+        StepVerifier.create(limiter.admit(() -> Mono.just("late")))
+                .expectError(ServiceUnavailableException.class)
+                .verify(Duration.ofSeconds(2));
+
+        running.dispose();
+        StepVerifier.create(limiter.admit(() -> Mono.just("ok")))
+                .expectNext("ok")
+                .verifyComplete();
+    }
+
+    @Test
+    @DisplayName("should release the permit when the admitted request is cancelled")
+    void admit_Cancelled_ReleasesPermit() {
+        Disposable running = limiter.admit(() -> Mono.never()).subscribe();
+        assertEquals(1.0, gauge("login.admission.in_flight"));
+
+        running.dispose();
+
+        assertEquals(0.0, gauge("login.admission.in_flight"));
+    }
+
+    private double counter(String outcome) {
+        return meterRegistry.counter("login.admission", "outcome", outcome).count();
+    }
+
+    private double gauge(String name) {
+        return meterRegistry.get(name).gauge().value();
+    }
+}
@@ -2,12 +2,23 @@ package co.com.sti.api.config;
 
 import co.com.sti.api.Handler;
 import co.com.sti.api.RouterRest;
+import co.com.sti.api.admission.LoginAdmissionLimiter;
 import co.com.sti.api.dto.CreateUserDTO;
 import co.com.sti.api.mapper.UserDTOMapper;
+import co.com.sti.api.security.JwtKeyManager;
+import co.com.sti.api.security.TokenRevocationRegistry;
+import co.com.sti.api.userexport.UserExportWriter;
+import co.com.sti.api.userimport.UserImportProcessor;
 import co.com.sti.model.user.User;
 import co.com.sti.usecase.authentication.IAuthenticationUseCase;
+import co.com.sti.usecase.refreshtoken.IRefreshTokenUseCase;
+import co.com.sti.usecase.revocation.ITokenRevocationUseCase;
+import co.com.sti.usecase.authentication.password.IPasswordHasher;
+import co.com.sti.usecase.exportusers.IExportUsersUseCase;
+import co.com.sti.usecase.listusers.IListUsersUseCase;
 import co.com.sti.usecase.resgisteruser.IRegisterUserUseCase;
 import co.com.sti.usecase.searchuser.ISearchUserUseCase;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.mockito.Mockito;
@@ -17,7 +28,6 @@ import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.Import;
 import org.springframework.security.config.web.server.ServerHttpSecurity;
-import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.server.SecurityWebFilterChain;
 import org.springframework.test.web.reactive.server.WebTestClient;
 import jakarta.validation.Validator;
@@ -25,6 +35,7 @@ import reactor.core.publisher.Mono;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
+import java.util.List;
 
 import static org.mockito.Mockito.when;
 
@@ -62,7 +73,7 @@ class ConfigTest {
         @Bean
         ISearchUserUseCase searchUserUseCase() {
             ISearchUserUseCase mockSearch = Mockito.mock(ISearchUserUseCase.class);
-            when(mockSearch.getUserbyIdentification(Mockito.anyString())).thenReturn(Mono.empty());
+            when(mockSearch.getUserProfile(Mockito.anyString())).thenReturn(Mono.empty());
             return mockSearch;
         }
 
@@ -71,6 +82,61 @@ class ConfigTest {
             return Mockito.mock(IAuthenticationUseCase.class);
         }
 
+        @Bean
+        IRefreshTokenUseCase refreshTokenUseCase() {
+            return Mockito.mock(IRefreshTokenUseCase.class);
+        }
+
+        @Bean
+        ITokenRevocationUseCase tokenRevocationUseCase() {
+            return Mockito.mock(ITokenRevocationUseCase.class);
+        }
+
+        @Bean
+        TokenRevocationRegistry tokenRevocationRegistry(JwtProperties jwtProperties) {
+            return new TokenRevocationRegistry(jwtProperties, new SimpleMeterRegistry());
+        }
+
+        @Bean
+        UserImportProcessor userImportProcessor() {
+            return Mockito.mock(UserImportProcessor.class);
+        }
+
+        @Bean
+        IExportUsersUseCase exportUsersUseCase() {
+            return Mockito.mock(IExportUsersUseCase.class);
+        }
+
+        @Bean
+        UserExportWriter userExportWriter() {
+            return Mockito.mock(UserExportWriter.class);
+        }
+
+        @Bean
+        IListUsersUseCase listUsersUseCase() {
+            return Mockito.mock(IListUsersUseCase.class);
+        }
+
+        @Bean
+        UserListingProperties userListingProperties() {
+            return new UserListingProperties();
+        }
+
+        @Bean
+        UserBatchLookupProperties userBatchLookupProperties() {
+            return new UserBatchLookupProperties();
+        }
+
+        @Bean
+        HttpCacheProperties httpCacheProperties() {
+            HttpCacheProperties.Rule rule = new HttpCacheProperties.Rule();
+            rule.setPath("/api/v1/usuarios/{identification}");
+            rule.setCacheControl("private, no-cache");
+            HttpCacheProperties properties = new HttpCacheProperties();
+            properties.setRules(List.of(rule));
+            return properties;
+        }
+
         @Bean
         UserDTOMapper userDTOMapper() {
             UserDTOMapper mockMapper = Mockito.mock(UserDTOMapper.class);
@@ -87,7 +153,29 @@ class ConfigTest {
         }
 
         @Bean
-        PasswordEncoder passwordEncoder() { return Mockito.mock(PasswordEncoder.class); }
+        IPasswordHasher passwordHasher() {
+            IPasswordHasher hasherMock = Mockito.mock(IPasswordHasher.class);
+            when(hasherMock.encode(Mockito.any())).thenReturn(Mono.just("hashedPassword"));
+            return hasherMock;
+        }
+
+        @Bean
+        LoginAdmissionLimiter loginAdmissionLimiter() {
+            return new LoginAdmissionLimiter(new LoginAdmissionProperties(), new SimpleMeterRegistry());
+        }
+
+        @Bean
+        JwtProperties jwtProperties() {
+            JwtProperties properties = new JwtProperties();
+            properties.setAlgorithm(JwtKeyManager.ES256);
+            properties.setAllowEphemeralKeys(true);
+            return properties;
+        }
+
+        @Bean
+        JwtKeyManager jwtKeyManager(JwtProperties jwtProperties) {
+            return new JwtKeyManager(jwtProperties);
+        }
 
         @Bean
         TaskPath taskPath() {
@@ -95,7 +183,14 @@ class ConfigTest {
             TaskPath taskPathMock = Mockito.mock(TaskPath.class);
             when(taskPathMock.getTasks()).thenReturn("/api/v1/usuarios");
             when(taskPathMock.getTasksById()).thenReturn("/api/v1/usuarios/{identification}");
+            when(taskPathMock.getTaskImport()).thenReturn("/api/v1/usuarios/importacion");
+            when(taskPathMock.getTaskExport()).thenReturn("/api/v1/usuarios/exportacion");
+            when(taskPathMock.getTaskBatchLookup()).thenReturn("/api/v1/usuarios/batch");
             when(taskPathMock.getTaskAuth()).thenReturn("/api/v1/login");
+            when(taskPathMock.getTaskRefresh()).thenReturn("/api/v1/login/refresh");
+            when(taskPathMock.getTaskLogout()).thenReturn("/api/v1/logout");
+            when(taskPathMock.getTaskRevokeSessions()).thenReturn("/api/v1/usuarios/{email}/sesiones");
+            when(taskPathMock.getJwks()).thenReturn("/.well-known/jwks.json");
             return taskPathMock;
         }
     }
@@ -127,7 +222,7 @@ class ConfigTest {
     }
 
     @Test
-    @DisplayName("securityHeadersConfig should return expected headers for GET request")
+    @DisplayName("securityHeadersConfig should apply the configured cache rule for GET request")
     void securityHeadersConfigShouldApplyToGetRequest() {
         webTestClient.get()
                 .uri(taskPath.getTasksById(),"123456")
@@ -138,8 +233,20 @@ class ConfigTest {
                 .expectHeader().valueEquals("Strict-Transport-Security", "max-age=31536000;")
                 .expectHeader().valueEquals("X-Content-Type-Options", "nosniff")
                 .expectHeader().valueEquals("Server", "")
-                .expectHeader().valueEquals("Cache-Control", "no-store")
-                .expectHeader().valueEquals("Pragma", "no-cache")
+                .expectHeader().valueEquals("Cache-Control", "private, no-cache")
+                .expectHeader().doesNotExist("Pragma")
                 .expectHeader().valueEquals("Referrer-Policy", "strict-origin-when-cross-origin");
     }
-}
\ No newline at end of file
+
+    @Test
+    @DisplayName("securityHeadersConfig should let the JWKS endpoint be cached publicly")
+    void securityHeadersConfigShouldNotDisableCachingForJwks() {
+        webTestClient.get()
+                .uri(taskPath.getJwks())
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().valueEquals("Cache-Control", "max-age=3600, public")
+                .expectHeader().doesNotExist("Pragma")
+                .expectHeader().valueEquals("X-Content-Type-Options", "nosniff");
+    }
+}
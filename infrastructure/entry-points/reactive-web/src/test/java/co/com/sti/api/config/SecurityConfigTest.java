@@ -3,6 +3,7 @@ package co.com.sti.api.config;
 
 import co.com.sti.api.exceptions.UnauthorizedException;
 import co.com.sti.api.security.JwtValidator;
+import co.com.sti.model.role.Role;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -12,19 +13,25 @@ import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.context.ApplicationContext;
 import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
 import org.springframework.mock.web.server.MockServerWebExchange;
 import org.springframework.security.authentication.ReactiveAuthenticationManager;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.Authentication;
+import org.springframework.security.config.web.server.ServerHttpSecurity;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.context.SecurityContext;
+import org.springframework.security.core.context.SecurityContextImpl;
+import org.springframework.security.web.server.WebFilterChainProxy;
 import org.springframework.security.web.server.context.ServerSecurityContextRepository;
+import org.springframework.test.web.reactive.server.WebTestClient;
 import org.springframework.web.server.ServerWebExchange;
 import reactor.core.publisher.Mono;
 import reactor.test.StepVerifier;
 
 import java.util.Collections;
+import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
@@ -56,7 +63,9 @@ class SecurityConfigTest {
     @Test
     @DisplayName("should provide a BCryptPasswordEncoder bean")
     void passwordEncoderBean_ShouldProvideBCryptPasswordEncoder() {
-        assertNotNull(securityConfig.passwordEncoder());
+        PasswordHashingProperties properties = new PasswordHashingProperties();
+        properties.setBcryptStrength(4);
+        assertNotNull(securityConfig.passwordEncoder(properties));
     }
 
     @Test
@@ -134,6 +143,29 @@ class SecurityConfigTest {
                 .verifyComplete();
     }
 
+    @Test
+    @DisplayName("securityWebFilterChain should forbid the user cache endpoint to non-admin roles")
+    void securityWebFilterChain_UserCacheEndpoint_OnlyAdmin() {
+        assertEquals(HttpStatus.FORBIDDEN, userCacheStatus(Role.CLIENT));
+        assertEquals(HttpStatus.FORBIDDEN, userCacheStatus(Role.ADVISOR));
+        assertEquals(HttpStatus.OK, userCacheStatus(Role.ADMIN));
+    }
+
+    private HttpStatus userCacheStatus(Role role) {
+        Authentication authentication = new UsernamePasswordAuthenticationToken("user@test.com", "token",
+                List.of(new SimpleGrantedAuthority("ROLE_" + role.getName())));
+        ServerSecurityContextRepository contextRepository = mock(ServerSecurityContextRepository.class);
+        when(contextRepository.load(any())).thenReturn(Mono.just(new SecurityContextImpl(authentication)));
+
+        WebTestClient client = WebTestClient
+                .bindToWebHandler(exchange -> exchange.getResponse().setComplete())
+                .webFilter(new WebFilterChainProxy(securityConfig.securityWebFilterChain(
+                        ServerHttpSecurity.http(), authenticationManager, contextRepository)))
+                .build();
+        return HttpStatus.valueOf(client.delete().uri("/actuator/usercache").exchange()
+                .returnResult(Void.class).getStatus().value());
+    }
+
     @Test
     @DisplayName("securityContextRepository should return empty for no Authorization header")
     void securityContextRepository_NoAuthHeader_ReturnsEmpty() {
@@ -0,0 +1,65 @@
+package co.com.sti.api.maintenance;
+
+import co.com.sti.api.config.JwtProperties;
+import co.com.sti.api.security.TokenRevocationRegistry;
+import co.com.sti.model.revocation.RevokedToken;
+import co.com.sti.model.revocation.TokenEpoch;
+import co.com.sti.usecase.revocation.ITokenRevocationUseCase;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import reactor.core.publisher.Flux;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+import java.time.Instant;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class TokenRevocationSyncJobTest {
+
+    @Mock
+    private ITokenRevocationUseCase tokenRevocationUseCase;
+
+    private TokenRevocationRegistry registry;
+    private TokenRevocationSyncJob job;
+    private final Instant revokedAt = Instant.parse("2030-01-01T00:00:10Z");
+
+    @BeforeEach
+    void setUp() {
+        JwtProperties properties = new JwtProperties();
+        properties.setExpiration(3_600_000L);
+        properties.getRevocation().setSyncOverlap(Duration.ofSeconds(5));
+        registry = new TokenRevocationRegistry(properties, new SimpleMeterRegistry());
+        job = new TokenRevocationSyncJob(tokenRevocationUseCase, registry, properties);
+    }
+
+    @Test
+    @DisplayName("should mirror remote revocations and poll again from the watermark minus the overlap")
+    void sync_AppliesChangesAndAdvancesWatermark() {
+        Instant epoch = Instant.now();
+        when(tokenRevocationUseCase.revokedTokensSince(Instant.EPOCH.minusSeconds(5))).thenReturn(Flux.just(RevokedToken.builder()
+                .jti("jti-1").email("test@example.com").expiresAt(Instant.now().plusSeconds(60)).revokedAt(revokedAt).build()));
+        when(tokenRevocationUseCase.tokenEpochsSince(Instant.EPOCH.minusSeconds(5))).thenReturn(Flux.just(TokenEpoch.builder()
+                .email("otro@example.com").notBefore(epoch).updatedAt(revokedAt.plusSeconds(1)).build()));
+        when(tokenRevocationUseCase.revokedTokensSince(revokedAt.minusSeconds(5))).thenReturn(Flux.empty());
+        when(tokenRevocationUseCase.tokenEpochsSince(revokedAt.plusSeconds(1).minusSeconds(5))).thenReturn(Flux.empty());
+
+        StepVerifier.create(job.sync()).verifyComplete();
+        StepVerifier.create(job.sync()).verifyComplete();
+
+        assertTrue(registry.isRevoked("jti-1", "test@example.com", 0));
+        assertTrue(registry.isRevoked(null, "otro@example.com", epoch.toEpochMilli()));
+        assertFalse(registry.isRevoked("jti-2", "test@example.com", 0));
+        verify(tokenRevocationUseCase).revokedTokensSince(revokedAt.minusSeconds(5));
+        verify(tokenRevocationUseCase).tokenEpochsSince(revokedAt.minusSeconds(4));
+    }
+}
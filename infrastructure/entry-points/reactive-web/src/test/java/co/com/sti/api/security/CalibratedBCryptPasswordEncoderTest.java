@@ -0,0 +1,39 @@
+package co.com.sti.api.security;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class CalibratedBCryptPasswordEncoderTest {
+
+    @Test
+    @DisplayName("should request a re-hash when the stored cost is lower or higher than the calibrated one")
+    void upgradeEncoding_DifferentCost_ReturnsTrue() {
+        CalibratedBCryptPasswordEncoder encoder = new CalibratedBCryptPasswordEncoder(5);
+
+        assertTrue(encoder.upgradeEncoding(new CalibratedBCryptPasswordEncoder(4).encode("secret")));
+        assertTrue(encoder.upgradeEncoding(new CalibratedBCryptPasswordEncoder(6).encode("secret")));
+    }
+
+    @Test
+    @DisplayName("should not request a re-hash when the stored cost matches or the hash is not BCrypt")
+    void upgradeEncoding_SameCostOrUnknownFormat_ReturnsFalse() {
+        CalibratedBCryptPasswordEncoder encoder = new CalibratedBCryptPasswordEncoder(4);
+
+        assertFalse(encoder.upgradeEncoding(encoder.encode("secret")));
+        assertFalse(encoder.upgradeEncoding("plain-text"));
+        assertFalse(encoder.upgradeEncoding(null));
+    }
+
+    @Test
+    @DisplayName("strengthFor should pick the highest cost that stays within the target time")
+    void strengthFor_ExtrapolatesFromMinimumCost() {
+        // 10 ms con costo 10: 20 ms con 11, 40 ms con 12, 80 ms con 13
+        assertEquals(12, BCryptStrengthCalibrator.strengthFor(50_000_000L, 10_000_000L, 10, 16));
+        assertEquals(10, BCryptStrengthCalibrator.strengthFor(5_000_000L, 10_000_000L, 10, 16));
+        assertEquals(16, BCryptStrengthCalibrator.strengthFor(10_000_000_000L, 1_000_000L, 10, 16));
+    }
+}
@@ -0,0 +1,132 @@
+package co.com.sti.api.security;
+
+import co.com.sti.api.config.JwtProperties;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.SignatureAlgorithm;
+import io.jsonwebtoken.io.Decoders;
+import io.jsonwebtoken.security.Keys;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.util.Date;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class Hs256FastVerifierTest {
+
+    private static final String SECRET = "cGp3dHNlY3JldGtleWZvcnNlY3VyaXR5YW5kdGVzdGluZ3B1cnBvc2Vz";
+    private static final String OTHER_SECRET = "bnVldmFjbGF2ZXNlY3JldGFwYXJhZmlybWFybG9zdG9rZW5zand0MjAyNQ==";
+
+    private JwtKeyManager jwtKeyManager;
+    private Hs256FastVerifier verifier;
+
+    @BeforeEach
+    void setUp() {
+        JwtProperties properties = new JwtProperties();
+        properties.setSecret(SECRET);
+        properties.setKeys(Map.of("2025", OTHER_SECRET));
+        properties.setActiveKid("2025");
+        jwtKeyManager = new JwtKeyManager(properties);
+        verifier = new Hs256FastVerifier(jwtKeyManager);
+    }
+
+    @Test
+    void verifiesTokensIssuedByTheKeyManager() {
+        Instant iat = Instant.now();
+        Instant exp = Instant.now().plusSeconds(600);
+        String token = jwtKeyManager.builder()
+                .claims(Map.of("email", "test@example.com", "idRole", 2, "sid", "sesion-1"))
+                .id("jti-1")
+                .subject("test@example.com")
+                .issuedAt(Date.from(iat))
+                .expiration(Date.from(exp))
+                .compact();
+
+        Hs256FastVerifier.VerifiedClaims claims = verifier.verify(token);
+
+        assertNotNull(claims);
+        assertEquals("test@example.com", claims.email());
+        assertEquals(2, claims.idRole());
+        assertEquals("jti-1", claims.jti());
+        assertEquals("sesion-1", claims.sid());
+        assertEquals(iat.getEpochSecond() * 1000, claims.issuedAtMillis());
+        assertEquals(exp.getEpochSecond() * 1000, claims.expiresAtMillis());
+        // Segunda llamada en el mismo hilo reutiliza Mac y buffers
+        assertEquals(claims, verifier.verify(token));
+    }
+
+    @Test
+    void verifiesLegacyTokensWithoutKid() {
+        String token = legacyToken(Map.of("email", "test@example.com", "idRole", 1), Instant.now().plusSeconds(600));
+
+        Hs256FastVerifier.VerifiedClaims claims = verifier.verify(token);
+        assertEquals("test@example.com", claims.email());
+        assertNull(claims.sid());
+    }
+
+    @Test
+    void fallsBackOnTamperedSignature() {
+        String token = legacyToken(Map.of("email", "test@example.com", "idRole", 1), Instant.now().plusSeconds(600));
+        char last = token.charAt(token.length() - 1);
+        String tampered = token.substring(0, token.length() - 1) + (last == 'A' ? 'B' : 'A');
+
+        assertNull(verifier.verify(tampered));
+    }
+
+    @Test
+    void fallsBackOnExpiredToken() {
+        String token = legacyToken(Map.of("email", "test@example.com", "idRole", 1), Instant.now().minusSeconds(60));
+
+        assertNull(verifier.verify(token));
+    }
+
+    @Test
+    void fallsBackOnUnexpectedClaimsOrEscapes() {
+        Instant exp = Instant.now().plusSeconds(600);
+
+        assertNull(verifier.verify(legacyToken(Map.of("email", "test@example.com", "idRole", 1, "nbf", 1), exp)));
+        assertNull(verifier.verify(legacyToken(Map.of("email", "te\"st@example.com", "idRole", 1), exp)));
+        assertNull(verifier.verify(legacyToken(Map.of("email", "test@example.com", "idRole", "1"), exp)));
+        assertNull(verifier.verify(legacyToken(Map.of("email", "test@example.com"), exp)));
+    }
+
+    @Test
+    void fallsBackOnUnknownKidOrMalformedToken() {
+        String unknownKid = Jwts.builder()
+                .header().keyId("desconocido").and()
+                .claims(Map.of("email", "test@example.com", "idRole", 1))
+                .expiration(Date.from(Instant.now().plusSeconds(600)))
+                .signWith(Keys.hmacShaKeyFor(Decoders.BASE64.decode(SECRET)), Jwts.SIG.HS256)
+                .compact();
+
+        assertNull(verifier.verify(unknownKid));
+        assertNull(verifier.verify("invalid.token.format"));
+        assertNull(verifier.verify("sin-puntos"));
+    }
+
+    @Test
+    void fallsBackForAsymmetricTokens() {
+        JwtProperties properties = new JwtProperties();
+        properties.setAlgorithm(JwtKeyManager.ES256);
+        properties.setAllowEphemeralKeys(true);
+        JwtKeyManager es256 = new JwtKeyManager(properties);
+        String token = es256.builder()
+                .claims(Map.of("email", "test@example.com", "idRole", 1))
+                .expiration(Date.from(Instant.now().plusSeconds(600)))
+                .compact();
+
+        assertNull(new Hs256FastVerifier(es256).verify(token));
+    }
+
+    private static String legacyToken(Map<String, ?> claims, Instant exp) {
+        return Jwts.builder()
+                .claims(claims)
+                .expiration(Date.from(exp))
+                .signWith(Keys.hmacShaKeyFor(Decoders.BASE64.decode(SECRET)), SignatureAlgorithm.HS256)
+                .compact();
+    }
+}
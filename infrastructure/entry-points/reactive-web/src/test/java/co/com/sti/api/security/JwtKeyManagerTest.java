@@ -0,0 +1,158 @@
+package co.com.sti.api.security;
+
+import co.com.sti.api.config.JwtProperties;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.SignatureAlgorithm;
+import io.jsonwebtoken.io.Decoders;
+import io.jsonwebtoken.security.Keys;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.security.KeyPair;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class JwtKeyManagerTest {
+
+    private static final String OLD_SECRET = "cGp3dHNlY3JldGtleWZvcnNlY3VyaXR5YW5kdGVzdGluZ3B1cnBvc2Vz";
+    private static final String NEW_SECRET = "bnVldmFjbGF2ZXNlY3JldGFwYXJhZmlybWFybG9zdG9rZW5zand0MjAyNQ==";
+
+    @Test
+    @DisplayName("should sign with the active kid and verify tokens of every key in the ring")
+    void signsWithActiveKidAndVerifiesTokensOfEveryKeyInTheRing() {
+        JwtKeyManager oldManager = new JwtKeyManager(ring("2024"));
+        JwtKeyManager rotated = new JwtKeyManager(ring("2025"));
+
+        String oldToken = oldManager.builder().subject("test@example.com").compact();
+        String newToken = rotated.builder().subject("test@example.com").compact();
+
+        assertEquals("2025", rotated.parser().parseSignedClaims(newToken).getHeader().getKeyId());
+        Claims claims = rotated.parser().parseSignedClaims(oldToken).getPayload();
+        assertEquals("test@example.com", claims.getSubject());
+    }
+
+    @Test
+    @DisplayName("should verify legacy tokens without kid with the default secret")
+    void verifiesLegacyTokensWithoutKidWithTheDefaultSecret() {
+        JwtProperties properties = ring("2025");
+        properties.setSecret(OLD_SECRET);
+        JwtKeyManager manager = new JwtKeyManager(properties);
+
+        String legacyToken = Jwts.builder()
+                .subject("test@example.com")
+                .expiration(Date.from(Instant.now().plusSeconds(60)))
+                .signWith(Keys.hmacShaKeyFor(Decoders.BASE64.decode(OLD_SECRET)), SignatureAlgorithm.HS256)
+                .compact();
+
+        assertEquals("test@example.com", manager.parser().parseSignedClaims(legacyToken).getPayload().getSubject());
+    }
+
+    @Test
+    @DisplayName("should reject tokens with an unknown kid")
+    void rejectsTokensWithUnknownKid() {
+        JwtKeyManager manager = new JwtKeyManager(ring("2025"));
+        String token = Jwts.builder()
+                .header().keyId("desconocido").and()
+                .subject("test@example.com")
+                .signWith(Keys.hmacShaKeyFor(Decoders.BASE64.decode(NEW_SECRET)), Jwts.SIG.HS256)
+                .compact();
+
+        assertThrows(JwtException.class, () -> manager.parser().parseSignedClaims(token));
+    }
+
+    @Test
+    @DisplayName("should sign with the configured ES256 key and publish only public keys")
+    void signsWithConfiguredEs256KeyAndPublishesOnlyPublicKeys() {
+        KeyPair pair = Jwts.SIG.ES256.keyPair().build();
+        JwtProperties.AsymmetricKey configured = new JwtProperties.AsymmetricKey();
+        configured.setPrivateKey(Base64.getEncoder().encodeToString(pair.getPrivate().getEncoded()));
+        configured.setPublicKey("-----BEGIN PUBLIC KEY-----\n"
+                + Base64.getMimeEncoder().encodeToString(pair.getPublic().getEncoded())
+                + "\n-----END PUBLIC KEY-----");
+        JwtProperties properties = new JwtProperties();
+        properties.setSecret(OLD_SECRET);
+        properties.setAlgorithm(JwtKeyManager.ES256);
+        properties.setKeyPairs(Map.of("ec-2025", configured));
+        JwtKeyManager manager = new JwtKeyManager(properties);
+
+        String token = manager.builder().subject("test@example.com").compact();
+
+        // Un servicio externo verifica solo con la clave pública publicada
+        Claims claims = Jwts.parser().verifyWith(pair.getPublic()).build().parseSignedClaims(token).getPayload();
+        assertEquals("test@example.com", claims.getSubject());
+        assertEquals("test@example.com", manager.parser().parseSignedClaims(token).getPayload().getSubject());
+        List<?> jwks = (List<?>) manager.jwks().get("keys");
+        assertEquals(1, jwks.size());
+        Map<?, ?> jwk = (Map<?, ?>) jwks.get(0);
+        assertEquals("ec-2025", jwk.get("kid"));
+        assertEquals("ES256", jwk.get("alg"));
+        assertFalse(jwk.containsKey("d"));
+    }
+
+    @Test
+    @DisplayName("should generate an ephemeral Ed25519 key only when explicitly allowed")
+    void generatesAnEphemeralEd25519KeyWhenAllowed() {
+        JwtProperties properties = new JwtProperties();
+        properties.setAlgorithm(JwtKeyManager.EDDSA);
+        properties.setAllowEphemeralKeys(true);
+        JwtKeyManager manager = new JwtKeyManager(properties);
+
+        String token = manager.builder().subject("test@example.com").compact();
+
+        assertEquals("EdDSA", manager.parser().parseSignedClaims(token).getHeader().getAlgorithm());
+        Map<?, ?> jwk = (Map<?, ?>) ((List<?>) manager.jwks().get("keys")).get(0);
+        assertEquals("OKP", jwk.get("kty"));
+        assertEquals("Ed25519", jwk.get("crv"));
+    }
+
+    @Test
+    @DisplayName("should refuse to start without asymmetric keys unless ephemeral keys are allowed")
+    void failsWithoutKeyPairsWhenEphemeralKeysAreNotAllowed() {
+        JwtProperties properties = new JwtProperties();
+        properties.setSecret(OLD_SECRET);
+        properties.setAlgorithm(JwtKeyManager.ES256);
+
+        assertThrows(IllegalStateException.class, () -> new JwtKeyManager(properties));
+    }
+
+    @Test
+    @DisplayName("should reuse the same parser instance")
+    void reusesTheSameParserInstance() {
+        JwtKeyManager manager = new JwtKeyManager(ring("2025"));
+
+        assertSame(manager.parser(), manager.parser());
+    }
+
+    @Test
+    @DisplayName("should fail fast on invalid configuration")
+    void failsFastOnInvalidConfiguration() {
+        JwtProperties weak = new JwtProperties();
+        weak.setSecret("Y29ydGE=");
+        JwtProperties missingActive = ring("2026");
+        JwtProperties empty = new JwtProperties();
+        JwtProperties unsupported = ring("2025");
+        unsupported.setAlgorithm("RS256");
+
+        assertThrows(IllegalStateException.class, () -> new JwtKeyManager(weak));
+        assertThrows(IllegalStateException.class, () -> new JwtKeyManager(missingActive));
+        assertThrows(IllegalStateException.class, () -> new JwtKeyManager(empty));
+        assertThrows(IllegalStateException.class, () -> new JwtKeyManager(unsupported));
+    }
+
+    private static JwtProperties ring(String activeKid) {
+        JwtProperties properties = new JwtProperties();
+        properties.setKeys(Map.of("2024", OLD_SECRET, "2025", NEW_SECRET));
+        properties.setActiveKid(activeKid);
+        return properties;
+    }
+}
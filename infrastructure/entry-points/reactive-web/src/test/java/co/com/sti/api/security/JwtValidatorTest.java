@@ -1,8 +1,12 @@
 package co.com.sti.api.security;
 
+import co.com.sti.api.config.JwtProperties;
 import co.com.sti.api.exceptions.ForbiddenException;
 import co.com.sti.api.exceptions.UnauthorizedException;
+import co.com.sti.model.revocation.RevokedToken;
+import co.com.sti.model.revocation.TokenEpoch;
 import io.jsonwebtoken.Jwts;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import io.jsonwebtoken.SignatureAlgorithm;
 import io.jsonwebtoken.io.Decoders;
 import io.jsonwebtoken.security.Keys;
@@ -12,15 +16,18 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
-import org.springframework.test.util.ReflectionTestUtils;
 import reactor.test.StepVerifier;
 
 import java.security.Key;
 import java.time.Instant;
+import java.time.temporal.ChronoUnit;
 import java.util.Date;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 @ExtendWith(MockitoExtension.class)
@@ -29,11 +36,18 @@ class JwtValidatorTest {
     private JwtValidator jwtValidator;
     private static final String JWT_SECRET = "cGp3dHNlY3JldGtleWZvcnNlY3VyaXR5YW5kdGVzdGluZ3B1cnBvc2Vz";
     private Key key;
+    private SimpleMeterRegistry meterRegistry;
+    private TokenRevocationRegistry revocationRegistry;
+    private JwtProperties properties;
 
     @BeforeEach
     void setUp() {
-        jwtValidator = new JwtValidator();
-        ReflectionTestUtils.setField(jwtValidator, "jwtSecret", JWT_SECRET);
+        properties = new JwtProperties();
+        properties.setSecret(JWT_SECRET);
+        properties.setExpiration(3_600_000L);
+        meterRegistry = new SimpleMeterRegistry();
+        revocationRegistry = new TokenRevocationRegistry(properties, meterRegistry);
+        jwtValidator = new JwtValidator(new JwtKeyManager(properties), properties, revocationRegistry, meterRegistry);
         key = Keys.hmacShaKeyFor(Decoders.BASE64.decode(JWT_SECRET));
     }
 
@@ -60,8 +74,112 @@ class JwtValidatorTest {
                 .verifyComplete();
     }
 
+    @Test
+    @DisplayName("should serve a repeated token from the verified-token cache")
+    void validateToken_repeatedToken_servedFromCache() {
+        String token = Jwts.builder()
+                .claim("email", "test@example.com")
+                .claim("idRole", 1)
+                .issuedAt(Date.from(Instant.now()))
+                .expiration(Date.from(Instant.now().plus(1, TimeUnit.HOURS.toChronoUnit())))
+                .signWith(key, SignatureAlgorithm.HS256)
+                .compact();
+
+        var first = jwtValidator.validateToken(token).block();
+        var second = jwtValidator.validateToken(token).block();
+
+        assertSame(first, second);
+        assertEquals(1.0, meterRegistry.get("cache.gets").tag("cache", JwtValidator.CACHE_NAME)
+                .tag("result", "hit").functionCounter().count());
+        assertEquals(1.0, meterRegistry.get("cache.gets").tag("cache", JwtValidator.CACHE_NAME)
+                .tag("result", "miss").functionCounter().count());
+    }
+
+    @Test
+    @DisplayName("should not serve a cached authentication after the token exp")
+    void validateToken_cachedTokenPastExp_verifiesAgain() {
+        AtomicLong nanos = new AtomicLong();
+        SimpleMeterRegistry tickerMeterRegistry = new SimpleMeterRegistry();
+        JwtValidator validator = new JwtValidator(new JwtKeyManager(properties), properties, revocationRegistry, tickerMeterRegistry,
+                nanos::get);
+        String token = Jwts.builder()
+                .claim("email", "test@example.com")
+                .claim("idRole", 1)
+                .issuedAt(Date.from(Instant.now()))
+                .expiration(Date.from(Instant.now().plus(1, ChronoUnit.MINUTES)))
+                .signWith(key, SignatureAlgorithm.HS256)
+                .compact();
+
+        var first = validator.validateToken(token).block();
+        // Para la caché ya pasó el exp del token; sin esperar en tiempo real
+        nanos.addAndGet(TimeUnit.MINUTES.toNanos(2));
+        var second = validator.validateToken(token).block();
+
+        assertNotSame(first, second);
+        assertEquals(0.0, tickerMeterRegistry.get("cache.gets").tag("cache", JwtValidator.CACHE_NAME)
+                .tag("result", "hit").functionCounter().count());
+    }
+
+    @Test
+    @DisplayName("should defer hashing and the cache lookup until subscription")
+    void validateToken_beforeSubscription_doesNotTouchTheCache() {
+        jwtValidator.validateToken("token-no-suscrito");
+
+        assertEquals(0.0, meterRegistry.get("cache.gets").tag("cache", JwtValidator.CACHE_NAME)
+                .tag("result", "miss").functionCounter().count());
+    }
+
     // -- PRUEBAS DE ESCENARIOS DE FALLA (ERRORES) --
 
+    @Test
+    @DisplayName("should reject a revoked jti even when the authentication is already cached")
+    void validateToken_revokedJti_throwsUnauthorizedException() {
+        String token = Jwts.builder()
+                .id("jti-1")
+                .claim("email", "test@example.com")
+                .claim("idRole", 1)
+                .issuedAt(Date.from(Instant.now()))
+                .expiration(Date.from(Instant.now().plus(1, TimeUnit.HOURS.toChronoUnit())))
+                .signWith(key, SignatureAlgorithm.HS256)
+                .compact();
+        StepVerifier.create(jwtValidator.validateToken(token)).expectNextCount(1).verifyComplete();
+
+        revocationRegistry.apply(RevokedToken.builder()
+                .jti("jti-1").email("test@example.com").expiresAt(Instant.now().plusSeconds(3600)).build());
+
+        StepVerifier.create(jwtValidator.validateToken(token))
+                .verifyErrorSatisfies(throwable -> {
+                    assertTrue(throwable instanceof UnauthorizedException);
+                    assertEquals("Token revocado", throwable.getMessage());
+                });
+    }
+
+    @Test
+    @DisplayName("should reject tokens issued up to the user's epoch and accept newer ones")
+    void validateToken_userEpoch_rejectsOlderTokens() {
+        Instant epoch = Instant.now().minusSeconds(60).truncatedTo(ChronoUnit.SECONDS);
+        revocationRegistry.apply(TokenEpoch.builder().email("test@example.com").notBefore(epoch).build());
+
+        String older = Jwts.builder()
+                .claim("email", "test@example.com")
+                .claim("idRole", 1)
+                .issuedAt(Date.from(epoch))
+                .expiration(Date.from(Instant.now().plus(1, TimeUnit.HOURS.toChronoUnit())))
+                .signWith(key, SignatureAlgorithm.HS256)
+                .compact();
+        String newer = Jwts.builder()
+                .claim("email", "test@example.com")
+                .claim("idRole", 1)
+                .issuedAt(Date.from(Instant.now()))
+                .expiration(Date.from(Instant.now().plus(1, TimeUnit.HOURS.toChronoUnit())))
+                .signWith(key, SignatureAlgorithm.HS256)
+                .compact();
+
+        StepVerifier.create(jwtValidator.validateToken(older))
+                .verifyErrorSatisfies(throwable -> assertTrue(throwable instanceof UnauthorizedException));
+        StepVerifier.create(jwtValidator.validateToken(newer)).expectNextCount(1).verifyComplete();
+    }
+
     @Test
     @DisplayName("should return Mono.error(UnauthorizedException) for an expired token")
     void validateToken_expiredToken_throwsUnauthorizedException() {
@@ -0,0 +1,73 @@
+package co.com.sti.api.security;
+
+import co.com.sti.api.config.PasswordHashingProperties;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class PasswordEncoderFactoryTest {
+
+    private PasswordHashingProperties properties;
+
+    @BeforeEach
+    void setUp() {
+        properties = new PasswordHashingProperties();
+        properties.setBcryptStrength(4);
+        properties.getArgon2().setMemoryKib(1024);
+        properties.getArgon2().setIterations(1);
+        properties.getPbkdf2().setIterations(1000);
+    }
+
+    @Test
+    @DisplayName("should prefix new hashes with the configured algorithm and verify them")
+    void create_ConfiguredAlgorithm_PrefixesHash() {
+        for (String algorithm : new String[]{"bcrypt", "argon2", "pbkdf2"}) {
+            properties.setAlgorithm(algorithm);
+            PasswordEncoder encoder = PasswordEncoderFactory.create(properties);
+
+            String hash = encoder.encode("secret");
+
+            assertTrue(hash.startsWith("{" + algorithm + "}"));
+            assertTrue(encoder.matches("secret", hash));
+            assertFalse(encoder.matches("wrong", hash));
+            assertFalse(encoder.upgradeEncoding(hash));
+        }
+    }
+
+    @Test
+    @DisplayName("should verify legacy BCrypt hashes without prefix and request their migration")
+    void create_LegacyBCryptHash_MatchesAndNeedsUpgrade() {
+        properties.setAlgorithm("argon2");
+        PasswordEncoder encoder = PasswordEncoderFactory.create(properties);
+        String legacyHash = new BCryptPasswordEncoder(4).encode("secret");
+
+        assertTrue(encoder.matches("secret", legacyHash));
+        assertTrue(encoder.upgradeEncoding(legacyHash));
+    }
+
+    @Test
+    @DisplayName("should request a re-hash when a stored hash uses a different algorithm")
+    void create_OtherAlgorithmHash_NeedsUpgrade() {
+        properties.setAlgorithm("pbkdf2");
+        String pbkdf2Hash = PasswordEncoderFactory.create(properties).encode("secret");
+        properties.setAlgorithm("argon2");
+        PasswordEncoder encoder = PasswordEncoderFactory.create(properties);
+
+        assertTrue(encoder.matches("secret", pbkdf2Hash));
+        assertTrue(encoder.upgradeEncoding(pbkdf2Hash));
+    }
+
+    @Test
+    @DisplayName("should reject an unsupported algorithm")
+    void create_UnsupportedAlgorithm_Throws() {
+        properties.setAlgorithm("md5");
+
+        assertThrows(IllegalArgumentException.class, () -> PasswordEncoderFactory.create(properties));
+    }
+}
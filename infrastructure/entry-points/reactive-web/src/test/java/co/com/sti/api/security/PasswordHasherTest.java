@@ -0,0 +1,65 @@
+package co.com.sti.api.security;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+import reactor.test.StepVerifier;
+
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class PasswordHasherTest {
+
+    private PasswordEncoder passwordEncoder;
+    private Scheduler scheduler;
+    private PasswordHasher passwordHasher;
+
+    @BeforeEach
+    void setUp() {
+        passwordEncoder = mock(PasswordEncoder.class);
+        scheduler = Schedulers.newSingle("password-hashing-test");
+        passwordHasher = new PasswordHasher(passwordEncoder, scheduler);
+    }
+
+    @AfterEach
+    void tearDown() {
+        scheduler.dispose();
+    }
+
+    @Test
+    @DisplayName("encode should hash the password on the dedicated scheduler")
+    void encode_RunsOnHashingScheduler() {
+        AtomicReference<String> threadName = new AtomicReference<>();
+        when(passwordEncoder.encode("secret")).thenAnswer(invocation -> {
+            threadName.set(Thread.currentThread().getName());
+            return "hashed";
+        });
+
+        StepVerifier.create(passwordHasher.encode("secret"))
+                .expectNext("hashed")
+                .verifyComplete();
+
+        assertTrue(threadName.get().startsWith("password-hashing-test"));
+    }
+
+    @Test
+    @DisplayName("matches should return the result of the password encoder")
+    void matches_ReturnsEncoderResult() {
+        when(passwordEncoder.matches("secret", "hashed")).thenReturn(true);
+        when(passwordEncoder.matches("wrong", "hashed")).thenReturn(false);
+
+        StepVerifier.create(passwordHasher.matches("secret", "hashed"))
+                .expectNext(true)
+                .verifyComplete();
+        StepVerifier.create(passwordHasher.matches("wrong", "hashed"))
+                .expectNext(false)
+                .verifyComplete();
+    }
+}
@@ -0,0 +1,41 @@
+package co.com.sti.api.security;
+
+import co.com.sti.api.config.JwtProperties;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+
+class RefreshTokenUtilsTest {
+
+    private final JwtProperties jwtProperties = new JwtProperties();
+    private final RefreshTokenUtils refreshTokenUtils = new RefreshTokenUtils(jwtProperties);
+
+    @Test
+    void generatesOpaqueUrlSafeTokensWith256BitsOfEntropy() {
+        String first = refreshTokenUtils.generate();
+        String second = refreshTokenUtils.generate();
+
+        assertEquals(43, first.length());
+        assertNotEquals(first, second);
+        assertEquals(first, first.replaceAll("[^A-Za-z0-9_-]", ""));
+    }
+
+    @Test
+    void hashesDeterministicallyAsHexSha256() {
+        String hash = refreshTokenUtils.hash("token");
+
+        assertEquals(64, hash.length());
+        assertEquals(hash, refreshTokenUtils.hash("token"));
+        assertNotEquals(hash, refreshTokenUtils.hash("token2"));
+    }
+
+    @Test
+    void exposesConfiguredTimeToLive() {
+        jwtProperties.getRefreshToken().setTtl(Duration.ofDays(7));
+
+        assertEquals(Duration.ofDays(7), refreshTokenUtils.timeToLive());
+    }
+}
@@ -0,0 +1,79 @@
+package co.com.sti.api.security;
+
+import co.com.sti.api.config.JwtProperties;
+import co.com.sti.model.revocation.RevokedToken;
+import co.com.sti.model.revocation.TokenEpoch;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TokenRevocationRegistryTest {
+
+    private TokenRevocationRegistry registry;
+    private SimpleMeterRegistry meterRegistry;
+
+    @BeforeEach
+    void setUp() {
+        JwtProperties properties = new JwtProperties();
+        properties.setExpiration(60_000L);
+        properties.getRevocation().setExpectedInsertions(16);
+        properties.getRevocation().setFalsePositiveRate(0.2);
+        meterRegistry = new SimpleMeterRegistry();
+        registry = new TokenRevocationRegistry(properties, meterRegistry);
+    }
+
+    @Test
+    @DisplayName("should reject revoked jtis and tokens issued up to the user's epoch")
+    void isRevoked_JtiAndEpoch() {
+        long epoch = Instant.now().toEpochMilli();
+        registry.apply(RevokedToken.builder().jti("jti-1").expiresAt(Instant.now().plusSeconds(60)).build());
+        registry.apply(TokenEpoch.builder().email("test@example.com").notBefore(Instant.ofEpochMilli(epoch)).build());
+
+        assertTrue(registry.isRevoked("jti-1", "otro@example.com", epoch));
+        assertTrue(registry.isRevoked(null, "test@example.com", epoch));
+        assertFalse(registry.isRevoked(null, "test@example.com", epoch + 1000));
+        assertFalse(registry.isRevoked("jti-2", "otro@example.com", epoch));
+        assertEquals(1.0, meterRegistry.get("jwt.revocation.entries").tag("type", "jti").gauge().value());
+    }
+
+    @Test
+    @DisplayName("should count filter hits that the exact set rejects as false positives")
+    void isRevoked_FalsePositivesAreMeasured() {
+        IntStream.range(0, 16).forEach(i -> registry.apply(RevokedToken.builder()
+                .jti("revocado-" + i).expiresAt(Instant.now().plusSeconds(60)).build()));
+
+        long rejected = IntStream.range(0, 2_000).filter(i -> registry.isRevoked("vigente-" + i, null, 0)).count();
+
+        double falsePositives = meterRegistry.get("jwt.revocation.filter.false-positives").tag("type", "jti").functionCounter().count();
+        double observed = meterRegistry.get("jwt.revocation.filter.observed.fpp").tag("type", "jti").gauge().value();
+        assertEquals(0, rejected);
+        assertTrue(falsePositives > 0);
+        assertEquals(falsePositives / 2_000, observed, 1e-9);
+        assertEquals(2_000.0, meterRegistry.get("jwt.revocation.probes").tag("type", "jti").functionCounter().count());
+        assertTrue(meterRegistry.get("jwt.revocation.filter.expected.fpp").tag("type", "jti").gauge().value() > 0);
+    }
+
+    @Test
+    @DisplayName("should forget expired revocations and outdated epochs when rebuilding the filters")
+    void rebuild_DropsEntriesThatCanNoLongerMatch() {
+        registry.apply(RevokedToken.builder().jti("vencido").expiresAt(Instant.now().minusSeconds(1)).build());
+        registry.apply(RevokedToken.builder().jti("vigente").expiresAt(Instant.now().plusSeconds(60)).build());
+        registry.apply(TokenEpoch.builder().email("antiguo@example.com").notBefore(Instant.now().minusSeconds(120)).build());
+
+        registry.rebuild();
+
+        assertFalse(registry.isRevoked("vencido", null, 0));
+        assertTrue(registry.isRevoked("vigente", null, 0));
+        assertFalse(registry.isRevoked(null, "antiguo@example.com", 0));
+        assertEquals(1.0, meterRegistry.get("jwt.revocation.entries").tag("type", "jti").gauge().value());
+        assertEquals(0.0, meterRegistry.get("jwt.revocation.entries").tag("type", "usuario").gauge().value());
+    }
+}
@@ -0,0 +1,114 @@
+package co.com.sti.api.userexport;
+
+import co.com.sti.api.config.UserExportProperties;
+import co.com.sti.model.user.User;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import org.springframework.http.MediaType;
+import reactor.core.publisher.Flux;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class UserExportWriterTest {
+
+    private UserExportWriter writer;
+
+    @BeforeEach
+    void setUp() {
+        UserExportProperties properties = new UserExportProperties();
+        properties.setRowsPerChunk(2);
+        ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules()
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+        writer = new UserExportWriter(objectMapper, properties);
+    }
+
+    @Test
+    @DisplayName("should write a CSV header and quote fields that contain separators or quotes")
+    void write_Csv_EscapesFields() {
+        User user = user("ana@test.com");
+        user.setAddress("Calle 1, \"Centro\"");
+
+        List<DataBuffer> chunks = writer.write(Flux.just(user), UserExportWriter.TEXT_CSV, false, DefaultDataBufferFactory.sharedInstance)
+                .collectList().block();
+
+        assertEquals(UserExportWriter.CSV_HEADER
+                        + "Ana,Pérez,ana@test.com,123,1990-05-01,3001234567,\"Calle 1, \"\"Centro\"\"\",3,2500000.00\n",
+                asString(chunks));
+    }
+
+    @Test
+    @DisplayName("should group NDJSON rows into chunks and never include the password hash")
+    void write_Ndjson_ChunksRowsWithoutPassword() {
+        List<DataBuffer> chunks = writer.write(Flux.just(user("a@test.com"), user("b@test.com"), user("c@test.com")),
+                        MediaType.APPLICATION_NDJSON, false, DefaultDataBufferFactory.sharedInstance)
+                .collectList().block();
+
+        assertEquals(2, chunks.size());
+        String body = asString(chunks);
+        assertEquals(3, body.lines().count());
+        assertTrue(body.contains("\"birthDate\":\"1990-05-01\""));
+        assertFalse(body.contains("password") || body.contains("$2a$"));
+    }
+
+    @Test
+    @DisplayName("should produce a single valid gzip stream across chunks")
+    void write_Gzip_RoundTrips() throws IOException {
+        Flux<User> users = Flux.range(0, 5).map(i -> user("u" + i + "@test.com"));
+        String plain = asString(writer.write(users, MediaType.APPLICATION_NDJSON, false, DefaultDataBufferFactory.sharedInstance)
+                .collectList().block());
+
+        List<DataBuffer> compressed = writer.write(users, MediaType.APPLICATION_NDJSON, true, DefaultDataBufferFactory.sharedInstance)
+                .collectList().block();
+
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(asBytes(compressed)))) {
+            assertEquals(plain, new String(in.readAllBytes(), StandardCharsets.UTF_8));
+        }
+    }
+
+    private static User user(String email) {
+        return User.builder()
+                .name("Ana")
+                .lastName("Pérez")
+                .email(email)
+                .password("$2a$10$hash")
+                .numberIdentity("123")
+                .birthDate(LocalDate.of(1990, 5, 1))
+                .phoneNumber("3001234567")
+                .address("Calle 1")
+                .idRole(3)
+                .salary(new BigDecimal("2500000.00"))
+                .build();
+    }
+
+    private static String asString(List<DataBuffer> chunks) {
+        return new String(asBytes(chunks), StandardCharsets.UTF_8);
+    }
+
+    private static byte[] asBytes(List<DataBuffer> chunks) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        for (DataBuffer chunk : chunks) {
+            byte[] bytes = new byte[chunk.readableByteCount()];
+            chunk.read(bytes);
+            out.writeBytes(bytes);
+            DataBufferUtils.release(chunk);
+        }
+        return out.toByteArray();
+    }
+}
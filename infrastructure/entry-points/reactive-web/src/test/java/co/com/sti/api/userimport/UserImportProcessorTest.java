@@ -0,0 +1,138 @@
+package co.com.sti.api.userimport;
+
+import co.com.sti.api.config.UserImportProperties;
+import co.com.sti.api.dto.CreateUserDTO;
+import co.com.sti.api.dto.UserImportResultDTO;
+import co.com.sti.api.mapper.UserDTOMapper;
+import co.com.sti.model.user.User;
+import co.com.sti.usecase.authentication.password.IPasswordHasher;
+import co.com.sti.usecase.importusers.IImportUsersUseCase;
+import co.com.sti.usecase.importusers.UserImportResult;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.validation.Validator;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mapstruct.factory.Mappers;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import org.springframework.http.MediaType;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class UserImportProcessorTest {
+
+    private static final String JSON_USER = "{\"name\":\"Ana\",\"lastName\":\"Gómez\",\"email\":\"%s\",\"numberIdentity\":\"%s\","
+            + "\"birthDate\":\"1990-01-01\",\"phoneNumber\":\"3001234567\",\"address\":\"Calle 1\",\"idRole\":3,\"salary\":1000000}";
+
+    @Mock
+    private IImportUsersUseCase importUsersUseCase;
+
+    @Mock
+    private IPasswordHasher passwordHasher;
+
+    @Mock
+    private Validator validator;
+
+    private UserImportProcessor processor;
+
+    @BeforeEach
+    void setUp() {
+        UserImportProperties properties = new UserImportProperties();
+        properties.setBatchSize(10);
+        processor = new UserImportProcessor(importUsersUseCase, passwordHasher, Mappers.getMapper(UserDTOMapper.class),
+                validator, new ObjectMapper().findAndRegisterModules(), properties);
+        when(validator.validate(any(CreateUserDTO.class))).thenReturn(Set.of());
+    }
+
+    @Test
+    @DisplayName("should report malformed NDJSON lines and save the rest with hashed passwords in one batch")
+    void process_Ndjson_PerRecordResults() {
+        AtomicInteger attempts = new AtomicInteger();
+        // El primer intento encuentra la cola de hashing llena y debe reintentarse
+        when(passwordHasher.encode(anyString())).thenReturn(Mono.defer(() -> attempts.getAndIncrement() == 0
+                ? Mono.error(new RejectedExecutionException("cola llena"))
+                : Mono.just("hash")));
+        when(importUsersUseCase.importUsers(anyList())).thenAnswer(invocation -> created(invocation.getArgument(0)));
+        // La primera línea llega partida en dos fragmentos del cuerpo
+        String body = JSON_USER.formatted("a@test.com", "1") + "\n{no es json\n\n" + JSON_USER.formatted("b@test.com", "2") + "\n";
+
+        StepVerifier.create(processor.process(chunks(body, 20), MediaType.APPLICATION_NDJSON))
+                .assertNext(result -> assertEquals("1 CREATED a@test.com", summary(result)))
+                .assertNext(result -> assertEquals("2 INVALID null", summary(result)))
+                .assertNext(result -> assertEquals("4 CREATED b@test.com", summary(result)))
+                .verifyComplete();
+
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<User>> batch = ArgumentCaptor.forClass(List.class);
+        verify(importUsersUseCase).importUsers(batch.capture());
+        assertEquals(2, batch.getValue().size());
+        assertEquals("hash", batch.getValue().get(0).getPassword());
+    }
+
+    @Test
+    @DisplayName("should map CSV columns by header, honour quoted commas and flag rows with a wrong column count")
+    void process_Csv_HeaderAndQuotedFields() {
+        when(passwordHasher.encode(anyString())).thenReturn(Mono.just("hash"));
+        when(importUsersUseCase.importUsers(anyList())).thenAnswer(invocation -> {
+            List<User> users = invocation.getArgument(0);
+            assertEquals("Calle 10, apto \"5\"", users.get(0).getAddress());
+            return created(users);
+        });
+        String body = "email,name,lastName,numberIdentity,birthDate,phoneNumber,address,idRole,salary\r\n"
+                + "c@test.com,Ana,Gómez,3,1990-01-01,3001234567,\"Calle 10, apto \"\"5\"\"\",3,1000000\r\n"
+                + "d@test.com,Luis\r\n";
+
+        StepVerifier.create(processor.process(chunks(body, 1024), UserImportProcessor.TEXT_CSV))
+                .assertNext(result -> assertEquals("2 CREATED c@test.com", summary(result)))
+                .assertNext(result -> assertEquals("3 INVALID null", summary(result)))
+                .verifyComplete();
+    }
+
+    @Test
+    @DisplayName("should mark every record of a batch as FAILED when the batch cannot be saved")
+    void process_BatchFailure_ReportsFailedRecords() {
+        when(passwordHasher.encode(anyString())).thenReturn(Mono.just("hash"));
+        when(importUsersUseCase.importUsers(anyList())).thenReturn(Flux.error(new IllegalStateException("base caída")));
+
+        StepVerifier.create(processor.process(chunks(JSON_USER.formatted("e@test.com", "5"), 1024), MediaType.APPLICATION_NDJSON))
+                .assertNext(result -> assertEquals("1 FAILED e@test.com", summary(result)))
+                .verifyComplete();
+    }
+
+    private static Flux<UserImportResult> created(List<User> users) {
+        return Flux.fromIterable(users)
+                .map(user -> new UserImportResult(user.getEmail(), user.getNumberIdentity(), UserImportResult.Status.CREATED, "ok"));
+    }
+
+    private static String summary(UserImportResultDTO result) {
+        return result.line() + " " + result.status() + " " + result.email();
+    }
+
+    private static Flux<DataBuffer> chunks(String body, int size) {
+        byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        return Flux.range(0, (bytes.length + size - 1) / size)
+                .map(i -> DefaultDataBufferFactory.sharedInstance.wrap(
+                        Arrays.copyOfRange(bytes, i * size, Math.min(bytes.length, (i + 1) * size))));
+    }
+}